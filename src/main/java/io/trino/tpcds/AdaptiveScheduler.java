@@ -0,0 +1,334 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import io.trino.tpcds.Parallel.ChunkBoundaries;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.Parallel.splitWork;
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+// Runs each (table, chunk) pair of a build as a task, and adjusts how many tasks run at once based on
+// the observed throughput and on how long generating threads wait for their writer threads. The number
+// of chunks is fixed up front, so the files produced do not depend on how many workers ran.
+final class AdaptiveScheduler
+{
+    private static final long SAMPLE_INTERVAL_MILLIS = 2000;
+    // stalls above this fraction of the workers' time mean the disks are saturated, so shrink
+    private static final double HIGH_STALL_RATIO = 0.25;
+    // stalls below this fraction mean the workers are busy generating, so try growing
+    private static final double LOW_STALL_RATIO = 0.05;
+    // a grow that does not improve throughput by this factor is undone
+    private static final double MIN_GROWTH_GAIN = 1.05;
+    private static final int HOLD_INTERVALS_AFTER_UNDO = 5;
+
+    private final Session session;
+    private final Queue<Task> tasks;
+    private final int taskCount;
+    private final int initialWorkers;
+    private final int maxWorkers;
+    private final WriteStatistics statistics = new WriteStatistics();
+
+    // guarded by this
+    private int targetWorkers;
+    private int activeWorkers;
+    private int minWorkersUsed;
+    private int maxWorkersUsed;
+    private RuntimeException failure;
+    // the sum over the workers of the time each spent running a task, up to activeWorkersChangeTime
+    private long activeWorkerNanos;
+    private long activeWorkersChangeTime;
+
+    // only used by the thread running the scheduler
+    private final WorkerPolicy policy;
+    private long elapsedNanos;
+
+    AdaptiveScheduler(Session session, List<Table> tablesToGenerate, int initialWorkers, int maxWorkers)
+    {
+        this.session = requireNonNull(session, "session is null");
+        checkArgument(initialWorkers >= 1, "initialWorkers must be at least 1");
+        checkArgument(maxWorkers >= initialWorkers, "maxWorkers must be at least initialWorkers");
+
+        List<Task> allTasks = createTasks(session, tablesToGenerate);
+        this.tasks = new ArrayDeque<>(allTasks);
+        this.taskCount = allTasks.size();
+
+        this.initialWorkers = Math.max(1, Math.min(initialWorkers, taskCount));
+        this.maxWorkers = Math.max(1, Math.min(maxWorkers, taskCount));
+        this.targetWorkers = this.initialWorkers;
+        this.minWorkersUsed = this.initialWorkers;
+        this.maxWorkersUsed = this.initialWorkers;
+        this.policy = new WorkerPolicy(this.maxWorkers);
+    }
+
+    // The largest tasks go first, so the workers finish at about the same time. Chunks after the first of
+    // the tables that are too small to split have no rows, so they are not tasks.
+    static List<Task> createTasks(Session session, List<Table> tablesToGenerate)
+    {
+        List<Task> tasks = new ArrayList<>();
+        for (int chunk = 1; chunk <= session.getParallelism(); chunk++) {
+            for (Table table : tablesToGenerate) {
+                Task task = new Task(table, session.withChunkNumber(chunk));
+                if (task.getRowCount() > 0 || chunk == 1) {
+                    tasks.add(task);
+                }
+            }
+        }
+        tasks.sort(Comparator.comparingLong(Task::getRowCount).reversed());
+        return tasks;
+    }
+
+    public void run()
+    {
+        long start = System.nanoTime();
+        synchronized (this) {
+            activeWorkersChangeTime = start;
+        }
+        List<Thread> workers = new ArrayList<>(maxWorkers);
+        for (int i = 0; i < maxWorkers; i++) {
+            Thread worker = new Thread(this::runTasks, "tpcds-worker-" + i);
+            workers.add(worker);
+            worker.start();
+        }
+
+        try {
+            long lastSampleTime = start;
+            long lastBytes = 0;
+            long lastStallNanos = 0;
+            long lastActiveWorkerNanos = 0;
+            while (!awaitCompletion(SAMPLE_INTERVAL_MILLIS)) {
+                long now = System.nanoTime();
+                long bytes = statistics.getBytes();
+                long stallNanos = statistics.getStallNanos();
+                long activeWorkerNanos = getActiveWorkerNanos(now);
+                adjustWorkers(bytes - lastBytes, stallNanos - lastStallNanos, now - lastSampleTime, activeWorkerNanos - lastActiveWorkerNanos);
+                lastSampleTime = now;
+                lastBytes = bytes;
+                lastStallNanos = stallNanos;
+                lastActiveWorkerNanos = activeWorkerNanos;
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TpcdsException("interrupted while generating tables");
+        }
+        elapsedNanos = System.nanoTime() - start;
+
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    public String getSummary()
+    {
+        synchronized (this) {
+            return format("Generated %d tasks (%d chunks per table) at scale %s in %.1fs with --parallelism auto: " +
+                            "started with %d workers, finished with %d, used between %d and %d (limit %d). " +
+                            "Wrote %d MB, writers stalled generation for %.1fs",
+                    taskCount,
+                    session.getParallelism(),
+                    session.getScaling().getScale(),
+                    elapsedNanos / 1e9,
+                    initialWorkers,
+                    targetWorkers,
+                    minWorkersUsed,
+                    maxWorkersUsed,
+                    maxWorkers,
+                    statistics.getBytes() >> 20,
+                    NANOSECONDS.toMillis(statistics.getStallNanos()) / 1000.0);
+        }
+    }
+
+    private void adjustWorkers(long bytes, long stallNanos, long intervalNanos, long activeWorkerNanos)
+    {
+        int workers;
+        synchronized (this) {
+            workers = targetWorkers;
+        }
+        // the stalls are spread over the workers that actually ran, which may be fewer than the target
+        int newTarget = policy.nextTarget(bytes, stallNanos, intervalNanos, (double) activeWorkerNanos / intervalNanos, workers);
+        synchronized (this) {
+            targetWorkers = newTarget;
+            minWorkersUsed = Math.min(minWorkersUsed, targetWorkers);
+            maxWorkersUsed = Math.max(maxWorkersUsed, targetWorkers);
+            notifyAll();
+        }
+    }
+
+    private synchronized long getActiveWorkerNanos(long now)
+    {
+        updateActiveWorkerNanos(now);
+        return activeWorkerNanos;
+    }
+
+    // must be called with the lock held, before activeWorkers changes
+    private void updateActiveWorkerNanos(long now)
+    {
+        activeWorkerNanos += activeWorkers * (now - activeWorkersChangeTime);
+        activeWorkersChangeTime = now;
+    }
+
+    // returns true once all tasks have completed
+    private synchronized boolean awaitCompletion(long timeoutMillis)
+            throws InterruptedException
+    {
+        long deadline = System.nanoTime() + MILLISECONDS.toNanos(timeoutMillis);
+        while (!isDone()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    private boolean isDone()
+    {
+        return (tasks.isEmpty() || failure != null) && activeWorkers == 0;
+    }
+
+    private void runTasks()
+    {
+        while (true) {
+            Task task;
+            synchronized (this) {
+                while (activeWorkers >= targetWorkers && !tasks.isEmpty() && failure == null) {
+                    try {
+                        wait();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (tasks.isEmpty() || failure != null) {
+                    notifyAll();
+                    return;
+                }
+                task = tasks.poll();
+                updateActiveWorkerNanos(System.nanoTime());
+                activeWorkers++;
+            }
+
+            try {
+                new TableGenerator(task.session, statistics).generateTable(task.table);
+            }
+            catch (RuntimeException e) {
+                synchronized (this) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            finally {
+                synchronized (this) {
+                    updateActiveWorkerNanos(System.nanoTime());
+                    activeWorkers--;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    // Decides the number of workers for the next interval from what was observed in the last one. It has no
+    // threads or clock of its own, so its decisions only depend on the samples it is given.
+    static final class WorkerPolicy
+    {
+        private final int maxWorkers;
+        private double lastThroughput;
+        private int lastChange;
+        private int holdIntervals;
+
+        WorkerPolicy(int maxWorkers)
+        {
+            checkArgument(maxWorkers >= 1, "maxWorkers must be at least 1");
+            this.maxWorkers = maxWorkers;
+        }
+
+        // runningWorkers is the average number of workers that ran tasks during the interval
+        int nextTarget(long bytes, long stallNanos, long intervalNanos, double runningWorkers, int targetWorkers)
+        {
+            checkArgument(intervalNanos > 0, "intervalNanos must be positive");
+            double throughput = (double) bytes / intervalNanos;
+            double stallRatio = runningWorkers > 0 ? stallNanos / (intervalNanos * runningWorkers) : 0;
+
+            int change = 0;
+            if (stallRatio > HIGH_STALL_RATIO) {
+                change = -1;
+            }
+            else if (lastChange > 0 && throughput < lastThroughput * MIN_GROWTH_GAIN) {
+                // the extra worker did not help, which means the CPUs are saturated
+                change = -1;
+                holdIntervals = HOLD_INTERVALS_AFTER_UNDO;
+            }
+            else if (holdIntervals > 0) {
+                holdIntervals--;
+            }
+            else if (stallRatio < LOW_STALL_RATIO) {
+                change = 1;
+            }
+
+            int newTarget = Math.max(1, Math.min(maxWorkers, targetWorkers + change));
+            lastChange = newTarget - targetWorkers;
+            lastThroughput = throughput;
+            return newTarget;
+        }
+    }
+
+    static final class Task
+    {
+        private final Table table;
+        private final Session session;
+        private final long rowCount;
+
+        private Task(Table table, Session session)
+        {
+            this.table = table;
+            this.session = session;
+            ChunkBoundaries chunkBoundaries = splitWork(table, session);
+            this.rowCount = chunkBoundaries.getLastRow() - chunkBoundaries.getFirstRow() + 1;
+        }
+
+        Table getTable()
+        {
+            return table;
+        }
+
+        Session getSession()
+        {
+            return session;
+        }
+
+        long getRowCount()
+        {
+            return rowCount;
+        }
+    }
+}
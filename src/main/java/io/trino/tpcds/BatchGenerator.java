@@ -0,0 +1,138 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+// Writes the rows of a table directly as bytes, without the row objects and strings of the generic
+// path through Results and TableGenerator.formatRow, but with exactly the same output.
+abstract class BatchGenerator
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final byte separator;
+    private final byte[] nullString;
+    private final boolean terminateRowsWithSeparator;
+    private final int maxRowLength;
+    private final byte[] buffer;
+    private int position;
+
+    // maxValuesLength is the length of the longest values of a row, without the separators and the newline
+    protected BatchGenerator(Session session, int columnCount, int maxValuesLength)
+    {
+        this.separator = String.valueOf(session.getSeparator()).getBytes(ISO_8859_1)[0];
+        this.nullString = session.getNullString().getBytes(ISO_8859_1);
+        this.terminateRowsWithSeparator = session.terminateRowsWithSeparator();
+        this.maxRowLength = maxValuesLength + columnCount + 1;
+        this.buffer = new byte[Math.max(BUFFER_SIZE, maxRowLength)];
+    }
+
+    // the generators of the tables that have one, for the rows up to lastRow
+    static Optional<BatchGenerator> createBatchGenerator(Table table, Session session, long lastRow)
+    {
+        switch (table) {
+            case INVENTORY:
+                return InventoryBatchGenerator.supports(lastRow) ? Optional.of(new InventoryBatchGenerator(session)) : Optional.empty();
+            case CUSTOMER_DEMOGRAPHICS:
+                return Optional.of(CrossProductBatchGenerator.createCustomerDemographicsGenerator(session));
+            case HOUSEHOLD_DEMOGRAPHICS:
+                return Optional.of(CrossProductBatchGenerator.createHouseholdDemographicsGenerator(session));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    // writes the rows from firstRow to lastRow inclusive
+    abstract void generateRows(long firstRow, long lastRow, TableFileWriter writer)
+            throws IOException;
+
+    protected int getNullStringLength()
+    {
+        return nullString.length;
+    }
+
+    // makes room for a row in the buffer
+    protected void startRow(TableFileWriter writer)
+            throws IOException
+    {
+        if (position + maxRowLength > buffer.length) {
+            flush(writer);
+        }
+    }
+
+    protected void endRow()
+    {
+        if (terminateRowsWithSeparator) {
+            buffer[position++] = separator;
+        }
+        buffer[position++] = '\n';
+    }
+
+    protected void flush(TableFileWriter writer)
+            throws IOException
+    {
+        writer.write(buffer, 0, position);
+        position = 0;
+    }
+
+    protected void appendSeparator()
+    {
+        buffer[position++] = separator;
+    }
+
+    protected void appendNull()
+    {
+        append(nullString);
+    }
+
+    protected void append(byte[] bytes)
+    {
+        append(bytes, 0, bytes.length);
+    }
+
+    protected void append(byte[] bytes, int from, int to)
+    {
+        for (int i = from; i < to; i++) {
+            buffer[position++] = bytes[i];
+        }
+    }
+
+    protected void appendDigits(long value)
+    {
+        position += writeDigits(value, buffer, position);
+    }
+
+    // writes the decimal digits of a value that is not negative, and returns the number of bytes written
+    protected static int writeDigits(long value, byte[] bytes, int offset)
+    {
+        int length = 1;
+        for (long remaining = value / 10; remaining > 0; remaining /= 10) {
+            length++;
+        }
+        for (int i = length - 1; i >= 0; i--) {
+            bytes[offset + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return length;
+    }
+
+    protected static byte[] encode(Object value)
+    {
+        return value.toString().getBytes(ISO_8859_1);
+    }
+}
@@ -14,27 +14,72 @@
 
 package io.trino.tpcds;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
 public final class BusinessKeyGenerator
 {
     private BusinessKeyGenerator() {}
 
-    private static final String BUSINESS_KEY_CHARS = "ABCDEFGHIJKLMNOP"; // 16 possible characters for the key
+    public static final int BUSINESS_KEY_LENGTH = 16;
+
+    private static final byte[] BUSINESS_KEY_CHARS = "ABCDEFGHIJKLMNOP".getBytes(US_ASCII); // 16 possible characters for the key
+
+    // Every table numbers its rows from 1, so the keys of the first rows are made over and over.
+    // The cache is filled lazily, which is safe to race on because strings are immutable.
+    private static final String[] CACHED_KEYS = new String[1 << 16];
 
     public static String makeBusinessKey(long primary)
     {
-        String keyPart1 = longTo8CharString(primary >> 32); // create string based on the upper 32 bits
-        String keyPart2 = longTo8CharString(primary); // create string based on the lower 32 bits
-        return keyPart1 + keyPart2;
+        if (primary >= 0 && primary < CACHED_KEYS.length) {
+            String key = CACHED_KEYS[(int) primary];
+            if (key == null) {
+                key = encodeBusinessKey(primary);
+                CACHED_KEYS[(int) primary] = key;
+            }
+            return key;
+        }
+        return encodeBusinessKey(primary);
     }
 
-    private static String longTo8CharString(long value)
+    // writes the 16 characters of the key to buffer starting at offset, and returns the number of bytes written
+    public static int writeBusinessKey(long primary, byte[] buffer, int offset)
     {
-        StringBuilder builder = new StringBuilder(8);
+        long upper = primary >>> 32; // the first 8 characters are based on the upper 32 bits
+        long lower = primary; // and the last 8 characters on the lower 32 bits
         for (int i = 0; i < 8; i++) {
-            int charIndex = (int) (value & 0xF); // The lower 4 bits of value, a number 0-15
-            builder.append(BUSINESS_KEY_CHARS.charAt(charIndex));
-            value >>= 4;
+            buffer[offset + i] = BUSINESS_KEY_CHARS[(int) (upper & 0xF)]; // the lower 4 bits, a number 0-15
+            buffer[offset + 8 + i] = BUSINESS_KEY_CHARS[(int) (lower & 0xF)];
+            upper >>= 4;
+            lower >>= 4;
+        }
+        return BUSINESS_KEY_LENGTH;
+    }
+
+    // the inverse of makeBusinessKey, so that a predicate on an _id column can be turned into the row number
+    public static long parseBusinessKey(String businessKey)
+    {
+        checkArgument(businessKey.length() == BUSINESS_KEY_LENGTH, "business key must have %s characters: %s", BUSINESS_KEY_LENGTH, businessKey);
+        long upper = 0;
+        long lower = 0;
+        for (int i = 7; i >= 0; i--) {
+            upper = (upper << 4) | parseKeyCharacter(businessKey, i);
+            lower = (lower << 4) | parseKeyCharacter(businessKey, 8 + i);
         }
-        return builder.toString();
+        return (upper << 32) | lower;
+    }
+
+    private static int parseKeyCharacter(String businessKey, int index)
+    {
+        char character = businessKey.charAt(index);
+        checkArgument(character >= 'A' && character <= 'P', "business key must only contain the characters A to P: %s", businessKey);
+        return character - 'A';
+    }
+
+    private static String encodeBusinessKey(long primary)
+    {
+        byte[] key = new byte[BUSINESS_KEY_LENGTH];
+        writeBusinessKey(primary, key, 0);
+        return new String(key, US_ASCII);
     }
 }
@@ -0,0 +1,285 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import com.google.common.base.Splitter;
+import io.trino.tpcds.Parallel.ChunkBoundaries;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.distribution.CompiledDistributions.getDistributionDirectory;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+// Records the units of a chunk (a range of rows of one table) whose output has been durably written,
+// along with the length of each output file at the end of the unit and the CRC32 of the unit's bytes.
+// Generation is deterministic, so a resumed run can keep every unit that still verifies and regenerate the rest.
+final class Checkpoint
+{
+    // Tables that keep history carry the previous row from one row to the next, so they are never split into units
+    static final long ROWS_PER_UNIT = 100_000;
+
+    private static final String HEADER_PREFIX = "# ";
+
+    // the tables of a chunk share its checkpoint file, and may be generated concurrently
+    private static final Object FILE_LOCK = new Object();
+
+    private final File file;
+    private final String header;
+    private final long rowsPerUnit;
+
+    Checkpoint(Session session)
+    {
+        this(session, ROWS_PER_UNIT);
+    }
+
+    Checkpoint(Session session, long rowsPerUnit)
+    {
+        checkArgument(rowsPerUnit > 0, "rowsPerUnit must be greater than zero");
+        this.rowsPerUnit = rowsPerUnit;
+        String name = session.getParallelism() > 1 ? format("tpcds_%d_%d.checkpoint", session.getChunkNumber(), session.getParallelism()) : "tpcds.checkpoint";
+        this.file = new File(session.getTargetDirectory(), name);
+        this.header = HEADER_PREFIX + format("scale=%s parallelism=%d chunk=%d table=%s null=%s separator=%s terminate=%s sexist=%s distributions=%s",
+                session.getScaling().getScale(),
+                session.getParallelism(),
+                session.getChunkNumber(),
+                session.generateOnlyOneTable() ? session.getOnlyTableToGenerate().getName() : "all",
+                session.getNullString(),
+                session.getSeparator(),
+                session.terminateRowsWithSeparator(),
+                session.isSexist(),
+                getDistributionDirectory().map(Path::toString).orElse("built-in"));
+    }
+
+    public long getRowsPerUnit(Table table, ChunkBoundaries chunkBoundaries)
+    {
+        if (table.keepsHistory()) {
+            return Math.max(1, chunkBoundaries.getLastRow() - chunkBoundaries.getFirstRow() + 1);
+        }
+        return rowsPerUnit;
+    }
+
+    // Forget any units recorded for the table by an earlier run
+    public void start(Table table)
+            throws IOException
+    {
+        synchronized (FILE_LOCK) {
+            List<Unit> units = file.exists() && readHeader().equals(header) ? readUnits() : new ArrayList<>();
+            units.removeIf(unit -> unit.table == table);
+            rewrite(units);
+        }
+    }
+
+    // Verifies the recorded units of the table against the output files, truncates the files to the end of the
+    // last unit that verified, and returns the first row that still has to be generated.
+    public long resume(Table table, ChunkBoundaries chunkBoundaries, List<File> outputFiles)
+            throws IOException
+    {
+        synchronized (FILE_LOCK) {
+            List<Unit> units = new ArrayList<>();
+            if (file.exists()) {
+                String existingHeader = readHeader();
+                if (!existingHeader.equals(header)) {
+                    throw new TpcdsException(format("Checkpoint %s was written with different options (%s). Remove it or run without the '--resume' option", file, existingHeader.substring(HEADER_PREFIX.length())));
+                }
+                units = readUnits();
+            }
+
+            List<Unit> verifiedUnits = new ArrayList<>();
+            long nextRow = chunkBoundaries.getFirstRow();
+            long[] lengths = new long[outputFiles.size()];
+            for (Unit unit : units) {
+                if (unit.table != table) {
+                    verifiedUnits.add(unit);
+                    continue;
+                }
+                if (unit.firstRow != nextRow || unit.lengths.length != outputFiles.size() || !verify(unit, lengths, outputFiles)) {
+                    continue;
+                }
+                verifiedUnits.add(unit);
+                nextRow = unit.lastRow + 1;
+                lengths = unit.lengths;
+            }
+
+            for (int i = 0; i < outputFiles.size(); i++) {
+                try (RandomAccessFile outputFile = new RandomAccessFile(outputFiles.get(i), "rw")) {
+                    outputFile.setLength(lengths[i]);
+                }
+            }
+            rewrite(verifiedUnits);
+            return nextRow;
+        }
+    }
+
+    // Must only be called once the output of the unit has been synced to disk
+    public void recordUnit(Table table, long firstRow, long lastRow, long[] lengths, long[] checksums)
+            throws IOException
+    {
+        checkArgument(lengths.length == checksums.length, "lengths and checksums must have the same size");
+        synchronized (FILE_LOCK) {
+            try (FileOutputStream outputStream = new FileOutputStream(file, true)) {
+                Writer writer = new OutputStreamWriter(outputStream, UTF_8);
+                writer.write(new Unit(table, firstRow, lastRow, lengths, checksums).toString());
+                writer.write('\n');
+                writer.flush();
+                outputStream.getFD().sync();
+            }
+        }
+    }
+
+    private boolean verify(Unit unit, long[] startOffsets, List<File> outputFiles)
+            throws IOException
+    {
+        for (int i = 0; i < outputFiles.size(); i++) {
+            File outputFile = outputFiles.get(i);
+            if (!outputFile.exists() || outputFile.length() < unit.lengths[i] || unit.lengths[i] < startOffsets[i]) {
+                return false;
+            }
+            if (computeChecksum(outputFile, startOffsets[i], unit.lengths[i]) != unit.checksums[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long computeChecksum(File outputFile, long start, long end)
+            throws IOException
+    {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = new RandomAccessFile(outputFile, "r").getChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long position = start;
+            while (position < end) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                crc.update(buffer.array(), 0, read);
+                position += read;
+            }
+        }
+        return crc.getValue();
+    }
+
+    private String readHeader()
+            throws IOException
+    {
+        List<String> lines = Files.readAllLines(file.toPath(), UTF_8);
+        return lines.isEmpty() ? "" : lines.get(0);
+    }
+
+    private List<Unit> readUnits()
+            throws IOException
+    {
+        List<Unit> units = new ArrayList<>();
+        for (String line : Files.readAllLines(file.toPath(), UTF_8)) {
+            if (line.startsWith(HEADER_PREFIX) || line.trim().isEmpty()) {
+                continue;
+            }
+            // a line cut short by a crash is not a complete record
+            Unit unit = Unit.parse(line);
+            if (unit != null) {
+                units.add(unit);
+            }
+        }
+        return units;
+    }
+
+    private void rewrite(List<Unit> units)
+            throws IOException
+    {
+        File temporaryFile = new File(file.getPath() + ".tmp");
+        try (FileOutputStream outputStream = new FileOutputStream(temporaryFile)) {
+            Writer writer = new OutputStreamWriter(outputStream, UTF_8);
+            writer.write(header);
+            writer.write('\n');
+            for (Unit unit : units) {
+                writer.write(unit.toString());
+                writer.write('\n');
+            }
+            writer.flush();
+            outputStream.getFD().sync();
+        }
+        Files.move(temporaryFile.toPath(), file.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    private static final class Unit
+    {
+        private final Table table;
+        private final long firstRow;
+        private final long lastRow;
+        private final long[] lengths;
+        private final long[] checksums;
+
+        private Unit(Table table, long firstRow, long lastRow, long[] lengths, long[] checksums)
+        {
+            this.table = table;
+            this.firstRow = firstRow;
+            this.lastRow = lastRow;
+            this.lengths = lengths;
+            this.checksums = checksums;
+        }
+
+        private static Unit parse(String line)
+        {
+            List<String> fields = Splitter.on(' ').omitEmptyStrings().splitToList(line);
+            if (fields.size() < 3 || (fields.size() - 3) % 2 != 0) {
+                return null;
+            }
+            try {
+                Table table = Table.valueOf(fields.get(0).toUpperCase());
+                int fileCount = (fields.size() - 3) / 2;
+                long[] lengths = new long[fileCount];
+                long[] checksums = new long[fileCount];
+                for (int i = 0; i < fileCount; i++) {
+                    lengths[i] = Long.parseLong(fields.get(3 + i * 2));
+                    checksums[i] = Long.parseLong(fields.get(4 + i * 2), 16);
+                }
+                return new Unit(table, Long.parseLong(fields.get(1)), Long.parseLong(fields.get(2)), lengths, checksums);
+            }
+            catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            StringBuilder builder = new StringBuilder();
+            builder.append(table.getName()).append(' ').append(firstRow).append(' ').append(lastRow);
+            for (int i = 0; i < lengths.length; i++) {
+                builder.append(' ').append(lengths[i]).append(' ').append(Long.toHexString(checksums[i]));
+            }
+            return builder.toString();
+        }
+    }
+}
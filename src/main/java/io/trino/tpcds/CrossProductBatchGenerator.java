@@ -0,0 +1,145 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import java.io.IOException;
+import java.util.function.LongFunction;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.Table.CUSTOMER_DEMOGRAPHICS;
+import static io.trino.tpcds.Table.HOUSEHOLD_DEMOGRAPHICS;
+import static io.trino.tpcds.distribution.DemographicsDistributions.BUY_POTENTIAL_DISTRIBUTION;
+import static io.trino.tpcds.distribution.DemographicsDistributions.CREDIT_RATING_DISTRIBUTION;
+import static io.trino.tpcds.distribution.DemographicsDistributions.DEP_COUNT_DISTRIBUTION;
+import static io.trino.tpcds.distribution.DemographicsDistributions.EDUCATION_DISTRIBUTION;
+import static io.trino.tpcds.distribution.DemographicsDistributions.GENDER_DISTRIBUTION;
+import static io.trino.tpcds.distribution.DemographicsDistributions.INCOME_BAND_DISTRIBUTION;
+import static io.trino.tpcds.distribution.DemographicsDistributions.MARITAL_STATUS_DISTRIBUTION;
+import static io.trino.tpcds.distribution.DemographicsDistributions.PURCHASE_BAND_DISTRIBUTION;
+import static io.trino.tpcds.distribution.DemographicsDistributions.VEHICLE_COUNT_DISTRIBUTION;
+import static io.trino.tpcds.distribution.DemographicsDistributions.getBuyPotentialForIndexModSize;
+import static io.trino.tpcds.distribution.DemographicsDistributions.getCreditRatingForIndexModSize;
+import static io.trino.tpcds.distribution.DemographicsDistributions.getDepCountForIndexModSize;
+import static io.trino.tpcds.distribution.DemographicsDistributions.getEducationForIndexModSize;
+import static io.trino.tpcds.distribution.DemographicsDistributions.getGenderForIndexModSize;
+import static io.trino.tpcds.distribution.DemographicsDistributions.getMaritalStatusForIndexModSize;
+import static io.trino.tpcds.distribution.DemographicsDistributions.getPurchaseBandForIndexModSize;
+import static io.trino.tpcds.distribution.DemographicsDistributions.getVehicleCountForIndexModSize;
+import static io.trino.tpcds.row.generator.CustomerDemographicsRowGenerator.MAX_CHILDREN;
+import static io.trino.tpcds.row.generator.CustomerDemographicsRowGenerator.MAX_COLLEGE;
+import static io.trino.tpcds.row.generator.CustomerDemographicsRowGenerator.MAX_EMPLOYED;
+
+// Writes the rows of a table whose rows are the cross product of lists of values, and that has no nulls.
+// The first column is the row number, and the value of each other column is a digit of the row index in
+// a mixed radix whose bases are the sizes of the lists, the first list being the least significant digit.
+// So any row is computed from its number alone, and the rows are written by concatenating encoded values.
+final class CrossProductBatchGenerator
+        extends BatchGenerator
+{
+    private final long rowCount;
+    // the row index is the row number plus this offset
+    private final long indexOffset;
+    private final byte[][][] columnValues;
+    private final int[] digits;
+
+    private CrossProductBatchGenerator(Session session, Table table, long indexOffset, byte[][]... columnValues)
+    {
+        super(session, columnValues.length + 1, maxValuesLength(session, table, columnValues));
+        checkArgument(table.getNullBasisPoints() == 0, "%s has nulls", table);
+        this.rowCount = session.getScaling().getRowCount(table);
+        this.indexOffset = indexOffset;
+        this.columnValues = columnValues;
+        this.digits = new int[columnValues.length];
+    }
+
+    // the same rows as CustomerDemographicsRowGenerator
+    static CrossProductBatchGenerator createCustomerDemographicsGenerator(Session session)
+    {
+        return new CrossProductBatchGenerator(session, CUSTOMER_DEMOGRAPHICS, -1,
+                encodeValues(GENDER_DISTRIBUTION.getSize(), index -> getGenderForIndexModSize(index)),
+                encodeValues(MARITAL_STATUS_DISTRIBUTION.getSize(), index -> getMaritalStatusForIndexModSize(index)),
+                encodeValues(EDUCATION_DISTRIBUTION.getSize(), index -> getEducationForIndexModSize(index)),
+                encodeValues(PURCHASE_BAND_DISTRIBUTION.getSize(), index -> getPurchaseBandForIndexModSize(index)),
+                encodeValues(CREDIT_RATING_DISTRIBUTION.getSize(), index -> getCreditRatingForIndexModSize(index)),
+                encodeValues(MAX_CHILDREN, index -> index),
+                encodeValues(MAX_EMPLOYED, index -> index),
+                encodeValues(MAX_COLLEGE, index -> index));
+    }
+
+    // the same rows as HouseholdDemographicsRowGenerator, which uses the row number as the index
+    static CrossProductBatchGenerator createHouseholdDemographicsGenerator(Session session)
+    {
+        return new CrossProductBatchGenerator(session, HOUSEHOLD_DEMOGRAPHICS, 0,
+                encodeValues(INCOME_BAND_DISTRIBUTION.getSize(), index -> index + 1),
+                encodeValues(BUY_POTENTIAL_DISTRIBUTION.getSize(), index -> getBuyPotentialForIndexModSize(index)),
+                encodeValues(DEP_COUNT_DISTRIBUTION.getSize(), index -> getDepCountForIndexModSize(index)),
+                encodeValues(VEHICLE_COUNT_DISTRIBUTION.getSize(), index -> getVehicleCountForIndexModSize(index)));
+    }
+
+    private static byte[][] encodeValues(int size, LongFunction<Object> valueForIndex)
+    {
+        byte[][] values = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            values[i] = encode(valueForIndex.apply(i));
+        }
+        return values;
+    }
+
+    private static int maxValuesLength(Session session, Table table, byte[][][] columnValues)
+    {
+        int length = Long.toString(session.getScaling().getRowCount(table)).length();
+        for (byte[][] values : columnValues) {
+            int maxLength = 0;
+            for (byte[] value : values) {
+                maxLength = Math.max(maxLength, value.length);
+            }
+            length += maxLength;
+        }
+        return length;
+    }
+
+    @Override
+    void generateRows(long firstRow, long lastRow, TableFileWriter writer)
+            throws IOException
+    {
+        checkArgument(firstRow >= 1 && lastRow <= rowCount, "rows %s to %s are out of range", firstRow, lastRow);
+        long index = firstRow + indexOffset;
+        for (int column = 0; column < columnValues.length; column++) {
+            int size = columnValues[column].length;
+            digits[column] = (int) (index % size);
+            index /= size;
+        }
+
+        for (long row = firstRow; row <= lastRow; row++) {
+            startRow(writer);
+            appendDigits(row);
+            for (int column = 0; column < columnValues.length; column++) {
+                appendSeparator();
+                append(columnValues[column][digits[column]]);
+            }
+            endRow();
+
+            // move to the index of the next row, carrying into the more significant digits
+            for (int column = 0; column < columnValues.length; column++) {
+                digits[column]++;
+                if (digits[column] < columnValues[column].length) {
+                    break;
+                }
+                digits[column] = 0;
+            }
+        }
+        flush(writer);
+    }
+}
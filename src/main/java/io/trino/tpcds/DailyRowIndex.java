@@ -0,0 +1,114 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.type.Date.JULIAN_DATA_END_DATE;
+import static io.trino.tpcds.type.Date.JULIAN_DATA_START_DATE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Cumulative per-day row counts for a date based table, as computed by
+ * {@link Scaling#getRowCountForDate(Table, long)}. Row numbers are 1-based and the
+ * first row of the table falls on {@code JULIAN_DATA_START_DATE}.
+ */
+public final class DailyRowIndex
+{
+    private final Table table;
+    private final Scaling scaling;
+
+    // rowsBeforeDay[i] is the number of rows on the days before JULIAN_DATA_START_DATE + i
+    private final long[] rowsBeforeDay;
+
+    DailyRowIndex(Table table, Scaling scaling)
+    {
+        this.table = requireNonNull(table, "table is null");
+        this.scaling = requireNonNull(scaling, "scaling is null");
+
+        // the calendar weights assume a five year range, so the data range covers every row of the table
+        int days = JULIAN_DATA_END_DATE - JULIAN_DATA_START_DATE + 1;
+        rowsBeforeDay = new long[days + 1];
+        for (int i = 0; i < days; i++) {
+            rowsBeforeDay[i + 1] = rowsBeforeDay[i] + scaling.getRowCountForDate(table, JULIAN_DATA_START_DATE + i);
+        }
+    }
+
+    public long getRowCountForDate(long julianDate)
+    {
+        checkArgument(julianDate >= JULIAN_DATA_START_DATE, "julianDate is before the start of the data: %s", julianDate);
+        long day = julianDate - JULIAN_DATA_START_DATE;
+        if (day < rowsBeforeDay.length - 1) {
+            return rowsBeforeDay[(int) day + 1] - rowsBeforeDay[(int) day];
+        }
+        return scaling.getRowCountForDate(table, julianDate);
+    }
+
+    public long getFirstRowNumberForDate(long julianDate)
+    {
+        return getRowCountBeforeDate(julianDate) + 1;
+    }
+
+    public long getLastRowNumberForDate(long julianDate)
+    {
+        return getRowCountBeforeDate(julianDate) + getRowCountForDate(julianDate);
+    }
+
+    // returns the first date whose rows, together with the rows of all earlier dates, reach rowNumber
+    public long getJulianDateForRowNumber(long rowNumber)
+    {
+        checkArgument(rowNumber >= 1, "rowNumber is less than 1: %s", rowNumber);
+        int last = rowsBeforeDay.length - 1;
+        if (rowsBeforeDay[last] < rowNumber) {
+            // past the end of the precomputed range, so walk forward one day at a time
+            long julianDate = JULIAN_DATA_START_DATE + last;
+            long rowCount = rowsBeforeDay[last] + scaling.getRowCountForDate(table, julianDate);
+            while (rowCount < rowNumber) {
+                julianDate++;
+                rowCount += scaling.getRowCountForDate(table, julianDate);
+            }
+            return julianDate;
+        }
+
+        // find the smallest i such that rowsBeforeDay[i] >= rowNumber. The date is the day before.
+        int low = 1;
+        int high = last;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (rowsBeforeDay[middle] < rowNumber) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return JULIAN_DATA_START_DATE + low - 1;
+    }
+
+    private long getRowCountBeforeDate(long julianDate)
+    {
+        checkArgument(julianDate >= JULIAN_DATA_START_DATE, "julianDate is before the start of the data: %s", julianDate);
+        long day = julianDate - JULIAN_DATA_START_DATE;
+        int last = rowsBeforeDay.length - 1;
+        if (day <= last) {
+            return rowsBeforeDay[(int) day];
+        }
+
+        long rowCount = rowsBeforeDay[last];
+        for (long date = JULIAN_DATA_START_DATE + last; date < julianDate; date++) {
+            rowCount += scaling.getRowCountForDate(table, date);
+        }
+        return rowCount;
+    }
+}
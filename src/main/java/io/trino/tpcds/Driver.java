@@ -20,9 +20,11 @@ import io.airlift.airline.HelpOption;
 
 import javax.inject.Inject;
 
+import java.nio.file.Paths;
 import java.util.List;
 
 import static io.airlift.airline.SingleCommand.singleCommand;
+import static io.trino.tpcds.distribution.CompiledDistributions.setDistributionDirectory;
 
 @Command(name = "dsdgen", description = "data generator for TPC-DS")
 public class Driver
@@ -46,6 +48,11 @@ public class Driver
         }
 
         Session session = options.toSession();
+        if (options.distributionDirectory != null) {
+            // must happen before any distribution is loaded
+            setDistributionDirectory(Paths.get(options.distributionDirectory));
+            System.err.println("WARNING: using the distributions in " + options.distributionDirectory + ". The generated data is not TPC-DS compliant.");
+        }
         List<Table> tablesToGenerate;
         if (session.generateOnlyOneTable()) {
             tablesToGenerate = ImmutableList.of(session.getOnlyTableToGenerate());
@@ -54,6 +61,14 @@ public class Driver
             tablesToGenerate = Table.getBaseTables();
         }
 
+        if (options.isAutoParallelism()) {
+            int processors = Runtime.getRuntime().availableProcessors();
+            AdaptiveScheduler scheduler = new AdaptiveScheduler(session, tablesToGenerate, processors, 2 * processors);
+            scheduler.run();
+            System.out.println(scheduler.getSummary());
+            return;
+        }
+
         for (int i = 1; i <= session.getParallelism(); i++) {
             int chunkNumber = i;
             new Thread(() -> {
@@ -0,0 +1,126 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.trino.tpcds.generator.GeneratorColumn;
+import io.trino.tpcds.random.RandomNumberStreamImpl;
+import io.trino.tpcds.random.RandomNumberStreams;
+import io.trino.tpcds.row.generator.RowGenerator;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.JoinKeyUtils.createJoinKeyGenerator;
+import static io.trino.tpcds.Permutations.makePermutation;
+
+/**
+ * The state shared by every generator of a scale: the {@link Scaling} with its row counts and
+ * daily row indexes, the join key generators of each generator column and the shared permutations.
+ * It is safe to use from many threads, so the row generators of each split only hold the state of
+ * their own position in the table.
+ * <p>
+ * A session keeps the context it was created with, and the sessions derived from it share that
+ * context. Only the contexts of the most recently used scales are cached for new sessions, and a
+ * context that is no longer cached is created again for the next new session of its scale.
+ */
+public final class GenerationContext
+{
+    private static final int MAX_CACHED_CONTEXTS = 8;
+    private static final LoadingCache<Double, GenerationContext> GENERATION_CONTEXTS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_CONTEXTS)
+            .build(CacheLoader.from(GenerationContext::new));
+
+    // neither depends on the scale, so they are shared by all contexts
+    private static final Map<Table, Constructor<? extends RowGenerator>> ROW_GENERATOR_CONSTRUCTORS = new EnumMap<>(Table.class);
+    private static final Map<Table, RandomNumberStreams.Layout> RANDOM_NUMBER_STREAM_LAYOUTS = new EnumMap<>(Table.class);
+
+    static {
+        for (Table table : Table.values()) {
+            RANDOM_NUMBER_STREAM_LAYOUTS.put(table, new RandomNumberStreams.Layout(table.getGeneratorColumns()));
+            if (table.getRowGeneratorClass() == null) {
+                continue;
+            }
+            try {
+                ROW_GENERATOR_CONSTRUCTORS.put(table, table.getRowGeneratorClass().getDeclaredConstructor());
+            }
+            catch (NoSuchMethodException e) {
+                throw new TpcdsException(e.toString());
+            }
+        }
+    }
+
+    private final Scaling scaling;
+    // the join key generators of each target table, keyed by the column the keys are drawn for
+    private final Map<Table, ConcurrentMap<GeneratorColumn, JoinKeyGenerator>> joinKeyGenerators = new EnumMap<>(Table.class);
+    private final ConcurrentMap<GeneratorColumn, int[]> permutations = new ConcurrentHashMap<>();
+
+    private GenerationContext(double scale)
+    {
+        this.scaling = new Scaling(scale);
+        for (Table table : Table.values()) {
+            joinKeyGenerators.put(table, new ConcurrentHashMap<>());
+        }
+    }
+
+    public static GenerationContext getGenerationContext(double scale)
+    {
+        return GENERATION_CONTEXTS.getUnchecked(scale);
+    }
+
+    public static RandomNumberStreams.Layout getRandomNumberStreamLayout(Table table)
+    {
+        return RANDOM_NUMBER_STREAM_LAYOUTS.get(table);
+    }
+
+    public Scaling getScaling()
+    {
+        return scaling;
+    }
+
+    public RowGenerator createRowGenerator(Table table)
+    {
+        Constructor<? extends RowGenerator> constructor = ROW_GENERATOR_CONSTRUCTORS.get(table);
+        checkArgument(constructor != null, "table %s has no row generator", table);
+        try {
+            return constructor.newInstance();
+        }
+        catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
+            throw new TpcdsException(e.toString());
+        }
+    }
+
+    public JoinKeyGenerator getJoinKeyGenerator(GeneratorColumn fromColumn, Table toTable)
+    {
+        return joinKeyGenerators.get(toTable).computeIfAbsent(fromColumn, column -> createJoinKeyGenerator(column, toTable, scaling));
+    }
+
+    // A stream that uses no seeds per row is back at its initial seed at the start of every chunk, so the permutation
+    // drawn from it depends only on the column and the size. The returned array is shared, and must not be modified.
+    public int[] getSharedPermutation(GeneratorColumn column, int size)
+    {
+        checkArgument(column.getSeedsPerRow() == 0, "column %s uses seeds per row, so its permutation depends on the row", column);
+        int[] permutation = permutations.computeIfAbsent(column, key -> makePermutation(size, new RandomNumberStreamImpl(column.getGlobalColumnNumber(), column.getSeedsPerRow())));
+        checkArgument(permutation.length == size, "the permutation of column %s has %s entries, not %s", column, permutation.length, size);
+        return permutation;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import io.trino.tpcds.random.RandomNumberStream;
+import io.trino.tpcds.random.RandomNumberStreamImpl;
+
+import java.io.IOException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.Table.INVENTORY;
+import static io.trino.tpcds.Table.ITEM;
+import static io.trino.tpcds.Table.WAREHOUSE;
+import static io.trino.tpcds.generator.InventoryGeneratorColumn.INV_NULLS;
+import static io.trino.tpcds.generator.InventoryGeneratorColumn.INV_QUANTITY_ON_HAND;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInts;
+import static io.trino.tpcds.type.Date.JULIAN_DATE_MINIMUM;
+
+// Writes the rows of the inventory table in loops over the weeks, warehouses and items, instead of
+// going through InventoryRowGenerator for every row. The random numbers of a batch of rows are drawn together.
+final class InventoryBatchGenerator
+        extends BatchGenerator
+{
+    private static final int BATCH_SIZE = 4096;
+    private static final int MAX_QUANTITY = 1000;
+    private static final byte[][] QUANTITIES = new byte[MAX_QUANTITY + 1][];
+
+    static {
+        for (int i = 0; i <= MAX_QUANTITY; i++) {
+            QUANTITIES[i] = encode(i);
+        }
+    }
+
+    // only the quantity on hand can be null, and it is the fourth column
+    private static final long QUANTITY_NULL_BIT = 1L << 3;
+
+    private final Scaling scaling;
+    private final int itemCount;
+    private final int warehouseCount;
+
+    private final byte[][] warehouseKeys;
+    // the surrogate keys of the items for the current week, one after the other
+    private final byte[] itemKeys;
+    private final int[] itemKeyOffsets;
+    private int itemKeysWeek = -1;
+    private byte[] dateKey;
+
+    // the two draws of each row for the nulls are the threshold and the bitmap
+    private final long[] nullDraws = new long[BATCH_SIZE * 2];
+    private final int[] quantities = new int[BATCH_SIZE];
+
+    InventoryBatchGenerator(Session session)
+    {
+        super(session, 4, maxValuesLength(session));
+        this.scaling = session.getScaling();
+        this.itemCount = (int) scaling.getIdCount(ITEM);
+        this.warehouseCount = (int) scaling.getIdCount(WAREHOUSE);
+
+        warehouseKeys = new byte[warehouseCount][];
+        for (int i = 0; i < warehouseCount; i++) {
+            warehouseKeys[i] = encode(i + 1);
+        }
+        itemKeys = new byte[itemCount * Long.toString(scaling.getRowCount(ITEM)).length()];
+        itemKeyOffsets = new int[itemCount + 1];
+    }
+
+    // The generic path truncates the row number to an int to skip to the first row, as the C code does,
+    // so only tables of up to 2^31 - 1 rows are supported.
+    static boolean supports(long lastRow)
+    {
+        return lastRow <= Integer.MAX_VALUE;
+    }
+
+    private static int maxValuesLength(Session session)
+    {
+        Scaling scaling = session.getScaling();
+        // the date key, the item and warehouse keys, and the quantity or the null string
+        return Long.toString(Long.MAX_VALUE).length()
+                + Long.toString(scaling.getRowCount(ITEM)).length()
+                + Long.toString(scaling.getIdCount(WAREHOUSE)).length()
+                + Math.max(session.getNullString().length(), QUANTITIES[MAX_QUANTITY].length);
+    }
+
+    @Override
+    void generateRows(long firstRow, long lastRow, TableFileWriter writer)
+            throws IOException
+    {
+        checkArgument(firstRow >= 1 && lastRow <= scaling.getRowCount(INVENTORY), "rows %s to %s are out of range", firstRow, lastRow);
+        checkArgument(lastRow <= Integer.MAX_VALUE, "rows after %s cannot be generated in batches", Integer.MAX_VALUE);
+
+        RandomNumberStream nullStream = new RandomNumberStreamImpl(INV_NULLS.getGlobalColumnNumber(), INV_NULLS.getSeedsPerRow());
+        RandomNumberStream quantityStream = new RandomNumberStreamImpl(INV_QUANTITY_ON_HAND.getGlobalColumnNumber(), INV_QUANTITY_ON_HAND.getSeedsPerRow());
+        nullStream.skipRows(firstRow - 1);
+        quantityStream.skipRows(firstRow - 1);
+
+        int index = (int) firstRow - 1;
+        int item = index % itemCount;
+        index /= itemCount;
+        int warehouse = index % warehouseCount;
+        int week = index / warehouseCount;
+        prepareWeek(week);
+
+        for (long batchFirstRow = firstRow; batchFirstRow <= lastRow; batchFirstRow += BATCH_SIZE) {
+            int rows = (int) Math.min(BATCH_SIZE, lastRow - batchFirstRow + 1);
+            // both streams use all their seeds in every row, so the draws of consecutive rows are consecutive
+            nullStream.nextRandoms(nullDraws, rows * 2);
+            generateUniformRandomInts(0, MAX_QUANTITY, quantityStream, quantities, rows);
+
+            for (int row = 0; row < rows; row++) {
+                startRow(writer);
+                append(dateKey);
+                appendSeparator();
+                append(itemKeys, itemKeyOffsets[item], itemKeyOffsets[item + 1]);
+                appendSeparator();
+                append(warehouseKeys[warehouse]);
+                appendSeparator();
+                if (isQuantityNull(nullDraws[row * 2], nullDraws[row * 2 + 1])) {
+                    appendNull();
+                }
+                else {
+                    append(QUANTITIES[quantities[row]]);
+                }
+                endRow();
+
+                item++;
+                if (item == itemCount) {
+                    item = 0;
+                    warehouse++;
+                    if (warehouse == warehouseCount) {
+                        warehouse = 0;
+                        week++;
+                        prepareWeek(week);
+                    }
+                }
+            }
+        }
+        flush(writer);
+    }
+
+    // the same as Nulls.createNullBitMap, from the two draws of the row
+    private static boolean isQuantityNull(long thresholdDraw, long bitMapDraw)
+    {
+        int threshold = (int) thresholdDraw % 10000;
+        long bitMap = ((int) bitMapDraw % Integer.MAX_VALUE) + 1;
+        return threshold < INVENTORY.getNullBasisPoints() && (bitMap & ~INVENTORY.getNotNullBitMap() & QUANTITY_NULL_BIT) != 0;
+    }
+
+    // inventory is updated weekly, and item is a slowly changing dimension, so the surrogate key of an item depends on the week
+    private void prepareWeek(int week)
+    {
+        if (week == itemKeysWeek) {
+            return;
+        }
+        long julianDate = JULIAN_DATE_MINIMUM + (week * 7);
+        dateKey = encode(julianDate);
+        int offset = 0;
+        for (int i = 0; i < itemCount; i++) {
+            itemKeyOffsets[i] = offset;
+            long itemSk = SlowlyChangingDimensionUtils.matchSurrogateKey(i + 1, julianDate, ITEM, scaling);
+            offset += writeDigits(itemSk, itemKeys, offset);
+        }
+        itemKeyOffsets[itemCount] = offset;
+        itemKeysWeek = week;
+    }
+}
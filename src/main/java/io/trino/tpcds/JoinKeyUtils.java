@@ -15,6 +15,7 @@
 package io.trino.tpcds;
 
 import io.trino.tpcds.distribution.CalendarDistribution;
+import io.trino.tpcds.distribution.HoursDistribution;
 import io.trino.tpcds.generator.GeneratorColumn;
 import io.trino.tpcds.random.RandomNumberStream;
 import io.trino.tpcds.type.Date;
@@ -54,112 +55,200 @@ public final class JoinKeyUtils
     private static final int WEB_PAGES_PER_SITE = 123;
     private static final int WEB_DATE_STAGGER = 17;
 
+    // the julian day of the first of January of each year of the data set
+    private static final int[] JULIAN_NEW_YEARS_DAYS = new int[DATE_MAXIMUM.getYear() - DATE_MINIMUM.getYear() + 1];
+
+    static {
+        for (int i = 0; i < JULIAN_NEW_YEARS_DAYS.length; i++) {
+            JULIAN_NEW_YEARS_DAYS[i] = toJulianDays(DATE_MINIMUM.getYear() + i, 1, 1);
+        }
+    }
+
     private JoinKeyUtils() {}
 
+    // Compiles the join key generator for each call, so generators that draw many keys hold on to the result of createJoinKeyGenerator instead
     public static long generateJoinKey(GeneratorColumn fromColumn, RandomNumberStream randomNumberStream, Table toTable, long joinCount, Scaling scaling)
+    {
+        return createJoinKeyGenerator(fromColumn, toTable, scaling).generateJoinKey(randomNumberStream, joinCount);
+    }
+
+    public static JoinKeyGenerator createJoinKeyGenerator(GeneratorColumn fromColumn, Table toTable, Scaling scaling)
     {
         Table fromTable = fromColumn.getTable();
 
         switch (toTable) {
             case CATALOG_PAGE:
-                return generateCatalogPageJoinKey(randomNumberStream, joinCount, scaling);
+                return new CatalogPageJoinKeyGenerator(scaling);
             case DATE_DIM:
-                int year = generateUniformRandomInt(DATE_MINIMUM.getYear(), DATE_MAXIMUM.getYear(), randomNumberStream);
-                return generateDateJoinKey(fromTable, randomNumberStream, fromColumn, joinCount, year, scaling);
+                return createDateJoinKeyGenerator(fromTable, fromColumn, scaling);
             case TIME_DIM:
-                return generateTimeJoinKey(fromTable, randomNumberStream);
+                return new TimeJoinKeyGenerator(fromTable);
             default:
                 if (toTable.keepsHistory()) {
-                    return generateScdJoinKey(toTable, randomNumberStream, joinCount, scaling);
+                    return new ScdJoinKeyGenerator(toTable, scaling);
                 }
 
-                return generateUniformRandomKey(1, scaling.getRowCount(toTable), randomNumberStream);
-        }
-    }
-
-    private static long generateCatalogPageJoinKey(RandomNumberStream randomNumberStream, long julianDate, Scaling scaling)
-    {
-        int pagesPerCatalog = ((int) scaling.getRowCount(CATALOG_PAGE) / CATALOGS_PER_YEAR) / (DATE_MAXIMUM.getYear() - DATE_MINIMUM.getYear() + 2);
-
-        String type = pickRandomCatalogPageType(randomNumberStream);
-        int page = generateUniformRandomInt(1, pagesPerCatalog, randomNumberStream);
-        int offset = (int) julianDate - JULIAN_DATA_START_DATE - 1;
-        int count = (offset / 365) * CATALOGS_PER_YEAR;
-        offset %= 365;
-
-        switch (type) {
-            case "bi-annual":
-                if (offset > 183) {
-                    count += 1;
-                }
-                break;
-            case "quarterly": // quarterly
-                count += offset / 91;
-                break;
-            case "monthly": // monthly
-                count += offset / 31;
-                break;
-            default:
-                throw new TpcdsException(format("Invalid catalog_page_type: %s", type));
+                return new UniformJoinKeyGenerator(scaling.getRowCount(toTable));
         }
-
-        return count * pagesPerCatalog + page;
     }
 
-    private static long generateDateJoinKey(Table fromTable, RandomNumberStream randomNumberStream, GeneratorColumn fromColumn, long joinCount, int year, Scaling scaling)
+    private static JoinKeyGenerator createDateJoinKeyGenerator(Table fromTable, GeneratorColumn fromColumn, Scaling scaling)
     {
-        int dayNumber;
         switch (fromTable) {
             case STORE_SALES:
             case CATALOG_SALES:
             case WEB_SALES:
-                CalendarDistribution.Weights weights = SALES;
-                if (isLeapYear(year)) {
-                    weights = SALES_LEAP_YEAR;
-                }
-                dayNumber = pickRandomDayOfYear(weights, randomNumberStream);
-                int result = toJulianDays(new Date(year, 1, 1)) + dayNumber;
-                return result > JULIAN_TODAYS_DATE ? -1 : result;
+                return new DateJoinKeyGenerator(SALES, SALES_LEAP_YEAR);
 
             // returns are keyed to the sale date, with the lag between sale and return selected within a known range, based on
             // sales channel
             case STORE_RETURNS:
             case CATALOG_RETURNS:
             case WEB_RETURNS:
-                return generateDateReturnsJoinKey(fromTable, randomNumberStream, joinCount);
+                return new DateReturnsJoinKeyGenerator(fromTable);
             case WEB_SITE:
             case WEB_PAGE:
-                return generateWebJoinKey(fromColumn, randomNumberStream, joinCount, scaling);
+                return new WebJoinKeyGenerator(fromColumn, scaling);
             default:
-                weights = CalendarDistribution.Weights.UNIFORM;
-                if (isLeapYear(year)) {
-                    weights = UNIFORM_LEAP_YEAR;
-                }
-                dayNumber = pickRandomDayOfYear(weights, randomNumberStream);
-                result = toJulianDays(new Date(year, 1, 1)) + dayNumber;
-                return result > JULIAN_TODAYS_DATE ? -1 : result;
+                return new DateJoinKeyGenerator(CalendarDistribution.Weights.UNIFORM, UNIFORM_LEAP_YEAR);
+        }
+    }
+
+    // every key into the date dimension starts by drawing a year, even when the key does not depend on it
+    private static int generateYear(RandomNumberStream randomNumberStream)
+    {
+        return generateUniformRandomInt(DATE_MINIMUM.getYear(), DATE_MAXIMUM.getYear(), randomNumberStream);
+    }
+
+    private static final class CatalogPageJoinKeyGenerator
+            implements JoinKeyGenerator
+    {
+        private final int pagesPerCatalog;
+
+        private CatalogPageJoinKeyGenerator(Scaling scaling)
+        {
+            pagesPerCatalog = ((int) scaling.getRowCount(CATALOG_PAGE) / CATALOGS_PER_YEAR) / (DATE_MAXIMUM.getYear() - DATE_MINIMUM.getYear() + 2);
+        }
+
+        @Override
+        public long generateJoinKey(RandomNumberStream randomNumberStream, long julianDate)
+        {
+            String type = pickRandomCatalogPageType(randomNumberStream);
+            int page = generateUniformRandomInt(1, pagesPerCatalog, randomNumberStream);
+            int offset = (int) julianDate - JULIAN_DATA_START_DATE - 1;
+            int count = (offset / 365) * CATALOGS_PER_YEAR;
+            offset %= 365;
+
+            switch (type) {
+                case "bi-annual":
+                    if (offset > 183) {
+                        count += 1;
+                    }
+                    break;
+                case "quarterly": // quarterly
+                    count += offset / 91;
+                    break;
+                case "monthly": // monthly
+                    count += offset / 31;
+                    break;
+                default:
+                    throw new TpcdsException(format("Invalid catalog_page_type: %s", type));
+            }
+
+            return count * pagesPerCatalog + page;
+        }
+    }
+
+    private static final class DateJoinKeyGenerator
+            implements JoinKeyGenerator
+    {
+        private final CalendarDistribution.Weights weights;
+        private final CalendarDistribution.Weights leapYearWeights;
+
+        private DateJoinKeyGenerator(CalendarDistribution.Weights weights, CalendarDistribution.Weights leapYearWeights)
+        {
+            this.weights = weights;
+            this.leapYearWeights = leapYearWeights;
+        }
+
+        @Override
+        public long generateJoinKey(RandomNumberStream randomNumberStream, long joinCount)
+        {
+            int year = generateYear(randomNumberStream);
+            int dayNumber = pickRandomDayOfYear(isLeapYear(year) ? leapYearWeights : weights, randomNumberStream);
+            int result = JULIAN_NEW_YEARS_DAYS[year - DATE_MINIMUM.getYear()] + dayNumber;
+            return result > JULIAN_TODAYS_DATE ? -1 : result;
         }
     }
 
-    private static long generateWebJoinKey(GeneratorColumn fromColumn, RandomNumberStream randomNumberStream, long joinKey, Scaling scaling)
+    private static final class DateReturnsJoinKeyGenerator
+            implements JoinKeyGenerator
     {
-        if (fromColumn == WP_CREATION_DATE_SK) {
-            // Page creation has to happen outside of the page window, to assure a constant number of pages,
-            // so it occurs in the gap between site creation and the site's actual activity. For sites that are replaced
-            // in the time span of the data set, this will depend on whether they are the first version or the second
-            int site = (int) (joinKey / WEB_PAGES_PER_SITE + 1);
-            long webSiteDuration = getWebSiteDuration(scaling);
-            int minResult = (int) (JULIAN_DATE_MINIMUM - ((site * WEB_DATE_STAGGER) % webSiteDuration / 2));
-            return generateUniformRandomInt(minResult, JULIAN_DATE_MINIMUM, randomNumberStream);
+        private final int minLag;
+        private final int maxLag;
+
+        private DateReturnsJoinKeyGenerator(Table fromTable)
+        {
+            int min;
+            int max;
+            switch (fromTable) {
+                case STORE_RETURNS:
+                case CATALOG_RETURNS:
+                    min = CS_MIN_SHIP_DELAY;
+                    max = CS_MAX_SHIP_DELAY;
+                    break;
+                case WEB_RETURNS:
+                    min = 1;
+                    max = 120;
+                    break;
+                default:
+                    throw new TpcdsException("Invalid table for dateJoinReturns");
+            }
+            minLag = min * 2;
+            maxLag = max * 2;
         }
 
-        if (fromColumn == WEB_OPEN_DATE) {
-            long webSiteDuration = getWebSiteDuration(scaling);
-            return JULIAN_DATE_MINIMUM - ((joinKey * WEB_DATE_STAGGER) % webSiteDuration / 2);
+        @Override
+        public long generateJoinKey(RandomNumberStream randomNumberStream, long joinCount)
+        {
+            generateYear(randomNumberStream);
+            int lag = generateUniformRandomInt(minLag, maxLag, randomNumberStream);
+            return joinCount + lag;
         }
+    }
+
+    private static final class WebJoinKeyGenerator
+            implements JoinKeyGenerator
+    {
+        private final GeneratorColumn fromColumn;
+        private final long webSiteDuration;
+
+        private WebJoinKeyGenerator(GeneratorColumn fromColumn, Scaling scaling)
+        {
+            if (fromColumn != WP_CREATION_DATE_SK && fromColumn != WEB_OPEN_DATE && fromColumn != WEB_CLOSE_DATE) {
+                throw new TpcdsException("invalid column for web join");
+            }
+            this.fromColumn = fromColumn;
+            webSiteDuration = (JULIAN_DATE_MAXIMUM - JULIAN_DATE_MINIMUM) * CONCURRENT_WEB_SITES.getRowCountForScale(scaling.getScale());
+        }
+
+        @Override
+        public long generateJoinKey(RandomNumberStream randomNumberStream, long joinKey)
+        {
+            generateYear(randomNumberStream);
+            if (fromColumn == WP_CREATION_DATE_SK) {
+                // Page creation has to happen outside of the page window, to assure a constant number of pages,
+                // so it occurs in the gap between site creation and the site's actual activity. For sites that are replaced
+                // in the time span of the data set, this will depend on whether they are the first version or the second
+                int site = (int) (joinKey / WEB_PAGES_PER_SITE + 1);
+                int minResult = (int) (JULIAN_DATE_MINIMUM - ((site * WEB_DATE_STAGGER) % webSiteDuration / 2));
+                return generateUniformRandomInt(minResult, JULIAN_DATE_MINIMUM, randomNumberStream);
+            }
+
+            if (fromColumn == WEB_OPEN_DATE) {
+                return JULIAN_DATE_MINIMUM - ((joinKey * WEB_DATE_STAGGER) % webSiteDuration / 2);
+            }
 
-        if (fromColumn == WEB_CLOSE_DATE) {
-            long webSiteDuration = getWebSiteDuration(scaling);
             long result = JULIAN_DATE_MINIMUM - ((joinKey * WEB_DATE_STAGGER) % webSiteDuration / 2);
             result += -1 * webSiteDuration; // the -1 here and below are due to undefined values in the C code
 
@@ -171,81 +260,97 @@ public final class JoinKeyUtils
             return result;
         }
 
-        throw new TpcdsException("invalid column for web join");
-    }
+        private static boolean isReplaced(long joinKey)
+        {
+            return (joinKey % 2) == 0;
+        }
 
-    private static long getWebSiteDuration(Scaling scaling)
-    {
-        return (JULIAN_DATE_MAXIMUM - JULIAN_DATE_MINIMUM) * CONCURRENT_WEB_SITES.getRowCountForScale(scaling.getScale());
+        private static boolean isReplacement(long joinKey)
+        {
+            return (joinKey / 2 % 2) != 0;
+        }
     }
 
-    private static boolean isReplaced(long joinKey)
+    private static final class TimeJoinKeyGenerator
+            implements JoinKeyGenerator
     {
-        return (joinKey % 2) == 0;
-    }
+        private final HoursDistribution.Weights weights;
 
-    private static boolean isReplacement(long joinKey)
-    {
-        return (joinKey / 2 % 2) != 0;
-    }
+        private TimeJoinKeyGenerator(Table fromTable)
+        {
+            switch (fromTable) {
+                case STORE_SALES:
+                case STORE_RETURNS:
+                    weights = STORE;
+                    break;
+                case CATALOG_SALES:
+                case WEB_SALES:
+                case CATALOG_RETURNS:
+                case WEB_RETURNS:
+                    weights = CATALOG_AND_WEB;
+                    break;
+                default:
+                    weights = UNIFORM;
+                    break;
+            }
+        }
 
-    private static long generateDateReturnsJoinKey(Table fromTable, RandomNumberStream randomNumberStream, long joinCount)
-    {
-        int min;
-        int max;
-        switch (fromTable) {
-            case STORE_RETURNS:
-            case CATALOG_RETURNS:
-                min = CS_MIN_SHIP_DELAY;
-                max = CS_MAX_SHIP_DELAY;
-                break;
-            case WEB_RETURNS:
-                min = 1;
-                max = 120;
-                break;
-            default:
-                throw new TpcdsException("Invalid table for dateJoinReturns");
+        @Override
+        public long generateJoinKey(RandomNumberStream randomNumberStream, long joinCount)
+        {
+            int hour = pickRandomHour(weights, randomNumberStream);
+            int seconds = generateUniformRandomInt(0, 3599, randomNumberStream);
+
+            return (long) (hour * 3600 + seconds);
         }
-        int lag = generateUniformRandomInt(min * 2, max * 2, randomNumberStream);
-        return joinCount + lag;
     }
 
-    private static long generateTimeJoinKey(Table fromTable, RandomNumberStream randomNumberStream)
+    private static final class ScdJoinKeyGenerator
+            implements JoinKeyGenerator
     {
-        int hour;
-        switch (fromTable) {
-            case STORE_SALES:
-            case STORE_RETURNS:
-                hour = pickRandomHour(STORE, randomNumberStream);
-                break;
-            case CATALOG_SALES:
-            case WEB_SALES:
-            case CATALOG_RETURNS:
-            case WEB_RETURNS:
-                hour = pickRandomHour(CATALOG_AND_WEB, randomNumberStream);
-                break;
-            default:
-                hour = pickRandomHour(UNIFORM, randomNumberStream);
-                break;
+        private final Table toTable;
+        private final Scaling scaling;
+        private final long idCount;
+        private final long rowCount;
+
+        private ScdJoinKeyGenerator(Table toTable, Scaling scaling)
+        {
+            this.toTable = toTable;
+            this.scaling = scaling;
+            idCount = scaling.getIdCount(toTable);
+            rowCount = scaling.getRowCount(toTable);
         }
 
-        int seconds = generateUniformRandomInt(0, 3599, randomNumberStream);
+        @Override
+        public long generateJoinKey(RandomNumberStream randomNumberStream, long julianDate)
+        {
+            // can't have a revision in the future
+            if (julianDate > Date.JULIAN_DATA_END_DATE) {
+                return -1;
+            }
+
+            long key = generateUniformRandomKey(1, idCount, randomNumberStream);
+            // map to the date sensitive surrogate key
+            key = matchSurrogateKey(key, julianDate, toTable, scaling);
 
-        return (long) (hour * 3600 + seconds);
+            return key > rowCount ? -1 : key;
+        }
     }
 
-    private static long generateScdJoinKey(Table toTable, RandomNumberStream randomNumberStream, long julianDate, Scaling scaling)
+    private static final class UniformJoinKeyGenerator
+            implements JoinKeyGenerator
     {
-        // can't have a revision in the future
-        if (julianDate > Date.JULIAN_DATA_END_DATE) {
-            return -1;
-        }
+        private final long rowCount;
 
-        long idCount = scaling.getIdCount(toTable);
-        long key = generateUniformRandomKey(1, idCount, randomNumberStream);
-        // map to the date sensitive surrogate key
-        key = matchSurrogateKey(key, julianDate, toTable, scaling);
+        private UniformJoinKeyGenerator(long rowCount)
+        {
+            this.rowCount = rowCount;
+        }
 
-        return key > scaling.getRowCount(toTable) ? -1 : key;
+        @Override
+        public long generateJoinKey(RandomNumberStream randomNumberStream, long joinCount)
+        {
+            return generateUniformRandomKey(1, rowCount, randomNumberStream);
+        }
     }
 }
@@ -16,6 +16,7 @@ package io.trino.tpcds;
 
 import io.airlift.airline.Option;
 
+import java.io.File;
 import java.util.Optional;
 
 public class Options
@@ -29,7 +30,15 @@ public class Options
     public static final boolean DEFAULT_DO_NOT_TERMINATE = false;
     public static final boolean DEFAULT_NO_SEXISM = false;
     public static final int DEFAULT_PARALLELISM = 1;
+    public static final String AUTO_PARALLELISM = "auto";
+    // in auto mode, every table is split into one chunk per this much scale, so the files do not depend on the machine
+    public static final double AUTO_SCALE_PER_CHUNK = 1;
+    public static final int MAX_AUTO_CHUNKS = 1000;
     public static final boolean DEFAULT_OVERWRITE = false;
+    public static final boolean DEFAULT_CHECKPOINT = false;
+    public static final boolean DEFAULT_RESUME = false;
+    public static final String DEFAULT_DISTRIBUTION_DIRECTORY = null;
+    public static final String DEFAULT_TABLE_CACHE_DIRECTORY = null;
 
     @Option(name = {"--scale", "-s"}, title = "scale", description = "Volume of data to generate in GB (Default: 1)")
     public double scale = DEFAULT_SCALE;
@@ -59,12 +68,39 @@ public class Options
             "But on the other hand it won't be sexist.")
     public boolean noSexism = DEFAULT_NO_SEXISM;
 
-    @Option(name = "--parallelism", title = "parallelism", description = "Build data in <n> separate chunks (Default: 1)")
+    // The command line value is either a number or 'auto', so it is parsed into parallelism and autoParallelism when used
+    @Option(name = "--parallelism", title = "parallelism", description = "" +
+            "Build data in <n> separate chunks (Default: 1). " +
+            "With 'auto', one chunk is built per unit of scale, and the number of worker threads is adjusted to the observed CPU and disk throughput")
+    private String parallelismOption;
+
     public int parallelism = DEFAULT_PARALLELISM;
 
+    public boolean autoParallelism;
+
     @Option(name = "--overwrite", title = "overwrite", description = "Overwrite existing data files for tables")
     public boolean overwrite = DEFAULT_OVERWRITE;
 
+    @Option(name = "--checkpoint", title = "checkpoint", description = "Record completed units of work in a checkpoint file in the target directory, so that an interrupted run can be resumed")
+    public boolean checkpoint = DEFAULT_CHECKPOINT;
+
+    @Option(name = "--resume", title = "resume", description = "" +
+            "Resume a run that was started with --checkpoint. " +
+            "Completed units are verified against the checkpoint file, and only missing or partial units are generated again")
+    public boolean resume = DEFAULT_RESUME;
+
+    // The distributions are loaded once per process, so this is not part of the Session: the Driver applies it before anything is generated
+    @Option(name = "--distribution-directory", title = "distribution-directory", description = "" +
+            "Directory of distribution (.dst) files that replace the built-in distributions of the same name, for example to skew the data. " +
+            "*The data set generated is not TPC-DS compliant and will differ from the one generated by the official C implementation.*")
+    public String distributionDirectory = DEFAULT_DISTRIBUTION_DIRECTORY;
+
+    @Option(name = "--table-cache-directory", title = "table-cache-directory", description = "" +
+            "Directory in which to keep the files of the tables that are the same at every scale, such as date_dim and customer_demographics. " +
+            "Those tables are copied from the cache when it has them for the same options and version of the generator, and are added to it otherwise. " +
+            "The directory is created if it does not exist, and the tables are generated without the cache when it can not be used")
+    public String tableCacheDirectory = DEFAULT_TABLE_CACHE_DIRECTORY;
+
     public Session toSession()
     {
         validateProperties();
@@ -76,8 +112,33 @@ public class Options
                 separator,
                 doNotTerminate,
                 noSexism,
-                parallelism,
-                overwrite);
+                getParallelism(),
+                1,
+                overwrite,
+                checkpoint,
+                resume)
+                .withTableCacheDirectory(Optional.ofNullable(tableCacheDirectory));
+    }
+
+    public boolean isAutoParallelism()
+    {
+        return autoParallelism || AUTO_PARALLELISM.equalsIgnoreCase(parallelismOption);
+    }
+
+    private int getParallelism()
+    {
+        if (isAutoParallelism()) {
+            return (int) Math.max(1, Math.min(MAX_AUTO_CHUNKS, Math.ceil(scale / AUTO_SCALE_PER_CHUNK)));
+        }
+        if (parallelismOption == null) {
+            return parallelism;
+        }
+        try {
+            return Integer.parseInt(parallelismOption);
+        }
+        catch (NumberFormatException e) {
+            throw new InvalidOptionException("parallelism", parallelismOption, "Parallelism must be a number or 'auto'");
+        }
     }
 
     private static Optional<Table> toTableOptional(String table)
@@ -105,8 +166,14 @@ public class Options
         if (suffix.equals("")) {
             throw new InvalidOptionException("suffix", suffix, "Suffix cannot be an empty string");
         }
-        if (parallelism < 1) {
-            throw new InvalidOptionException("parallelism", Integer.toString(parallelism), "Parallelism must be >= 1");
+        if (getParallelism() < 1) {
+            throw new InvalidOptionException("parallelism", Integer.toString(getParallelism()), "Parallelism must be >= 1");
+        }
+        if (resume && overwrite) {
+            throw new InvalidOptionException("resume", "true", "Resume cannot be combined with overwrite");
+        }
+        if (distributionDirectory != null && !new File(distributionDirectory).isDirectory()) {
+            throw new InvalidOptionException("distribution-directory", distributionDirectory, "Distribution directory does not exist");
         }
     }
 }
@@ -55,24 +55,22 @@ public final class Parallel
 
     public static DateNextIndexPair skipDaysUntilFirstRowOfChunk(Table table, Session session)
     {
-        // set initial conditions
-        long julianDate = JULIAN_DATA_START_DATE;
-        Scaling scaling = session.getScaling();
-        long index = 1;
-        long newDateIndex = scaling.getRowCountForDate(table, julianDate) + index;
-
-        // move forward one day at a time
+        DailyRowIndex dailyRowIndex = session.getScaling().getDailyRowIndex(table);
         ChunkBoundaries boundary = splitWork(table, session);
-        while (index < boundary.getFirstRow()) {
-            index += scaling.getRowCountForDate(table, julianDate);
-            julianDate += 1;
-            newDateIndex = index;
+        if (boundary.getFirstRow() <= 1) {
+            long julianDate = JULIAN_DATA_START_DATE;
+            return new DateNextIndexPair(julianDate, dailyRowIndex.getRowCountForDate(julianDate) + 1);
         }
-        if (index > boundary.getFirstRow()) {
-            julianDate -= 1;
+
+        // The C code moves forward one day at a time until it passes the row before the chunk. The day after
+        // the one holding that row is the current date, unless that day also holds the first row of the chunk.
+        long julianDate = dailyRowIndex.getJulianDateForRowNumber(boundary.getFirstRow() - 1);
+        long nextDateIndex = dailyRowIndex.getLastRowNumberForDate(julianDate) + 1;
+        if (nextDateIndex == boundary.getFirstRow()) {
+            julianDate += 1;
         }
 
-        return new DateNextIndexPair(julianDate, newDateIndex);
+        return new DateNextIndexPair(julianDate, nextDateIndex);
     }
 
     public static class ChunkBoundaries
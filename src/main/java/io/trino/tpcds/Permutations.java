@@ -17,10 +17,12 @@ package io.trino.tpcds;
 import io.trino.tpcds.random.RandomNumberStream;
 
 import static com.google.common.base.Preconditions.checkArgument;
-import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInts;
 
 public final class Permutations
 {
+    private static final int PERMUTATION_DRAW_SIZE = 1024;
+
     private Permutations() {}
 
     public static int[] makePermutation(int size, RandomNumberStream stream)
@@ -30,11 +32,17 @@ public final class Permutations
             numberSet[i] = i;
         }
 
-        for (int i = 0; i < numberSet.length; i++) {
-            int index = generateUniformRandomInt(0, size - 1, stream);
-            int temp = numberSet[i];
-            numberSet[i] = numberSet[index];
-            numberSet[index] = temp;
+        // the draws do not depend on the swaps, so they are made a block at a time
+        int[] indexes = new int[Math.min(size, PERMUTATION_DRAW_SIZE)];
+        for (int offset = 0; offset < size; offset += indexes.length) {
+            int count = Math.min(indexes.length, size - offset);
+            generateUniformRandomInts(0, size - 1, stream, indexes, count);
+            for (int i = 0; i < count; i++) {
+                int index = indexes[i];
+                int temp = numberSet[offset + i];
+                numberSet[offset + i] = numberSet[index];
+                numberSet[index] = temp;
+            }
         }
         return numberSet;
     }
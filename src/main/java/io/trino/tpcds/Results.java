@@ -20,7 +20,6 @@ import io.trino.tpcds.row.TableRow;
 import io.trino.tpcds.row.generator.RowGenerator;
 import io.trino.tpcds.row.generator.RowGeneratorResult;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -84,14 +83,10 @@ public class Results
             this.rowNumber = startingRowNumber;
             this.endingRowNumber = endingRowNumber;
             this.session = session;
-            try {
-                this.rowGenerator = table.getRowGeneratorClass().getDeclaredConstructor().newInstance();
-                this.parentRowGenerator = table.isChild() ? table.getParent().getRowGeneratorClass().getDeclaredConstructor().newInstance() : null;
-                this.childRowGenerator = table.hasChild() ? table.getChild().getRowGeneratorClass().getDeclaredConstructor().newInstance() : null;
-            }
-            catch (NoSuchMethodException | InstantiationException | InvocationTargetException | IllegalAccessException e) {
-                throw new TpcdsException(e.toString());
-            }
+            GenerationContext generationContext = session.getGenerationContext();
+            this.rowGenerator = generationContext.createRowGenerator(table);
+            this.parentRowGenerator = table.isChild() ? generationContext.createRowGenerator(table.getParent()) : null;
+            this.childRowGenerator = table.hasChild() ? generationContext.createRowGenerator(table.getChild()) : null;
             skipRowsUntilStartingRowNumber(startingRowNumber);
         }
 
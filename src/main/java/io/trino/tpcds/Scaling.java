@@ -43,6 +43,7 @@ public class Scaling
 {
     private final double scale;
     private final Map<Table, Long> tableToRowCountMap = new EnumMap<>(Table.class);
+    private final Map<Table, DailyRowIndex> tableToDailyRowIndexMap = new EnumMap<>(Table.class);
 
     public Scaling(double scale)
     {
@@ -113,6 +114,12 @@ public class Scaling
         return scale;
     }
 
+    // built once per table on first use, since only the date based tables need it
+    public synchronized DailyRowIndex getDailyRowIndex(Table table)
+    {
+        return tableToDailyRowIndexMap.computeIfAbsent(table, dateBasedTable -> new DailyRowIndex(dateBasedTable, this));
+    }
+
     public long getRowCountForDate(Table table, long julianDate)
     {
         long rowCount;
@@ -16,19 +16,23 @@ package io.trino.tpcds;
 
 import java.util.Optional;
 
+import static io.trino.tpcds.Options.DEFAULT_CHECKPOINT;
 import static io.trino.tpcds.Options.DEFAULT_DIRECTORY;
 import static io.trino.tpcds.Options.DEFAULT_DO_NOT_TERMINATE;
 import static io.trino.tpcds.Options.DEFAULT_NO_SEXISM;
 import static io.trino.tpcds.Options.DEFAULT_NULL_STRING;
 import static io.trino.tpcds.Options.DEFAULT_OVERWRITE;
 import static io.trino.tpcds.Options.DEFAULT_PARALLELISM;
+import static io.trino.tpcds.Options.DEFAULT_RESUME;
 import static io.trino.tpcds.Options.DEFAULT_SCALE;
 import static io.trino.tpcds.Options.DEFAULT_SEPARATOR;
 import static io.trino.tpcds.Options.DEFAULT_SUFFIX;
+import static io.trino.tpcds.distribution.CompiledDistributions.getDistributionDirectory;
+import static java.util.Objects.requireNonNull;
 
 public class Session
 {
-    private final Scaling scaling;
+    private final GenerationContext generationContext;
     private final String targetDirectory;
     private final String suffix;
     private final Optional<Table> table;
@@ -39,6 +43,9 @@ public class Session
     private final int parallelism;
     private final int chunkNumber;
     private final boolean overwrite;
+    private final boolean checkpoint;
+    private final boolean resume;
+    private final Optional<String> tableCacheDirectory;
 
     public Session(double scale, String targetDirectory, String suffix, Optional<Table> table, String nullString, char separator, boolean doNotTerminate, boolean noSexism, int parallelism, boolean overwrite)
     {
@@ -47,7 +54,18 @@ public class Session
 
     public Session(double scale, String targetDirectory, String suffix, Optional<Table> table, String nullString, char separator, boolean doNotTerminate, boolean noSexism, int parallelism, int chunkNumber, boolean overwrite)
     {
-        this.scaling = new Scaling(scale);
+        this(scale, targetDirectory, suffix, table, nullString, separator, doNotTerminate, noSexism, parallelism, chunkNumber, overwrite, DEFAULT_CHECKPOINT, DEFAULT_RESUME);
+    }
+
+    public Session(double scale, String targetDirectory, String suffix, Optional<Table> table, String nullString, char separator, boolean doNotTerminate, boolean noSexism, int parallelism, int chunkNumber, boolean overwrite, boolean checkpoint, boolean resume)
+    {
+        this(GenerationContext.getGenerationContext(scale), targetDirectory, suffix, table, nullString, separator, doNotTerminate, noSexism, parallelism, chunkNumber, overwrite, checkpoint, resume, Optional.empty());
+    }
+
+    // the context is handed on by the withers, so the sessions derived from a session share its context
+    private Session(GenerationContext generationContext, String targetDirectory, String suffix, Optional<Table> table, String nullString, char separator, boolean doNotTerminate, boolean noSexism, int parallelism, int chunkNumber, boolean overwrite, boolean checkpoint, boolean resume, Optional<String> tableCacheDirectory)
+    {
+        this.generationContext = requireNonNull(generationContext, "generationContext is null");
         this.targetDirectory = targetDirectory;
         this.suffix = suffix;
         this.table = table;
@@ -58,6 +76,9 @@ public class Session
         this.parallelism = parallelism;
         this.chunkNumber = chunkNumber;
         this.overwrite = overwrite;
+        this.checkpoint = checkpoint;
+        this.resume = resume;
+        this.tableCacheDirectory = tableCacheDirectory;
     }
 
     public static Session getDefaultSession()
@@ -68,7 +89,7 @@ public class Session
     public Session withTable(Table table)
     {
         return new Session(
-                this.scaling.getScale(),
+                this.generationContext,
                 this.targetDirectory,
                 this.suffix,
                 Optional.of(table),
@@ -78,13 +99,16 @@ public class Session
                 this.noSexism,
                 this.parallelism,
                 this.chunkNumber,
-                this.overwrite);
+                this.overwrite,
+                this.checkpoint,
+                this.resume,
+                this.tableCacheDirectory);
     }
 
     public Session withScale(double scale)
     {
         return new Session(
-                scale,
+                GenerationContext.getGenerationContext(scale),
                 this.targetDirectory,
                 this.suffix,
                 this.table,
@@ -94,13 +118,16 @@ public class Session
                 this.noSexism,
                 this.parallelism,
                 this.chunkNumber,
-                this.overwrite);
+                this.overwrite,
+                this.checkpoint,
+                this.resume,
+                this.tableCacheDirectory);
     }
 
     public Session withParallelism(int parallelism)
     {
         return new Session(
-                this.scaling.getScale(),
+                this.generationContext,
                 this.targetDirectory,
                 this.suffix,
                 this.table,
@@ -110,13 +137,16 @@ public class Session
                 this.noSexism,
                 parallelism,
                 this.chunkNumber,
-                this.overwrite);
+                this.overwrite,
+                this.checkpoint,
+                this.resume,
+                this.tableCacheDirectory);
     }
 
     public Session withChunkNumber(int chunkNumber)
     {
         return new Session(
-                this.scaling.getScale(),
+                this.generationContext,
                 this.targetDirectory,
                 this.suffix,
                 this.table,
@@ -126,13 +156,16 @@ public class Session
                 this.noSexism,
                 this.parallelism,
                 chunkNumber,
-                this.overwrite);
+                this.overwrite,
+                this.checkpoint,
+                this.resume,
+                this.tableCacheDirectory);
     }
 
     public Session withNoSexism(boolean noSexism)
     {
         return new Session(
-                this.scaling.getScale(),
+                this.generationContext,
                 this.targetDirectory,
                 this.suffix,
                 this.table,
@@ -142,12 +175,39 @@ public class Session
                 noSexism,
                 this.parallelism,
                 this.chunkNumber,
-                this.overwrite);
+                this.overwrite,
+                this.checkpoint,
+                this.resume,
+                this.tableCacheDirectory);
+    }
+
+    public Session withTableCacheDirectory(Optional<String> tableCacheDirectory)
+    {
+        return new Session(
+                this.generationContext,
+                this.targetDirectory,
+                this.suffix,
+                this.table,
+                this.nullString,
+                this.separator,
+                this.doNotTerminate,
+                this.noSexism,
+                this.parallelism,
+                this.chunkNumber,
+                this.overwrite,
+                this.checkpoint,
+                this.resume,
+                tableCacheDirectory);
     }
 
     public Scaling getScaling()
     {
-        return scaling;
+        return generationContext.getScaling();
+    }
+
+    public GenerationContext getGenerationContext()
+    {
+        return generationContext;
     }
 
     public String getTargetDirectory()
@@ -208,11 +268,26 @@ public class Session
         return overwrite;
     }
 
+    public boolean shouldCheckpoint()
+    {
+        return checkpoint || resume;
+    }
+
+    public boolean shouldResume()
+    {
+        return resume;
+    }
+
+    public Optional<String> getTableCacheDirectory()
+    {
+        return tableCacheDirectory;
+    }
+
     public String getCommandLineArguments()
     {
         StringBuilder output = new StringBuilder();
-        if (scaling.getScale() != DEFAULT_SCALE) {
-            output.append("--scale ").append(scaling.getScale()).append(" ");
+        if (getScaling().getScale() != DEFAULT_SCALE) {
+            output.append("--scale ").append(getScaling().getScale()).append(" ");
         }
         if (!targetDirectory.equals(DEFAULT_DIRECTORY)) {
             output.append("--directory ").append(targetDirectory).append(" ");
@@ -241,6 +316,18 @@ public class Session
         if (overwrite != DEFAULT_OVERWRITE) {
             output.append("--overwrite ");
         }
+        if (checkpoint != DEFAULT_CHECKPOINT) {
+            output.append("--checkpoint ");
+        }
+        if (resume != DEFAULT_RESUME) {
+            output.append("--resume ");
+        }
+        if (getDistributionDirectory().isPresent()) {
+            output.append("--distribution-directory ").append(getDistributionDirectory().get()).append(" ");
+        }
+        if (tableCacheDirectory.isPresent()) {
+            output.append("--table-cache-directory ").append(tableCacheDirectory.get()).append(" ");
+        }
 
         // remove trailing space
         if (output.length() > 0) {
@@ -0,0 +1,215 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.trino.tpcds.Parallel.ChunkBoundaries;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.trino.tpcds.Table.CUSTOMER_DEMOGRAPHICS;
+import static io.trino.tpcds.Table.DATE_DIM;
+import static io.trino.tpcds.Table.HOUSEHOLD_DEMOGRAPHICS;
+import static io.trino.tpcds.Table.INCOME_BAND;
+import static io.trino.tpcds.Table.REASON;
+import static io.trino.tpcds.Table.SHIP_MODE;
+import static io.trino.tpcds.Table.TIME_DIM;
+import static io.trino.tpcds.distribution.CompiledDistributions.getDistributionDirectory;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Objects.requireNonNull;
+
+// A directory of the files of the small tables whose rows do not depend on the scale. Each file is named after a
+// hash of everything its content depends on: the table, the rows, the formatting options and the version
+// of the generator, which is a hash of the generator's own jar or classes. So a file never needs to be
+// invalidated, and runs that share the directory only ever read complete files. The cache only saves time:
+// when it can not be used, the tables are generated as if there were no cache.
+final class TableCache
+{
+    private static final Logger LOG = Logger.getLogger(TableCache.class.getName());
+
+    private static final Set<Table> SCALE_INDEPENDENT_TABLES = ImmutableSet.of(
+            DATE_DIM,
+            TIME_DIM,
+            INCOME_BAND,
+            SHIP_MODE,
+            REASON,
+            CUSTOMER_DEMOGRAPHICS,
+            HOUSEHOLD_DEMOGRAPHICS);
+
+    // null until computed, and empty when the version of the generator can not be determined
+    private static Optional<String> codeVersion;
+
+    private final Path directory;
+    private final Session session;
+    private final String generatorVersion;
+
+    TableCache(Path directory, Session session, String generatorVersion)
+    {
+        this.directory = requireNonNull(directory, "directory is null");
+        this.session = requireNonNull(session, "session is null");
+        this.generatorVersion = requireNonNull(generatorVersion, "generatorVersion is null");
+    }
+
+    // Distributions replaced from a directory change the tables in ways the key does not capture, so they are not cached
+    static Optional<TableCache> create(Session session)
+    {
+        if (!session.getTableCacheDirectory().isPresent() || getDistributionDirectory().isPresent()) {
+            return Optional.empty();
+        }
+        Path directory = Paths.get(session.getTableCacheDirectory().get());
+        try {
+            Files.createDirectories(directory);
+        }
+        catch (IOException e) {
+            LOG.warning("Not using the table cache, because its directory can not be created: " + e);
+            return Optional.empty();
+        }
+        return getCodeVersion().map(version -> new TableCache(directory, session, version));
+    }
+
+    static boolean isCacheable(Table table)
+    {
+        return SCALE_INDEPENDENT_TABLES.contains(table);
+    }
+
+    // copies the rows of the table to the target file if they are cached, and returns whether they were
+    boolean copyFromCache(Table table, ChunkBoundaries chunkBoundaries, File target)
+    {
+        Path cached = getPath(table, chunkBoundaries);
+        if (!Files.exists(cached)) {
+            return false;
+        }
+        try {
+            copy(cached, target.toPath());
+            return true;
+        }
+        catch (IOException e) {
+            LOG.warning("Generating " + table.getName() + ", because it can not be copied from the table cache: " + e);
+            return false;
+        }
+    }
+
+    // Adds the generated file of the rows of the table, through a temporary file so that no reader sees it partially written.
+    // The table has already been generated, so a failure only means that it stays out of the cache.
+    void addToCache(Table table, ChunkBoundaries chunkBoundaries, File generated)
+    {
+        Path cached = getPath(table, chunkBoundaries);
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(directory, cached.getFileName().toString(), ".tmp");
+            copy(generated.toPath(), temporary);
+            Files.move(temporary, cached, ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            LOG.warning("Unable to add " + table.getName() + " to the table cache: " + e);
+        }
+        finally {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                }
+                catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    Path getPath(Table table, ChunkBoundaries chunkBoundaries)
+    {
+        String key = String.join("\n",
+                generatorVersion,
+                table.getName(),
+                Long.toString(chunkBoundaries.getFirstRow()),
+                Long.toString(chunkBoundaries.getLastRow()),
+                String.valueOf(session.getSeparator()),
+                session.getNullString(),
+                Boolean.toString(session.terminateRowsWithSeparator()),
+                Boolean.toString(session.isSexist()));
+        return directory.resolve(table.getName() + "-" + Hashing.sha256().hashString(key, UTF_8) + ".dat");
+    }
+
+    private static void copy(Path source, Path target)
+            throws IOException
+    {
+        try (FileChannel input = FileChannel.open(source, READ);
+                FileChannel output = FileChannel.open(target, WRITE, TRUNCATE_EXISTING)) {
+            long size = input.size();
+            long position = 0;
+            while (position < size) {
+                position += input.transferTo(position, size - position, output);
+            }
+        }
+    }
+
+    // the hash of the jar or the directory of classes the generator is loaded from, computed once
+    private static synchronized Optional<String> getCodeVersion()
+    {
+        if (codeVersion == null) {
+            CodeSource codeSource = TableCache.class.getProtectionDomain().getCodeSource();
+            codeVersion = codeSource == null ? Optional.empty() : hashCodeSource(codeSource.getLocation());
+            if (!codeVersion.isPresent()) {
+                LOG.warning("Not using the table cache, because the version of the generator can not be determined from " + (codeSource == null ? "its class loader" : codeSource.getLocation()));
+            }
+        }
+        return codeVersion;
+    }
+
+    // empty when the location is not a plain file or directory, for example a jar nested in another one
+    static Optional<String> hashCodeSource(URL location)
+    {
+        try {
+            return Optional.of(hashFiles(Paths.get(location.toURI())));
+        }
+        catch (IOException | URISyntaxException | FileSystemNotFoundException | IllegalArgumentException | SecurityException e) {
+            return Optional.empty();
+        }
+    }
+
+    static String hashFiles(Path location)
+            throws IOException
+    {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(location)) {
+            files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (Path file : files) {
+            hasher.putString(location.relativize(file).toString(), UTF_8);
+            hasher.putBytes(Files.readAllBytes(file));
+        }
+        return hasher.hash().toString();
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+// Appends encoded rows to a data file from a dedicated writer thread. The generating thread fills
+// batches and hands them over through a bounded queue, so it only waits on I/O when the queue is full.
+final class TableFileWriter
+        implements Closeable
+{
+    private static final int BATCH_SIZE = 64 * 1024;
+    private static final int QUEUED_BATCHES = 16;
+    private static final long ENQUEUE_WAIT_MILLIS = 100;
+
+    private final FileOutputStream fileOutputStream;
+    private final CRC32 checksum = new CRC32();
+    private final OutputStream outputStream;
+    private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+    private final Thread writerThread;
+    private final WriteStatistics statistics;
+    private volatile IOException failure;
+
+    private byte[] buffer = new byte[BATCH_SIZE];
+    private int bufferPosition;
+    private boolean closed;
+
+    // appends to the file, which has been truncated to where generation starts
+    TableFileWriter(File file, WriteStatistics statistics)
+            throws IOException
+    {
+        this.statistics = requireNonNull(statistics, "statistics is null");
+        this.fileOutputStream = new FileOutputStream(file, true);
+        this.outputStream = new CheckedOutputStream(fileOutputStream, checksum);
+        this.writerThread = new Thread(this::drainQueue, "tpcds-writer-" + file.getName());
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public void write(String row)
+            throws IOException
+    {
+        byte[] bytes = row.getBytes(ISO_8859_1);
+        write(bytes, 0, bytes.length);
+    }
+
+    // writes already encoded rows
+    public void write(byte[] bytes, int offset, int length)
+            throws IOException
+    {
+        if (bufferPosition + length > buffer.length) {
+            flushBuffer(null);
+            if (length > buffer.length) {
+                buffer = new byte[length];
+            }
+        }
+        System.arraycopy(bytes, offset, buffer, bufferPosition, length);
+        bufferPosition += length;
+    }
+
+    // Completes once everything written so far is on disk. Until then, getLength and getAndResetChecksum must not be called.
+    public CompletableFuture<Void> sync()
+            throws IOException
+    {
+        CompletableFuture<Void> synced = new CompletableFuture<>();
+        flushBuffer(new Batch(new byte[0], 0, synced, false));
+        if (!writerThread.isAlive()) {
+            // the writer thread stopped after the failure check, so nothing will complete the marker
+            synced.completeExceptionally(failure != null ? failure : new IOException("writer thread stopped"));
+        }
+        return synced;
+    }
+
+    public long getLength()
+            throws IOException
+    {
+        return fileOutputStream.getChannel().size();
+    }
+
+    // checksum of the bytes written since the last call
+    public long getAndResetChecksum()
+    {
+        long value = checksum.getValue();
+        checksum.reset();
+        return value;
+    }
+
+    @Override
+    public void close()
+            throws IOException
+    {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        IOException flushFailure = null;
+        try {
+            flushBuffer(new Batch(new byte[0], 0, null, true));
+        }
+        catch (IOException e) {
+            // the last marker may not have been queued, so stop the writer thread instead
+            flushFailure = e;
+            writerThread.interrupt();
+        }
+        try {
+            writerThread.join();
+        }
+        catch (InterruptedException e) {
+            writerThread.interrupt();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while closing writer");
+        }
+        finally {
+            fileOutputStream.close();
+        }
+        if (flushFailure != null) {
+            throw flushFailure;
+        }
+        checkFailure();
+    }
+
+    public static void awaitSync(CompletableFuture<Void> synced)
+            throws IOException
+    {
+        try {
+            synced.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for writer");
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void flushBuffer(Batch marker)
+            throws IOException
+    {
+        checkFailure();
+        try {
+            if (bufferPosition > 0) {
+                statistics.addBytes(bufferPosition);
+                enqueue(new Batch(buffer, bufferPosition, null, false));
+                buffer = new byte[BATCH_SIZE];
+                bufferPosition = 0;
+            }
+            if (marker != null) {
+                enqueue(marker);
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while writing");
+        }
+    }
+
+    private void enqueue(Batch batch)
+            throws IOException, InterruptedException
+    {
+        if (queue.offer(batch)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            // an interrupted writer thread stops taking batches, so keep checking for a failure while waiting
+            while (!queue.offer(batch, ENQUEUE_WAIT_MILLIS, MILLISECONDS)) {
+                checkFailure();
+            }
+        }
+        finally {
+            statistics.addStall(System.nanoTime() - start);
+        }
+    }
+
+    private void checkFailure()
+            throws IOException
+    {
+        IOException exception = failure;
+        if (exception != null) {
+            throw new IOException(exception.getMessage(), exception);
+        }
+    }
+
+    private void drainQueue()
+    {
+        while (true) {
+            Batch batch;
+            try {
+                batch = queue.take();
+            }
+            catch (InterruptedException e) {
+                if (failure == null) {
+                    failure = new InterruptedIOException("writer thread interrupted");
+                }
+                // fail the syncs that will never be written
+                for (Batch queued : queue) {
+                    if (queued.synced != null) {
+                        queued.synced.completeExceptionally(failure);
+                    }
+                }
+                return;
+            }
+
+            // after a failure keep draining so that the generating thread never blocks on a full queue
+            if (failure == null) {
+                try {
+                    outputStream.write(batch.bytes, 0, batch.length);
+                    if (batch.synced != null) {
+                        outputStream.flush();
+                        fileOutputStream.getFD().sync();
+                    }
+                }
+                catch (IOException e) {
+                    failure = e;
+                }
+            }
+
+            if (batch.synced != null) {
+                if (failure == null) {
+                    batch.synced.complete(null);
+                }
+                else {
+                    batch.synced.completeExceptionally(failure);
+                }
+            }
+            if (batch.last) {
+                return;
+            }
+        }
+    }
+
+    private static final class Batch
+    {
+        private final byte[] bytes;
+        private final int length;
+        private final CompletableFuture<Void> synced;
+        private final boolean last;
+
+        private Batch(byte[] bytes, int length, CompletableFuture<Void> synced, boolean last)
+        {
+            this.bytes = bytes;
+            this.length = length;
+            this.synced = synced;
+            this.last = last;
+        }
+    }
+}
@@ -14,15 +14,20 @@
 
 package io.trino.tpcds;
 
+import com.google.common.collect.ImmutableList;
+import io.trino.tpcds.Parallel.ChunkBoundaries;
+
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+import static io.trino.tpcds.BatchGenerator.createBatchGenerator;
+import static io.trino.tpcds.Parallel.splitWork;
 import static io.trino.tpcds.Results.constructResults;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -30,10 +35,26 @@ import static java.util.Objects.requireNonNull;
 public class TableGenerator
 {
     private final Session session;
+    private final WriteStatistics statistics;
+    private final Optional<TableCache> tableCache;
+    private final long checkpointRowsPerUnit;
 
     public TableGenerator(Session session)
+    {
+        this(session, new WriteStatistics());
+    }
+
+    TableGenerator(Session session, WriteStatistics statistics)
+    {
+        this(session, statistics, Checkpoint.ROWS_PER_UNIT);
+    }
+
+    TableGenerator(Session session, WriteStatistics statistics, long checkpointRowsPerUnit)
     {
         this.session = requireNonNull(session, "session is null");
+        this.statistics = requireNonNull(statistics, "statistics is null");
+        this.checkpointRowsPerUnit = checkpointRowsPerUnit;
+        this.tableCache = TableCache.create(session);
     }
 
     public void generateTable(Table table)
@@ -43,31 +64,98 @@ public class TableGenerator
             return;
         }
 
-        try (OutputStreamWriter parentWriter = addFileWriterForTable(table);
-                OutputStreamWriter childWriter = table.hasChild() && !session.generateOnlyOneTable() ? addFileWriterForTable(table.getChild()) : null) {
-            Results results = constructResults(table, session);
-            for (List<List<String>> parentAndChildRows : results) {
-                if (parentAndChildRows.size() > 0) {
-                    writeResults(parentWriter, parentAndChildRows.get(0));
+        List<Table> outputTables = new ArrayList<>(2);
+        outputTables.add(table);
+        if (table.hasChild() && !session.generateOnlyOneTable()) {
+            outputTables.add(table.getChild());
+        }
+
+        ChunkBoundaries chunkBoundaries = splitWork(table, session);
+        try {
+            List<File> files = new ArrayList<>(outputTables.size());
+            for (Table outputTable : outputTables) {
+                files.add(createFileForTable(outputTable));
+            }
+
+            // scale independent tables are copied from the table cache when they have been generated before
+            Optional<TableCache> cache = tableCache.filter(value -> files.size() == 1 && !session.shouldCheckpoint() && TableCache.isCacheable(table));
+            if (cache.isPresent() && cache.get().copyFromCache(table, chunkBoundaries, files.get(0))) {
+                statistics.addBytes(files.get(0).length());
+                return;
+            }
+
+            long firstRow = chunkBoundaries.getFirstRow();
+            long rowsPerUnit = Math.max(1, chunkBoundaries.getLastRow() - firstRow + 1);
+            Checkpoint checkpoint = null;
+            if (session.shouldCheckpoint()) {
+                checkpoint = new Checkpoint(session, checkpointRowsPerUnit);
+                rowsPerUnit = checkpoint.getRowsPerUnit(table, chunkBoundaries);
+                if (session.shouldResume()) {
+                    firstRow = checkpoint.resume(table, chunkBoundaries, files);
                 }
-                if (parentAndChildRows.size() > 1) {
-                    requireNonNull(childWriter, "childWriter is null, but a child row was produced");
-                    writeResults(childWriter, parentAndChildRows.get(1));
+                else {
+                    checkpoint.start(table);
                 }
             }
+
+            // the parent and child files are each written by their own writer thread
+            try (TableFileWriter parentOutput = new TableFileWriter(files.get(0), statistics);
+                    TableFileWriter childOutput = files.size() > 1 ? new TableFileWriter(files.get(1), statistics) : null) {
+                // some tables have a generator that writes their rows without building row objects
+                Optional<BatchGenerator> batchGenerator = createBatchGenerator(table, session, chunkBoundaries.getLastRow());
+                for (long unitFirstRow = firstRow; unitFirstRow <= chunkBoundaries.getLastRow(); unitFirstRow += rowsPerUnit) {
+                    long unitLastRow = Math.min(unitFirstRow + rowsPerUnit - 1, chunkBoundaries.getLastRow());
+                    if (batchGenerator.isPresent()) {
+                        batchGenerator.get().generateRows(unitFirstRow, unitLastRow, parentOutput);
+                    }
+                    else {
+                        Results results = constructResults(table, unitFirstRow, unitLastRow, session);
+                        for (List<List<String>> parentAndChildRows : results) {
+                            if (parentAndChildRows.size() > 0) {
+                                writeResults(parentOutput, parentAndChildRows.get(0));
+                            }
+                            if (parentAndChildRows.size() > 1) {
+                                requireNonNull(childOutput, "childOutput is null, but a child row was produced");
+                                writeResults(childOutput, parentAndChildRows.get(1));
+                            }
+                        }
+                    }
+
+                    if (checkpoint != null) {
+                        List<TableFileWriter> outputs = childOutput != null ? ImmutableList.of(parentOutput, childOutput) : ImmutableList.of(parentOutput);
+                        List<CompletableFuture<Void>> syncs = new ArrayList<>(outputs.size());
+                        for (TableFileWriter output : outputs) {
+                            syncs.add(output.sync());
+                        }
+                        long[] lengths = new long[outputs.size()];
+                        long[] checksums = new long[outputs.size()];
+                        for (int i = 0; i < outputs.size(); i++) {
+                            TableFileWriter output = outputs.get(i);
+                            TableFileWriter.awaitSync(syncs.get(i));
+                            lengths[i] = output.getLength();
+                            checksums[i] = output.getAndResetChecksum();
+                        }
+                        checkpoint.recordUnit(table, unitFirstRow, unitLastRow, lengths, checksums);
+                    }
+                }
+            }
+
+            if (cache.isPresent()) {
+                cache.get().addToCache(table, chunkBoundaries, files.get(0));
+            }
         }
         catch (IOException e) {
             throw new TpcdsException(e.getMessage());
         }
     }
 
-    private OutputStreamWriter addFileWriterForTable(Table table)
+    private File createFileForTable(Table table)
             throws IOException
     {
         String path = getPath(table);
         File file = new File(path);
         boolean newFileCreated = file.createNewFile();
-        if (!newFileCreated) {
+        if (!newFileCreated && !session.shouldResume()) {
             if (session.shouldOverwrite()) {
                 // truncate the file
                 new FileOutputStream(path).close();
@@ -77,7 +165,7 @@ public class TableGenerator
             }
         }
 
-        return new OutputStreamWriter(new FileOutputStream(path, true), StandardCharsets.ISO_8859_1);
+        return file;
     }
 
     private String getPath(Table table)
@@ -100,7 +188,7 @@ public class TableGenerator
                 session.getSuffix());
     }
 
-    private void writeResults(Writer writer, List<String> values)
+    private void writeResults(TableFileWriter writer, List<String> values)
             throws IOException
     {
         writer.write(formatRow(values, session));
@@ -0,0 +1,44 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Bytes handed to the writer threads, and the time generating threads spent waiting because a writer fell behind
+final class WriteStatistics
+{
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder stallNanos = new LongAdder();
+
+    public void addBytes(long count)
+    {
+        bytes.add(count);
+    }
+
+    public void addStall(long nanos)
+    {
+        stallNanos.add(nanos);
+    }
+
+    public long getBytes()
+    {
+        return bytes.sum();
+    }
+
+    public long getStallNanos()
+    {
+        return stallNanos.sum();
+    }
+}
@@ -42,6 +42,11 @@ public final class AddressDistributions
         return CITIES_DISTRIBUTION.pickRandomValue(0, citiesWeights.ordinal(), stream);
     }
 
+    public static int pickRandomCityIndex(CitiesWeights citiesWeights, RandomNumberStream stream)
+    {
+        return CITIES_DISTRIBUTION.pickRandomIndex(citiesWeights.ordinal(), stream);
+    }
+
     public static String pickRandomCountry(RandomNumberStream stream)
     {
         return COUNTRIES_DISTRIBUTION.pickRandomValue(0, 0, stream);
@@ -52,6 +57,11 @@ public final class AddressDistributions
         return CITIES_DISTRIBUTION.getValueAtIndex(0, index);
     }
 
+    public static int getCityCount()
+    {
+        return CITIES_DISTRIBUTION.getSize();
+    }
+
     public enum StreetNamesWeights
     {
         DEFAULT,
@@ -15,19 +15,21 @@
 package io.trino.tpcds.distribution;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
 import io.trino.tpcds.distribution.DistributionUtils.WeightsBuilder;
 import io.trino.tpcds.random.RandomNumberStream;
 import io.trino.tpcds.type.Date;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
-import static io.trino.tpcds.distribution.DistributionUtils.getDistributionIterator;
-import static io.trino.tpcds.distribution.DistributionUtils.getListFromCommaSeparatedValues;
+import static io.trino.tpcds.distribution.CompiledDistributions.loadDistributionFile;
+import static io.trino.tpcds.distribution.DistributionUtils.getIndexForWeight;
 import static io.trino.tpcds.distribution.DistributionUtils.getWeightForIndex;
-import static io.trino.tpcds.distribution.DistributionUtils.pickRandomValue;
+import static io.trino.tpcds.distribution.DistributionUtils.pickRandomIndex;
 import static io.trino.tpcds.type.Date.isLeapYear;
 import static java.lang.Integer.parseInt;
 
@@ -38,12 +40,12 @@ public class CalendarDistribution
     private static final int[][] DAYS_BEFORE_MONTH = {{0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334}, {0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335}};
     private static final CalendarDistribution CALENDAR_DISTRIBUTION = buildCalendarDistribution();
 
-    private final ImmutableList<Integer> daysOfYear; // ordinal for the day of year.  Numbering is consistent across leap years and non-leap years   For example, March 1st will always be 61.
-    private final ImmutableList<Integer> quarters;
-    private final ImmutableList<Integer> holidayFlags;
-    private final ImmutableList<ImmutableList<Integer>> weightLists;
+    private final int[] daysOfYear; // ordinal for the day of year.  Numbering is consistent across leap years and non-leap years   For example, March 1st will always be 61.
+    private final int[] quarters;
+    private final int[] holidayFlags;
+    private final int[][] weightLists;
 
-    private CalendarDistribution(ImmutableList<Integer> daysOfYear, ImmutableList<Integer> quarters, ImmutableList<Integer> holidayFlags, ImmutableList<ImmutableList<Integer>> weightLists)
+    private CalendarDistribution(int[] daysOfYear, int[] quarters, int[] holidayFlags, int[][] weightLists)
     {
         this.daysOfYear = daysOfYear;
         this.quarters = quarters;
@@ -62,12 +64,9 @@ public class CalendarDistribution
             weightsBuilders.add(new WeightsBuilder());
         }
 
-        Iterator<List<String>> iterator = getDistributionIterator(VALUES_AND_WEIGHTS_FILENAME);
-        while (iterator.hasNext()) {
-            List<String> fields = iterator.next();
-            checkState(fields.size() == 2, "Expected line to contain 2 parts but it contains %d: %s", fields.size(), fields);
-
-            List<String> values = getListFromCommaSeparatedValues(fields.get(0));
+        DistributionFile distributionFile = loadDistributionFile(VALUES_AND_WEIGHTS_FILENAME);
+        for (int line = 0; line < distributionFile.getLineCount(); line++) {
+            List<String> values = Arrays.asList(distributionFile.getValues(line));
             checkState(values.size() == 8, "Expected line to contain 8 values, but it contained %d, %s", values.size(), values);
 
             // month names, days of month, seasons, month numbers, and firsts of month are never used, so we ignore them
@@ -75,22 +74,22 @@ public class CalendarDistribution
             quartersBuilder.add(parseInt(values.get(5)));
             holidayFlagsBuilder.add(parseInt(values.get(7)));
 
-            List<String> weights = getListFromCommaSeparatedValues(fields.get(1));
-            checkState(weights.size() == NUM_WEIGHT_FIELDS, "Expected line to contain %d weights, but it contained %d, %s", NUM_WEIGHT_FIELDS, weights.size(), values);
-            for (int i = 0; i < weights.size(); i++) {
-                weightsBuilders.get(i).computeAndAddNextWeight(parseInt(weights.get(i)));
+            int[] weights = distributionFile.getWeights(line);
+            checkState(weights.length == NUM_WEIGHT_FIELDS, "Expected line to contain %d weights, but it contained %d, %s", NUM_WEIGHT_FIELDS, weights.length, values);
+            for (int i = 0; i < weights.length; i++) {
+                weightsBuilders.get(i).computeAndAddNextWeight(weights[i]);
             }
         }
 
-        ImmutableList.Builder<ImmutableList<Integer>> weightsListBuilder = ImmutableList.<ImmutableList<Integer>>builder();
-        for (WeightsBuilder weightsBuilder : weightsBuilders) {
-            weightsListBuilder.add(weightsBuilder.build());
+        int[][] weightsLists = new int[NUM_WEIGHT_FIELDS][];
+        for (int i = 0; i < NUM_WEIGHT_FIELDS; i++) {
+            weightsLists[i] = weightsBuilders.get(i).build();
         }
 
-        return new CalendarDistribution(daysOfYearBuilder.build(),
-                quartersBuilder.build(),
-                holidayFlagsBuilder.build(),
-                weightsListBuilder.build());
+        return new CalendarDistribution(Ints.toArray(daysOfYearBuilder.build()),
+                Ints.toArray(quartersBuilder.build()),
+                Ints.toArray(holidayFlagsBuilder.build()),
+                weightsLists);
     }
 
     public static int getIndexForDate(Date date)
@@ -100,12 +99,12 @@ public class CalendarDistribution
 
     public static int getQuarterAtIndex(int index)
     {
-        return CALENDAR_DISTRIBUTION.quarters.get(index - 1); // number passed in is a 1-based index
+        return CALENDAR_DISTRIBUTION.quarters[index - 1]; // number passed in is a 1-based index
     }
 
     public static int getIsHolidayFlagAtIndex(int index)
     {
-        return CALENDAR_DISTRIBUTION.holidayFlags.get(index - 1); // number passed in is a 1-based index
+        return CALENDAR_DISTRIBUTION.holidayFlags[index - 1]; // number passed in is a 1-based index
     }
 
     public static int getWeightForDayNumber(int dayNumber, Weights weights)
@@ -113,20 +112,37 @@ public class CalendarDistribution
         return getWeightForIndex(dayNumber, getWeights(weights));
     }
 
+    // the sum of the weights of the day numbers from firstDayNumber through lastDayNumber
+    public static int getWeightSumForDayNumbers(int firstDayNumber, int lastDayNumber, Weights weights)
+    {
+        int[] weightsList = getWeights(weights);
+        checkArgument(firstDayNumber > 0 && firstDayNumber <= lastDayNumber + 1, "invalid day numbers %s through %s", firstDayNumber, lastDayNumber);
+        checkArgument(lastDayNumber < weightsList.length, "index larger than distribution");
+        return weightsList[lastDayNumber] - weightsList[firstDayNumber - 1];
+    }
+
+    // the first day number at which the sum of the weights from firstDayNumber reaches weightSum
+    public static int getDayNumberForWeightSum(int firstDayNumber, int weightSum, Weights weights)
+    {
+        int[] weightsList = getWeights(weights);
+        checkArgument(firstDayNumber > 0 && weightSum > 0, "invalid day number %s or weight sum %s", firstDayNumber, weightSum);
+        return getIndexForWeight(weightsList[firstDayNumber - 1] + weightSum, weightsList);
+    }
+
     public static int getMaxWeight(Weights weights)
     {
-        ImmutableList<Integer> weightsList = getWeights(weights);
-        return weightsList.get(weightsList.size() - 1);
+        int[] weightsList = getWeights(weights);
+        return weightsList[weightsList.length - 1];
     }
 
     public static int pickRandomDayOfYear(Weights weights, RandomNumberStream stream)
     {
-        return pickRandomValue(CALENDAR_DISTRIBUTION.daysOfYear, getWeights(weights), stream);
+        return CALENDAR_DISTRIBUTION.daysOfYear[pickRandomIndex(getWeights(weights), stream)];
     }
 
-    private static ImmutableList<Integer> getWeights(Weights weights)
+    private static int[] getWeights(Weights weights)
     {
-        return CALENDAR_DISTRIBUTION.weightLists.get(weights.ordinal());
+        return CALENDAR_DISTRIBUTION.weightLists[weights.ordinal()];
     }
 
     public enum Weights
@@ -15,15 +15,15 @@
 package io.trino.tpcds.distribution;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
 import io.trino.tpcds.distribution.DistributionUtils.WeightsBuilder;
 import io.trino.tpcds.random.RandomNumberStream;
 
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkState;
-import static io.trino.tpcds.distribution.DistributionUtils.getDistributionIterator;
-import static io.trino.tpcds.distribution.DistributionUtils.getListFromCommaSeparatedValues;
+import static io.trino.tpcds.distribution.CompiledDistributions.loadDistributionFile;
 import static java.lang.Integer.parseInt;
 
 public class CategoriesDistribution
@@ -32,11 +32,11 @@ public class CategoriesDistribution
     private static final String VALUES_AND_WEIGHTS_FILENAME = "categories.dst";
     private static final CategoriesDistribution CATEGORIES_DISTRIBUTION = buildCategoriesDistribution();
 
-    private final ImmutableList<String> names;
-    private final ImmutableList<Integer> hasSizes;
-    private final ImmutableList<Integer> weights;
+    private final String[] names;
+    private final int[] hasSizes;
+    private final int[] weights;
 
-    private CategoriesDistribution(ImmutableList<String> names, ImmutableList<Integer> hasSizes, ImmutableList<Integer> weights)
+    private CategoriesDistribution(String[] names, int[] hasSizes, int[] weights)
     {
         this.names = names;
         this.hasSizes = hasSizes;
@@ -49,25 +49,22 @@ public class CategoriesDistribution
         ImmutableList.Builder<Integer> hasSizesBuilder = ImmutableList.builder();
         WeightsBuilder weightsBuilder = new WeightsBuilder();
 
-        Iterator<List<String>> iterator = getDistributionIterator(VALUES_AND_WEIGHTS_FILENAME);
-        while (iterator.hasNext()) {
-            List<String> fields = iterator.next();
-            checkState(fields.size() == 2, "Expected line to contain 2 parts but it contains %d: %s", fields.size(), fields);
-
-            List<String> values = getListFromCommaSeparatedValues(fields.get(0));
+        DistributionFile distributionFile = loadDistributionFile(VALUES_AND_WEIGHTS_FILENAME);
+        for (int line = 0; line < distributionFile.getLineCount(); line++) {
+            List<String> values = Arrays.asList(distributionFile.getValues(line));
             checkState(values.size() == 3, "Expected line to contain 3 values, but it contained %d, %s", values.size(), values);
 
             namesBuilder.add(values.get(0));
             // we don't add the class distribution names because they are unused
             hasSizesBuilder.add(parseInt(values.get(2)));
 
-            List<String> weights = getListFromCommaSeparatedValues(fields.get(1));
-            checkState(weights.size() == NUM_WEIGHT_FIELDS, "Expected line to contain %d weights, but it contained %d, %s", NUM_WEIGHT_FIELDS, weights.size(), values);
-            weightsBuilder.computeAndAddNextWeight(parseInt(weights.get(0)));
+            int[] weights = distributionFile.getWeights(line);
+            checkState(weights.length == NUM_WEIGHT_FIELDS, "Expected line to contain %d weights, but it contained %d, %s", NUM_WEIGHT_FIELDS, weights.length, values);
+            weightsBuilder.computeAndAddNextWeight(weights[0]);
         }
 
-        return new CategoriesDistribution(namesBuilder.build(),
-                hasSizesBuilder.build(),
+        return new CategoriesDistribution(namesBuilder.build().toArray(new String[0]),
+                Ints.toArray(hasSizesBuilder.build()),
                 weightsBuilder.build());
     }
 
@@ -78,11 +75,11 @@ public class CategoriesDistribution
 
     public static String getCategoryAtIndex(int index)
     {
-        return CATEGORIES_DISTRIBUTION.names.get(index);
+        return CATEGORIES_DISTRIBUTION.names[index];
     }
 
     public static int getHasSizeAtIndex(int index)
     {
-        return CATEGORIES_DISTRIBUTION.hasSizes.get(index);
+        return CATEGORIES_DISTRIBUTION.hasSizes[index];
     }
 }
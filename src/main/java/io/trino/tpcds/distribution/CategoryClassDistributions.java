@@ -15,17 +15,17 @@
 package io.trino.tpcds.distribution;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
 import io.trino.tpcds.distribution.DistributionUtils.WeightsBuilder;
 import io.trino.tpcds.random.RandomNumberStream;
 
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static io.trino.tpcds.distribution.CategoryClassDistributions.CategoryClassDistribution.buildCategoryClassDistribution;
-import static io.trino.tpcds.distribution.DistributionUtils.getDistributionIterator;
-import static io.trino.tpcds.distribution.DistributionUtils.getListFromCommaSeparatedValues;
+import static io.trino.tpcds.distribution.CompiledDistributions.loadDistributionFile;
 import static java.lang.Integer.parseInt;
 
 public final class CategoryClassDistributions
@@ -52,11 +52,11 @@ public final class CategoryClassDistributions
 
     public static class CategoryClassDistribution
     {
-        private final ImmutableList<String> names;
-        private final ImmutableList<Integer> brandCounts;
-        private final ImmutableList<Integer> weights;
+        private final String[] names;
+        private final int[] brandCounts;
+        private final int[] weights;
 
-        public CategoryClassDistribution(ImmutableList<String> names, ImmutableList<Integer> brandCounts, ImmutableList<Integer> weights)
+        public CategoryClassDistribution(String[] names, int[] brandCounts, int[] weights)
         {
             this.names = names;
             this.brandCounts = brandCounts;
@@ -69,31 +69,28 @@ public final class CategoryClassDistributions
             ImmutableList.Builder<Integer> brandCountsBuilder = ImmutableList.builder();
             WeightsBuilder weightsBuilder = new WeightsBuilder();
 
-            Iterator<List<String>> iterator = getDistributionIterator(filename);
-            while (iterator.hasNext()) {
-                List<String> fields = iterator.next();
-                checkState(fields.size() == 2, "Expected line to contain 2 parts but it contains %d: %s", fields.size(), fields);
-
-                List<String> values = getListFromCommaSeparatedValues(fields.get(0));
+            DistributionFile distributionFile = loadDistributionFile(filename);
+            for (int line = 0; line < distributionFile.getLineCount(); line++) {
+                List<String> values = Arrays.asList(distributionFile.getValues(line));
                 checkState(values.size() == 2, "Expected line to contain 2 values, but it contained %d, %s", values.size(), values);
 
                 namesBuilder.add(values.get(0));
                 brandCountsBuilder.add(parseInt(values.get(1)));
 
-                List<String> weights = getListFromCommaSeparatedValues(fields.get(1));
-                checkState(weights.size() == 1, "Expected line to contain %d weights, but it contained %d, %s", 1, weights.size(), values);
-                weightsBuilder.computeAndAddNextWeight(parseInt(weights.get(0)));
+                int[] weights = distributionFile.getWeights(line);
+                checkState(weights.length == 1, "Expected line to contain %d weights, but it contained %d, %s", 1, weights.length, values);
+                weightsBuilder.computeAndAddNextWeight(weights[0]);
             }
 
-            return new CategoryClassDistribution(namesBuilder.build(),
-                    brandCountsBuilder.build(),
+            return new CategoryClassDistribution(namesBuilder.build().toArray(new String[0]),
+                    Ints.toArray(brandCountsBuilder.build()),
                     weightsBuilder.build());
         }
 
         public CategoryClass pickRandomCategoryClass(RandomNumberStream stream)
         {
             int index = DistributionUtils.pickRandomIndex(weights, stream);
-            return new CategoryClass(index + 1, names.get(index), brandCounts.get(index));
+            return new CategoryClass(index + 1, names[index], brandCounts[index]);
         }
     }
 
@@ -0,0 +1,319 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.distribution;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Resources;
+import io.trino.tpcds.TpcdsException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.distribution.DistributionFile.parseDistributionFile;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The distribution files compiled at build time into a single binary resource, so that they are
+ * loaded with one read instead of parsing the text of each file. The .dst text files remain the
+ * source of truth: the resource is regenerated from them by {@link #main} during the build, and
+ * records a hash of the files it was compiled from. When it is missing, or the files on the class
+ * path no longer match the hash (for example after editing a file in an IDE), a warning is logged
+ * and the text files are parsed instead.
+ */
+public final class CompiledDistributions
+{
+    static final String RESOURCE_NAME = "distributions.bin";
+    private static final String DISTRIBUTION_FILE_SUFFIX = ".dst";
+    private static final int MAGIC = 0x54504453; // "TPDS"
+    private static final int VERSION = 2;
+    private static final Logger LOG = Logger.getLogger(CompiledDistributions.class.getName());
+
+    // a directory of user-supplied distribution files that replace the built-in ones with the same name
+    private static volatile Path distributionDirectory;
+    private static volatile boolean loaded;
+
+    private CompiledDistributions() {}
+
+    /**
+     * Replaces the built-in distribution files with the files of the same name in the given directory.
+     * The generated data is no longer TPC-DS compliant. This must be called before any distribution is
+     * used, since the distributions are loaded once when their classes are initialized.
+     */
+    public static synchronized void setDistributionDirectory(Path directory)
+    {
+        requireNonNull(directory, "directory is null");
+        if (loaded) {
+            throw new TpcdsException("The distribution directory must be set before any distribution is loaded");
+        }
+        checkOverrides(directory);
+        distributionDirectory = directory;
+    }
+
+    // the directory set by setDistributionDirectory, if any
+    public static Optional<Path> getDistributionDirectory()
+    {
+        return Optional.ofNullable(distributionDirectory);
+    }
+
+    static DistributionFile loadDistributionFile(String filename)
+    {
+        loaded = true;
+        return loadDistributionFile(filename, Optional.ofNullable(distributionDirectory));
+    }
+
+    static DistributionFile loadDistributionFile(String filename, Optional<Path> directory)
+    {
+        if (directory.isPresent()) {
+            Path override = directory.get().resolve(filename);
+            if (Files.isRegularFile(override)) {
+                try {
+                    return parseDistributionFile(filename, override.toUri().toURL());
+                }
+                catch (MalformedURLException e) {
+                    throw new TpcdsException("Invalid distribution file path: " + override);
+                }
+            }
+        }
+
+        Map<String, DistributionFile> distributionFiles = Holder.DISTRIBUTION_FILES;
+        if (distributionFiles == null) {
+            return parseDistributionFile(filename);
+        }
+        DistributionFile distributionFile = distributionFiles.get(filename);
+        if (distributionFile == null) {
+            LOG.warning("Distribution file '" + filename + "' is not in " + RESOURCE_NAME + ", parsing the text file instead");
+            return parseDistributionFile(filename);
+        }
+        return distributionFile;
+    }
+
+    // every distribution file in the directory must replace a built-in one, so that a misspelled name is not silently ignored
+    static void checkOverrides(Path directory)
+    {
+        if (!Files.isDirectory(directory)) {
+            throw new TpcdsException("Distribution directory does not exist: " + directory);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + DISTRIBUTION_FILE_SUFFIX)) {
+            for (Path file : files) {
+                String filename = file.getFileName().toString();
+                if (DistributionUtils.class.getResource(filename) == null) {
+                    throw new TpcdsException("Distribution file '" + filename + "' in " + directory + " does not replace a built-in distribution file");
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Compiles the distribution files in the given directory, which must also be on the class path, into the binary resource next to them
+    public static void main(String[] args)
+            throws IOException
+    {
+        checkArgument(args.length == 1, "Usage: CompiledDistributions <distribution directory>");
+        File directory = new File(args[0]);
+        String[] filenames = directory.list((dir, name) -> name.endsWith(DISTRIBUTION_FILE_SUFFIX));
+        checkArgument(filenames != null && filenames.length > 0, "No distribution files in %s", directory);
+        Arrays.sort(filenames);
+
+        Map<String, DistributionFile> distributionFiles = new LinkedHashMap<>();
+        for (String filename : filenames) {
+            distributionFiles.put(filename, parseDistributionFile(filename));
+        }
+        try (OutputStream output = Files.newOutputStream(new File(directory, RESOURCE_NAME).toPath())) {
+            writeDistributionFiles(distributionFiles, hashDistributionFiles(distributionFiles.keySet()), output);
+        }
+    }
+
+    // a hash of the names and contents of the distribution files on the class path, in the given order
+    static String hashDistributionFiles(Collection<String> filenames)
+            throws IOException
+    {
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (String filename : filenames) {
+            hasher.putString(filename, UTF_8);
+            URL resource = DistributionUtils.class.getResource(filename);
+            if (resource == null) {
+                hasher.putInt(-1);
+                continue;
+            }
+            byte[] contents = Resources.toByteArray(resource);
+            hasher.putInt(contents.length);
+            hasher.putBytes(contents);
+        }
+        return hasher.hash().toString();
+    }
+
+    // The format is the hash of the source files, a table of all distinct strings, and the files, whose values refer to the string table by index
+    static void writeDistributionFiles(Map<String, DistributionFile> distributionFiles, String sourceHash, OutputStream outputStream)
+            throws IOException
+    {
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> stringIndexes = new HashMap<>();
+        for (DistributionFile distributionFile : distributionFiles.values()) {
+            for (int line = 0; line < distributionFile.getLineCount(); line++) {
+                for (String value : distributionFile.getValues(line)) {
+                    stringIndexes.computeIfAbsent(value, key -> {
+                        strings.add(key);
+                        return strings.size() - 1;
+                    });
+                }
+            }
+        }
+
+        DataOutputStream output = new DataOutputStream(outputStream);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeUTF(sourceHash);
+        writeVarInt(output, strings.size());
+        for (String string : strings) {
+            output.writeUTF(string);
+        }
+
+        writeVarInt(output, distributionFiles.size());
+        for (Map.Entry<String, DistributionFile> entry : distributionFiles.entrySet()) {
+            DistributionFile distributionFile = entry.getValue();
+            output.writeUTF(entry.getKey());
+            writeVarInt(output, distributionFile.getLineCount());
+            for (int line = 0; line < distributionFile.getLineCount(); line++) {
+                String[] values = distributionFile.getValues(line);
+                writeVarInt(output, values.length);
+                for (String value : values) {
+                    writeVarInt(output, stringIndexes.get(value));
+                }
+                int[] weights = distributionFile.getWeights(line);
+                writeVarInt(output, weights.length);
+                for (int weight : weights) {
+                    writeVarInt(output, weight);
+                }
+            }
+        }
+        output.flush();
+    }
+
+    // empty when the bytes were written by another version, or from files that differ from the ones on the class path
+    static Optional<Map<String, DistributionFile>> readDistributionFiles(byte[] bytes)
+            throws IOException
+    {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            return Optional.empty();
+        }
+        String sourceHash = input.readUTF();
+
+        String[] strings = new String[readVarInt(input)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = input.readUTF();
+        }
+
+        int fileCount = readVarInt(input);
+        ImmutableMap.Builder<String, DistributionFile> distributionFiles = ImmutableMap.builder();
+        for (int file = 0; file < fileCount; file++) {
+            String filename = input.readUTF();
+            String[][] values = new String[readVarInt(input)][];
+            int[][] weights = new int[values.length][];
+            for (int line = 0; line < values.length; line++) {
+                values[line] = new String[readVarInt(input)];
+                for (int i = 0; i < values[line].length; i++) {
+                    values[line][i] = strings[readVarInt(input)];
+                }
+                weights[line] = new int[readVarInt(input)];
+                for (int i = 0; i < weights[line].length; i++) {
+                    weights[line][i] = readVarInt(input);
+                }
+            }
+            distributionFiles.put(filename, new DistributionFile(values, weights));
+        }
+        Map<String, DistributionFile> result = distributionFiles.build();
+        if (!hashDistributionFiles(result.keySet()).equals(sourceHash)) {
+            return Optional.empty();
+        }
+        return Optional.of(result);
+    }
+
+    // counts, string indexes and weights are small and never negative, so they are written seven bits per byte
+    private static void writeVarInt(DataOutputStream output, int value)
+            throws IOException
+    {
+        checkArgument(value >= 0, "value is negative: %s", value);
+        while (value >= 0x80) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream input)
+            throws IOException
+    {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if (b < 0x80) {
+                return value;
+            }
+        }
+    }
+
+    private static final class Holder
+    {
+        // null when the resource was not built or is out of date, in which case the text files are parsed
+        private static final Map<String, DistributionFile> DISTRIBUTION_FILES = readResource();
+
+        private static Map<String, DistributionFile> readResource()
+        {
+            URL resource = CompiledDistributions.class.getResource(RESOURCE_NAME);
+            if (resource == null) {
+                LOG.warning(RESOURCE_NAME + " was not found, parsing the distribution text files instead");
+                return null;
+            }
+            try {
+                Optional<Map<String, DistributionFile>> distributionFiles = readDistributionFiles(Resources.toByteArray(resource));
+                if (!distributionFiles.isPresent()) {
+                    LOG.warning(RESOURCE_NAME + " was not compiled from the distribution files on the class path, parsing the text files instead");
+                    return null;
+                }
+                return distributionFiles.get();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
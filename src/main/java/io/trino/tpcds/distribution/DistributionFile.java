@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.distribution;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkState;
+import static io.trino.tpcds.distribution.DistributionUtils.getDistributionIterator;
+import static io.trino.tpcds.distribution.DistributionUtils.getListFromCommaSeparatedValues;
+
+/**
+ * The parsed lines of a distribution file: the values and the (non-cumulative) weights of each line.
+ */
+final class DistributionFile
+{
+    private final String[][] values;
+    private final int[][] weights;
+
+    DistributionFile(String[][] values, int[][] weights)
+    {
+        checkState(values.length == weights.length, "values and weights have different numbers of lines");
+        this.values = values;
+        this.weights = weights;
+    }
+
+    static DistributionFile parseDistributionFile(String filename)
+    {
+        return parseDistributionFile(filename, getDistributionIterator(filename));
+    }
+
+    static DistributionFile parseDistributionFile(String filename, URL resource)
+    {
+        return parseDistributionFile(filename, getDistributionIterator(resource));
+    }
+
+    private static DistributionFile parseDistributionFile(String filename, Iterator<List<String>> iterator)
+    {
+        List<String[]> valuesBuilder = new ArrayList<>();
+        List<int[]> weightsBuilder = new ArrayList<>();
+
+        while (iterator.hasNext()) {
+            List<String> fields = iterator.next();
+            checkState(fields.size() == 2, "Expected line of %s to contain 2 parts but it contains %s: %s", filename, fields.size(), fields);
+
+            valuesBuilder.add(getListFromCommaSeparatedValues(fields.get(0)).toArray(new String[0]));
+            weightsBuilder.add(getListFromCommaSeparatedValues(fields.get(1)).stream()
+                    .mapToInt(Integer::parseInt)
+                    .toArray());
+        }
+
+        return new DistributionFile(valuesBuilder.toArray(new String[0][]), weightsBuilder.toArray(new int[0][]));
+    }
+
+    public int getLineCount()
+    {
+        return values.length;
+    }
+
+    public String[] getValues(int line)
+    {
+        return values[line];
+    }
+
+    public int[] getWeights(int line)
+    {
+        return weights[line];
+    }
+}
@@ -18,6 +18,7 @@ import com.google.common.base.Splitter;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Resources;
+import com.google.common.primitives.Ints;
 import io.trino.tpcds.TpcdsException;
 import io.trino.tpcds.random.RandomNumberStream;
 
@@ -53,9 +54,9 @@ public final class DistributionUtils
             return this;
         }
 
-        public ImmutableList<Integer> build()
+        public int[] build()
         {
-            return weightsBuilder.build();
+            return Ints.toArray(weightsBuilder.build());
         }
     }
 
@@ -63,6 +64,11 @@ public final class DistributionUtils
     {
         URL resource = Resources.getResource(DistributionUtils.class, filename);
         checkState(resource != null, "Distribution file '%s' not found", filename);
+        return getDistributionIterator(resource);
+    }
+
+    protected static Iterator<List<String>> getDistributionIterator(URL resource)
+    {
         try {
             // get an iterator that iterates over lists of the colon separated values from the distribution files
             return transform(
@@ -82,51 +88,49 @@ public final class DistributionUtils
         return values.stream().map(value -> value.replaceAll("\\\\", "")).collect(Collectors.toList());
     }
 
-    protected static <T> T pickRandomValue(List<T> values, List<Integer> weights, RandomNumberStream randomNumberStream)
+    protected static <T> T pickRandomValue(T[] values, int[] weights, RandomNumberStream randomNumberStream)
     {
-        int weight = generateUniformRandomInt(1, weights.get(weights.size() - 1), randomNumberStream);
-        return getValueForWeight(weight, values, weights);
+        checkArgument(values.length == weights.length);
+        return values[pickRandomIndex(weights, randomNumberStream)];
     }
 
-    private static <T> T getValueForWeight(int weight, List<T> values, List<Integer> weights)
+    protected static <T> T getValueForIndexModSize(long index, T[] values)
     {
-        checkArgument(values.size() == weights.size());
-        for (int index = 0; index < weights.size(); index++) {
-            if (weight <= weights.get(index)) {
-                return values.get(index);
-            }
-        }
-
-        throw new TpcdsException("random weight was greater than max weight");
-    }
-
-    protected static <T> T getValueForIndexModSize(long index, List<T> values)
-    {
-        int size = values.size();
+        int size = values.length;
         int indexModSize = (int) (index % size);
-        return values.get(indexModSize);
+        return values[indexModSize];
     }
 
-    protected static int pickRandomIndex(List<Integer> weights, RandomNumberStream randomNumberStream)
+    protected static int pickRandomIndex(int[] weights, RandomNumberStream randomNumberStream)
     {
-        int weight = generateUniformRandomInt(1, weights.get(weights.size() - 1), randomNumberStream);
+        int weight = generateUniformRandomInt(1, weights[weights.length - 1], randomNumberStream);
         return getIndexForWeight(weight, weights);
     }
 
-    private static int getIndexForWeight(int weight, List<Integer> weights)
+    // the weights are cumulative and never decrease, so a binary search finds the first index whose weight is at least the given weight
+    protected static int getIndexForWeight(int weight, int[] weights)
     {
-        for (int index = 0; index < weights.size(); index++) {
-            if (weight <= weights.get(index)) {
-                return index;
+        int low = 0;
+        int high = weights.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (weights[middle] < weight) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
             }
         }
 
-        throw new TpcdsException("random weight was greater than max weight");
+        if (low == weights.length) {
+            throw new TpcdsException("random weight was greater than max weight");
+        }
+        return low;
     }
 
-    protected static int getWeightForIndex(int index, List<Integer> weights)
+    protected static int getWeightForIndex(int index, int[] weights)
     {
-        checkArgument(index < weights.size(), "index larger than distribution");
-        return index == 0 ? weights.get(index) : weights.get(index) - weights.get(index - 1);  // reverse the accumulation of weights.
+        checkArgument(index < weights.length, "index larger than distribution");
+        return index == 0 ? weights[index] : weights[index] - weights[index - 1];  // reverse the accumulation of weights.
     }
 }
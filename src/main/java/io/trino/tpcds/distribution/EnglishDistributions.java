@@ -20,16 +20,16 @@ import static io.trino.tpcds.distribution.StringValuesDistribution.buildStringVa
 
 public final class EnglishDistributions
 {
-    private static final StringValuesDistribution ADJECTIVES_DISTRIBUTION = buildStringValuesDistribution("adjectives.dst", 1, 1);
-    private static final StringValuesDistribution ADVERBS_DISTRIBUTION = buildStringValuesDistribution("adverbs.dst", 1, 1);
-    private static final StringValuesDistribution ARTICLES_DISTRIBUTION = buildStringValuesDistribution("articles.dst", 1, 1);
-    private static final StringValuesDistribution AUXILIARIES_DISTRIBUTION = buildStringValuesDistribution("auxiliaries.dst", 1, 1);
-    private static final StringValuesDistribution PREPOSITIONS_DISTRIBUTION = buildStringValuesDistribution("prepositions.dst", 1, 1);
-    private static final StringValuesDistribution NOUNS_DISTRIBUTION = buildStringValuesDistribution("nouns.dst", 1, 1);
-    private static final StringValuesDistribution SENTENCES_DISTRIBUTION = buildStringValuesDistribution("sentences.dst", 1, 1);
+    static final StringValuesDistribution ADJECTIVES_DISTRIBUTION = buildStringValuesDistribution("adjectives.dst", 1, 1);
+    static final StringValuesDistribution ADVERBS_DISTRIBUTION = buildStringValuesDistribution("adverbs.dst", 1, 1);
+    static final StringValuesDistribution ARTICLES_DISTRIBUTION = buildStringValuesDistribution("articles.dst", 1, 1);
+    static final StringValuesDistribution AUXILIARIES_DISTRIBUTION = buildStringValuesDistribution("auxiliaries.dst", 1, 1);
+    static final StringValuesDistribution PREPOSITIONS_DISTRIBUTION = buildStringValuesDistribution("prepositions.dst", 1, 1);
+    static final StringValuesDistribution NOUNS_DISTRIBUTION = buildStringValuesDistribution("nouns.dst", 1, 1);
+    static final StringValuesDistribution SENTENCES_DISTRIBUTION = buildStringValuesDistribution("sentences.dst", 1, 1);
     public static final StringValuesDistribution SYLLABLES_DISTRIBUTION = buildStringValuesDistribution("syllables.dst", 1, 1);
-    private static final StringValuesDistribution TERMINATORS_DISTRIBUTION = buildStringValuesDistribution("terminators.dst", 1, 1);
-    private static final StringValuesDistribution VERBS_DISTRIBUTION = buildStringValuesDistribution("verbs.dst", 1, 1);
+    static final StringValuesDistribution TERMINATORS_DISTRIBUTION = buildStringValuesDistribution("terminators.dst", 1, 1);
+    static final StringValuesDistribution VERBS_DISTRIBUTION = buildStringValuesDistribution("verbs.dst", 1, 1);
 
     private EnglishDistributions() {}
 
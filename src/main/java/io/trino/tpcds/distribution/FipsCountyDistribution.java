@@ -15,16 +15,17 @@
 package io.trino.tpcds.distribution;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
 import io.trino.tpcds.distribution.DistributionUtils.WeightsBuilder;
 import io.trino.tpcds.random.RandomNumberStream;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
-import static io.trino.tpcds.distribution.DistributionUtils.getDistributionIterator;
-import static io.trino.tpcds.distribution.DistributionUtils.getListFromCommaSeparatedValues;
+import static io.trino.tpcds.distribution.CompiledDistributions.loadDistributionFile;
 
 public class FipsCountyDistribution
 {
@@ -32,22 +33,21 @@ public class FipsCountyDistribution
     private static final String VALUES_AND_WEIGHTS_FILENAME = "fips.dst";
     private static final int NUM_WEIGHT_FIELDS = 6;
 
-    private final ImmutableList<String> counties;
-    private final ImmutableList<String> stateAbbreviations;
-    private final ImmutableList<Integer> zipPrefixes;
-    private final ImmutableList<Integer> gmtOffsets;
-    private final ImmutableList<ImmutableList<Integer>> weightsLists;
-
-    public FipsCountyDistribution(ImmutableList<String> counties,
-            ImmutableList<String> stateAbbreviations,
-            ImmutableList<Integer> zipPrefixes,
-            ImmutableList<Integer> gmtOffsets,
-            ImmutableList<ImmutableList<Integer>> weightsLists)
+    private final Region[] regions;
+    private final int[][] weightsLists;
+
+    public FipsCountyDistribution(String[] counties,
+            String[] stateAbbreviations,
+            int[] zipPrefixes,
+            int[] gmtOffsets,
+            int[][] weightsLists)
     {
-        this.counties = counties;
-        this.stateAbbreviations = stateAbbreviations;
-        this.zipPrefixes = zipPrefixes;
-        this.gmtOffsets = gmtOffsets;
+        checkArgument(stateAbbreviations.length == counties.length && zipPrefixes.length == counties.length && gmtOffsets.length == counties.length,
+                "counties, stateAbbreviations, zipPrefixes and gmtOffsets must have the same length");
+        this.regions = new Region[counties.length];
+        for (int i = 0; i < counties.length; i++) {
+            regions[i] = new Region(counties[i], stateAbbreviations[i], zipPrefixes[i], gmtOffsets[i]);
+        }
         this.weightsLists = weightsLists;
     }
 
@@ -63,12 +63,9 @@ public class FipsCountyDistribution
             weightsBuilders.add(new WeightsBuilder());
         }
 
-        Iterator<List<String>> iterator = getDistributionIterator(VALUES_AND_WEIGHTS_FILENAME);
-        while (iterator.hasNext()) {
-            List<String> fields = iterator.next();
-            checkState(fields.size() == 2, "Expected line to contain 2 parts but it contains %d: %s", fields.size(), fields);
-
-            List<String> values = getListFromCommaSeparatedValues(fields.get(0));
+        DistributionFile distributionFile = loadDistributionFile(VALUES_AND_WEIGHTS_FILENAME);
+        for (int line = 0; line < distributionFile.getLineCount(); line++) {
+            List<String> values = Arrays.asList(distributionFile.getValues(line));
             checkState(values.size() == 6, "Expected line to contain 6 values, but it contained %d, %s", values.size(), values);
 
             // fips codes and state names are never used, so we leave them out
@@ -77,48 +74,90 @@ public class FipsCountyDistribution
             zipPrefixesBuilder.add(Integer.parseInt(values.get(4)));
             gmtOffsetsBuilder.add(Integer.parseInt(values.get(5)));
 
-            List<String> weights = getListFromCommaSeparatedValues(fields.get(1));
-            checkState(weights.size() == NUM_WEIGHT_FIELDS, "Expected line to contain %d weights, but it contained %d, %s", NUM_WEIGHT_FIELDS, weights.size(), values);
-            for (int i = 0; i < weights.size(); i++) {
-                weightsBuilders.get(i).computeAndAddNextWeight(Integer.valueOf(weights.get(i)));
+            int[] weights = distributionFile.getWeights(line);
+            checkState(weights.length == NUM_WEIGHT_FIELDS, "Expected line to contain %d weights, but it contained %d, %s", NUM_WEIGHT_FIELDS, weights.length, values);
+            for (int i = 0; i < weights.length; i++) {
+                weightsBuilders.get(i).computeAndAddNextWeight(weights[i]);
             }
         }
 
-        ImmutableList.Builder<ImmutableList<Integer>> weightsListBuilder = ImmutableList.<ImmutableList<Integer>>builder();
-        for (WeightsBuilder weightsBuilder : weightsBuilders) {
-            weightsListBuilder.add(weightsBuilder.build());
+        int[][] weightsLists = new int[NUM_WEIGHT_FIELDS][];
+        for (int i = 0; i < NUM_WEIGHT_FIELDS; i++) {
+            weightsLists[i] = weightsBuilders.get(i).build();
         }
 
-        return new FipsCountyDistribution(countiesBuilder.build(),
-                stateAbbreviationsBuilder.build(),
-                zipPrefixesBuilder.build(),
-                gmtOffsetsBuilder.build(),
-                weightsListBuilder.build());
+        return new FipsCountyDistribution(countiesBuilder.build().toArray(new String[0]),
+                stateAbbreviationsBuilder.build().toArray(new String[0]),
+                Ints.toArray(zipPrefixesBuilder.build()),
+                Ints.toArray(gmtOffsetsBuilder.build()),
+                weightsLists);
     }
 
     public static int pickRandomIndex(FipsWeights weights, RandomNumberStream stream)
     {
-        return DistributionUtils.pickRandomIndex(FIPS_COUNTY_DISTRIBUTION.weightsLists.get(weights.ordinal()), stream);
+        return DistributionUtils.pickRandomIndex(FIPS_COUNTY_DISTRIBUTION.weightsLists[weights.ordinal()], stream);
+    }
+
+    public static Region getRegionAtIndex(int index)
+    {
+        return FIPS_COUNTY_DISTRIBUTION.regions[index];
     }
 
     public static String getCountyAtIndex(int index)
     {
-        return FIPS_COUNTY_DISTRIBUTION.counties.get(index);
+        return getRegionAtIndex(index).getCounty();
     }
 
     public static String getStateAbbreviationAtIndex(int index)
     {
-        return FIPS_COUNTY_DISTRIBUTION.stateAbbreviations.get(index);
+        return getRegionAtIndex(index).getStateAbbreviation();
     }
 
     public static int getZipPrefixAtIndex(int index)
     {
-        return FIPS_COUNTY_DISTRIBUTION.zipPrefixes.get(index);
+        return getRegionAtIndex(index).getZipPrefix();
     }
 
     public static int getGmtOffsetAtIndex(int index)
     {
-        return FIPS_COUNTY_DISTRIBUTION.gmtOffsets.get(index);
+        return getRegionAtIndex(index).getGmtOffset();
+    }
+
+    // the values of one line of the distribution, which addresses use together
+    public static final class Region
+    {
+        private final String county;
+        private final String stateAbbreviation;
+        private final int zipPrefix;
+        private final int gmtOffset;
+
+        private Region(String county, String stateAbbreviation, int zipPrefix, int gmtOffset)
+        {
+            this.county = county;
+            this.stateAbbreviation = stateAbbreviation;
+            this.zipPrefix = zipPrefix;
+            this.gmtOffset = gmtOffset;
+        }
+
+        public String getCounty()
+        {
+            return county;
+        }
+
+        public String getStateAbbreviation()
+        {
+            return stateAbbreviation;
+        }
+
+        public int getZipPrefix()
+        {
+            return zipPrefix;
+        }
+
+        public int getGmtOffset()
+        {
+            return gmtOffset;
+        }
     }
 
     public enum FipsWeights
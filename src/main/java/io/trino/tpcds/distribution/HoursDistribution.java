@@ -15,17 +15,17 @@
 package io.trino.tpcds.distribution;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
 import io.trino.tpcds.distribution.DistributionUtils.WeightsBuilder;
 import io.trino.tpcds.random.RandomNumberStream;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkState;
-import static io.trino.tpcds.distribution.DistributionUtils.getDistributionIterator;
-import static io.trino.tpcds.distribution.DistributionUtils.getListFromCommaSeparatedValues;
-import static io.trino.tpcds.distribution.DistributionUtils.pickRandomValue;
+import static io.trino.tpcds.distribution.CompiledDistributions.loadDistributionFile;
+import static io.trino.tpcds.distribution.DistributionUtils.pickRandomIndex;
 import static java.lang.Integer.parseInt;
 
 public class HoursDistribution
@@ -34,14 +34,14 @@ public class HoursDistribution
     private static final String VALUES_AND_WEIGHTS_FILENAME = "hours.dst";
     private static final HoursDistribution HOURS_DISTRIBUTION = buildHoursDistribution();
 
-    private final ImmutableList<Integer> hours;
-    private final ImmutableList<String> amPm;
-    private final ImmutableList<String> shifts;
-    private final ImmutableList<String> subShifts;
-    private final ImmutableList<String> meals;
-    private final ImmutableList<ImmutableList<Integer>> weightsLists;
+    private final int[] hours;
+    private final String[] amPm;
+    private final String[] shifts;
+    private final String[] subShifts;
+    private final String[] meals;
+    private final int[][] weightsLists;
 
-    public HoursDistribution(ImmutableList<Integer> hours, ImmutableList<String> amPm, ImmutableList<String> shifts, ImmutableList<String> subShifts, ImmutableList<String> meals, ImmutableList<ImmutableList<Integer>> weightsLists)
+    public HoursDistribution(int[] hours, String[] amPm, String[] shifts, String[] subShifts, String[] meals, int[][] weightsLists)
     {
         this.hours = hours;
         this.amPm = amPm;
@@ -64,12 +64,9 @@ public class HoursDistribution
             weightsBuilders.add(new WeightsBuilder());
         }
 
-        Iterator<List<String>> iterator = getDistributionIterator(VALUES_AND_WEIGHTS_FILENAME);
-        while (iterator.hasNext()) {
-            List<String> fields = iterator.next();
-            checkState(fields.size() == 2, "Expected line to contain 2 parts but it contains %d: %s", fields.size(), fields);
-
-            List<String> values = getListFromCommaSeparatedValues(fields.get(0));
+        DistributionFile distributionFile = loadDistributionFile(VALUES_AND_WEIGHTS_FILENAME);
+        for (int line = 0; line < distributionFile.getLineCount(); line++) {
+            List<String> values = Arrays.asList(distributionFile.getValues(line));
             checkState(values.size() == 5, "Expected line to contain 5 values, but it contained %d, %s", values.size(), values);
             hoursBuilder.add(parseInt(values.get(0)));
             amPmBuilder.add(values.get(1));
@@ -77,29 +74,34 @@ public class HoursDistribution
             subShiftsBuilder.add(values.get(3));
             mealsBuilder.add(values.get(4));
 
-            List<String> weights = getListFromCommaSeparatedValues(fields.get(1));
-            checkState(weights.size() == NUM_WEIGHT_FIELDS, "Expected line to contain %d weights, but it contained %d, %s", NUM_WEIGHT_FIELDS, weights.size(), values);
-            for (int i = 0; i < weights.size(); i++) {
-                weightsBuilders.get(i).computeAndAddNextWeight(Integer.valueOf(weights.get(i)));
+            int[] weights = distributionFile.getWeights(line);
+            checkState(weights.length == NUM_WEIGHT_FIELDS, "Expected line to contain %d weights, but it contained %d, %s", NUM_WEIGHT_FIELDS, weights.length, values);
+            for (int i = 0; i < weights.length; i++) {
+                weightsBuilders.get(i).computeAndAddNextWeight(weights[i]);
             }
         }
 
-        ImmutableList.Builder<ImmutableList<Integer>> weightsListBuilder = ImmutableList.<ImmutableList<Integer>>builder();
-        for (WeightsBuilder weightsBuilder : weightsBuilders) {
-            weightsListBuilder.add(weightsBuilder.build());
+        int[][] weightsLists = new int[NUM_WEIGHT_FIELDS][];
+        for (int i = 0; i < NUM_WEIGHT_FIELDS; i++) {
+            weightsLists[i] = weightsBuilders.get(i).build();
         }
 
-        return new HoursDistribution(hoursBuilder.build(), amPmBuilder.build(), shiftsBuilder.build(), subShiftsBuilder.build(), mealsBuilder.build(), weightsListBuilder.build());
+        return new HoursDistribution(Ints.toArray(hoursBuilder.build()),
+                amPmBuilder.build().toArray(new String[0]),
+                shiftsBuilder.build().toArray(new String[0]),
+                subShiftsBuilder.build().toArray(new String[0]),
+                mealsBuilder.build().toArray(new String[0]),
+                weightsLists);
     }
 
     public static int pickRandomHour(Weights weights, RandomNumberStream randomNumberStream)
     {
-        return pickRandomValue(HOURS_DISTRIBUTION.hours, HOURS_DISTRIBUTION.weightsLists.get(weights.ordinal()), randomNumberStream);
+        return HOURS_DISTRIBUTION.hours[pickRandomIndex(HOURS_DISTRIBUTION.weightsLists[weights.ordinal()], randomNumberStream)];
     }
 
     public static HourInfo getHourInfoForHour(int hour)
     {
-        return new HourInfo(HOURS_DISTRIBUTION.amPm.get(hour), HOURS_DISTRIBUTION.shifts.get(hour), HOURS_DISTRIBUTION.subShifts.get(hour), HOURS_DISTRIBUTION.meals.get(hour));
+        return new HourInfo(HOURS_DISTRIBUTION.amPm[hour], HOURS_DISTRIBUTION.shifts[hour], HOURS_DISTRIBUTION.subShifts[hour], HOURS_DISTRIBUTION.meals[hour]);
     }
 
     public static class HourInfo
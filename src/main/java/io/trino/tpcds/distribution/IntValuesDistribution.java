@@ -15,25 +15,25 @@
 package io.trino.tpcds.distribution;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
 import io.trino.tpcds.distribution.DistributionUtils.WeightsBuilder;
 import io.trino.tpcds.random.RandomNumberStream;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
-import static io.trino.tpcds.distribution.DistributionUtils.getDistributionIterator;
-import static io.trino.tpcds.distribution.DistributionUtils.getListFromCommaSeparatedValues;
+import static io.trino.tpcds.distribution.CompiledDistributions.loadDistributionFile;
 import static java.lang.Integer.parseInt;
 
 public class IntValuesDistribution
 {
-    private final ImmutableList<ImmutableList<Integer>> valuesLists;
-    private final ImmutableList<ImmutableList<Integer>> weightsLists;
+    private final int[][] valuesLists;
+    private final int[][] weightsLists;
 
-    public IntValuesDistribution(ImmutableList<ImmutableList<Integer>> valuesLists, ImmutableList<ImmutableList<Integer>> weightsLists)
+    public IntValuesDistribution(int[][] valuesLists, int[][] weightsLists)
     {
         this.valuesLists = valuesLists;
         this.weightsLists = weightsLists;
@@ -41,7 +41,7 @@ public class IntValuesDistribution
 
     public static IntValuesDistribution buildIntValuesDistribution(String valuesAndWeightsFilename, int numValueFields, int numWeightFields)
     {
-        Iterator<List<String>> iterator = getDistributionIterator(valuesAndWeightsFilename);
+        DistributionFile distributionFile = loadDistributionFile(valuesAndWeightsFilename);
 
         List<ImmutableList.Builder<Integer>> valuesBuilders = new ArrayList<>(numValueFields);
         for (int i = 0; i < numValueFields; i++) {
@@ -53,56 +53,52 @@ public class IntValuesDistribution
             weightsBuilders.add(new WeightsBuilder());
         }
 
-        while (iterator.hasNext()) {
-            List<String> fields = iterator.next();
-            checkState(fields.size() == 2, "Expected line to contain 2 parts but it contains %d: %s", fields.size(), fields);
-
-            List<String> values = getListFromCommaSeparatedValues(fields.get(0));
+        for (int line = 0; line < distributionFile.getLineCount(); line++) {
+            List<String> values = Arrays.asList(distributionFile.getValues(line));
             checkState(values.size() == numValueFields, "Expected line to contain %d values, but it contained %d, %s", numValueFields, values.size(), values);
             for (int i = 0; i < values.size(); i++) {
                 valuesBuilders.get(i).add(parseInt(values.get(i)));
             }
 
-            List<String> weights = getListFromCommaSeparatedValues(fields.get(1));
-            checkState(weights.size() == numWeightFields, "Expected line to contain %d weights, but it contained %d, %s", numWeightFields, weights.size(), values);
-            for (int i = 0; i < weights.size(); i++) {
-                weightsBuilders.get(i).computeAndAddNextWeight(parseInt(weights.get(i)));
+            int[] weights = distributionFile.getWeights(line);
+            checkState(weights.length == numWeightFields, "Expected line to contain %d weights, but it contained %d, %s", numWeightFields, weights.length, values);
+            for (int i = 0; i < weights.length; i++) {
+                weightsBuilders.get(i).computeAndAddNextWeight(weights[i]);
             }
         }
 
-        ImmutableList.Builder<ImmutableList<Integer>> valuesListsBuilder = ImmutableList.builder();
-        for (ImmutableList.Builder<Integer> valuesBuilder : valuesBuilders) {
-            valuesListsBuilder.add(valuesBuilder.build());
+        int[][] valuesLists = new int[numValueFields][];
+        for (int i = 0; i < numValueFields; i++) {
+            valuesLists[i] = Ints.toArray(valuesBuilders.get(i).build());
         }
-        ImmutableList<ImmutableList<Integer>> valuesLists = valuesListsBuilder.build();
 
-        ImmutableList.Builder<ImmutableList<Integer>> weightsListBuilder = ImmutableList.builder();
-        for (WeightsBuilder weightsBuilder : weightsBuilders) {
-            weightsListBuilder.add(weightsBuilder.build());
+        int[][] weightsLists = new int[numWeightFields][];
+        for (int i = 0; i < numWeightFields; i++) {
+            weightsLists[i] = weightsBuilders.get(i).build();
         }
-        ImmutableList<ImmutableList<Integer>> weightsLists = weightsListBuilder.build();
         return new IntValuesDistribution(valuesLists, weightsLists);
     }
 
-    public Integer getValueForIndexModSize(long index, int valueListIndex)
+    public int getValueForIndexModSize(long index, int valueListIndex)
     {
-        checkArgument(valueListIndex < valuesLists.size(), "index out of range, max value index is " + (valuesLists.size() - 1));
-        return DistributionUtils.getValueForIndexModSize(index, valuesLists.get(valueListIndex));
+        checkArgument(valueListIndex < valuesLists.length, "index out of range, max value index is " + (valuesLists.length - 1));
+        int[] values = valuesLists[valueListIndex];
+        return values[(int) (index % values.length)];
     }
 
-    public Integer getValueAtIndex(int valueListIndex, int valueIndex)
+    public int getValueAtIndex(int valueListIndex, int valueIndex)
     {
-        return valuesLists.get(valueListIndex).get(valueIndex);
+        return valuesLists[valueListIndex][valueIndex];
     }
 
     public int pickRandomIndex(int weightListIndex, RandomNumberStream stream)
     {
-        checkArgument(weightListIndex < weightsLists.size(), "index out of range, max weight index is " + (weightsLists.size() - 1));
-        return DistributionUtils.pickRandomIndex(weightsLists.get(weightListIndex), stream);
+        checkArgument(weightListIndex < weightsLists.length, "index out of range, max weight index is " + (weightsLists.length - 1));
+        return DistributionUtils.pickRandomIndex(weightsLists[weightListIndex], stream);
     }
 
     public int getSize()
     {
-        return valuesLists.get(0).size();
+        return valuesLists[0].length;
     }
 }
@@ -15,19 +15,18 @@
 package io.trino.tpcds.distribution;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
 import io.trino.tpcds.distribution.DistributionUtils.WeightsBuilder;
 import io.trino.tpcds.random.RandomNumberStream;
 import io.trino.tpcds.type.Decimal;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkState;
-import static io.trino.tpcds.distribution.DistributionUtils.getDistributionIterator;
-import static io.trino.tpcds.distribution.DistributionUtils.getListFromCommaSeparatedValues;
+import static io.trino.tpcds.distribution.CompiledDistributions.loadDistributionFile;
 import static io.trino.tpcds.type.Decimal.parseDecimal;
-import static java.lang.Integer.parseInt;
 
 public class ItemCurrentPriceDistribution
 {
@@ -36,11 +35,11 @@ public class ItemCurrentPriceDistribution
     private static final String VALUES_AND_WEIGHTS_FILENAME = "item_current_price.dst";
     private static final ItemCurrentPriceDistribution I_CURRENT_PRICE_DISTRIBUTION = buildICurrentPriceDistribution();
 
-    private final ImmutableList<Decimal> mins;
-    private final ImmutableList<Decimal> maxes;
-    private final ImmutableList<ImmutableList<Integer>> weightLists;
+    private final Decimal[] mins;
+    private final Decimal[] maxes;
+    private final int[][] weightLists;
 
-    private ItemCurrentPriceDistribution(ImmutableList<Decimal> mins, ImmutableList<Decimal> maxes, ImmutableList<ImmutableList<Integer>> weightLists)
+    private ItemCurrentPriceDistribution(Decimal[] mins, Decimal[] maxes, int[][] weightLists)
     {
         this.mins = mins;
         this.maxes = maxes;
@@ -57,38 +56,35 @@ public class ItemCurrentPriceDistribution
             weightsBuilders.add(new WeightsBuilder());
         }
 
-        Iterator<List<String>> iterator = getDistributionIterator(VALUES_AND_WEIGHTS_FILENAME);
-        while (iterator.hasNext()) {
-            List<String> fields = iterator.next();
-            checkState(fields.size() == 2, "Expected line to contain 2 parts but it contains %s: %s", fields.size(), fields);
-
-            List<String> values = getListFromCommaSeparatedValues(fields.get(0));
+        DistributionFile distributionFile = loadDistributionFile(VALUES_AND_WEIGHTS_FILENAME);
+        for (int line = 0; line < distributionFile.getLineCount(); line++) {
+            List<String> values = Arrays.asList(distributionFile.getValues(line));
             checkState(values.size() == NUM_VALUE_FIELDS, "Expected line to contain %s values, but it contained %s, %s", NUM_VALUE_FIELDS, values.size(), values);
 
             // indices are never used
             minsBuilder.add(parseDecimal(values.get(1)));
             maxesBuilder.add(parseDecimal(values.get(2)));
 
-            List<String> weights = getListFromCommaSeparatedValues(fields.get(1));
-            checkState(weights.size() == NUM_WEIGHT_FIELDS, "Expected line to contain %s weights, but it contained %s, %s", NUM_WEIGHT_FIELDS, weights.size(), weights);
-            for (int i = 0; i < weights.size(); i++) {
-                weightsBuilders.get(i).computeAndAddNextWeight(parseInt(weights.get(i)));
+            int[] weights = distributionFile.getWeights(line);
+            checkState(weights.length == NUM_WEIGHT_FIELDS, "Expected line to contain %s weights, but it contained %s, %s", NUM_WEIGHT_FIELDS, weights.length, Ints.asList(weights));
+            for (int i = 0; i < weights.length; i++) {
+                weightsBuilders.get(i).computeAndAddNextWeight(weights[i]);
             }
         }
 
-        ImmutableList.Builder<ImmutableList<Integer>> weightsListBuilder = ImmutableList.<ImmutableList<Integer>>builder();
-        for (WeightsBuilder weightsBuilder : weightsBuilders) {
-            weightsListBuilder.add(weightsBuilder.build());
+        int[][] weightsLists = new int[NUM_WEIGHT_FIELDS][];
+        for (int i = 0; i < NUM_WEIGHT_FIELDS; i++) {
+            weightsLists[i] = weightsBuilders.get(i).build();
         }
 
-        return new ItemCurrentPriceDistribution(minsBuilder.build(),
-                maxesBuilder.build(),
-                weightsListBuilder.build());
+        return new ItemCurrentPriceDistribution(minsBuilder.build().toArray(new Decimal[0]),
+                maxesBuilder.build().toArray(new Decimal[0]),
+                weightsLists);
     }
 
     public static List<Decimal> pickRandomCurrentPriceRange(RandomNumberStream randomNumberStream)
     {
-        int index = DistributionUtils.pickRandomIndex(I_CURRENT_PRICE_DISTRIBUTION.weightLists.get(0), randomNumberStream);
-        return ImmutableList.of(I_CURRENT_PRICE_DISTRIBUTION.mins.get(index), I_CURRENT_PRICE_DISTRIBUTION.maxes.get(index));
+        int index = DistributionUtils.pickRandomIndex(I_CURRENT_PRICE_DISTRIBUTION.weightLists[0], randomNumberStream);
+        return ImmutableList.of(I_CURRENT_PRICE_DISTRIBUTION.mins[index], I_CURRENT_PRICE_DISTRIBUTION.maxes[index]);
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.distribution;
+
+import io.trino.tpcds.random.RandomNumberStream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.distribution.EnglishDistributions.ADJECTIVES_DISTRIBUTION;
+import static io.trino.tpcds.distribution.EnglishDistributions.ADVERBS_DISTRIBUTION;
+import static io.trino.tpcds.distribution.EnglishDistributions.ARTICLES_DISTRIBUTION;
+import static io.trino.tpcds.distribution.EnglishDistributions.AUXILIARIES_DISTRIBUTION;
+import static io.trino.tpcds.distribution.EnglishDistributions.NOUNS_DISTRIBUTION;
+import static io.trino.tpcds.distribution.EnglishDistributions.PREPOSITIONS_DISTRIBUTION;
+import static io.trino.tpcds.distribution.EnglishDistributions.SENTENCES_DISTRIBUTION;
+import static io.trino.tpcds.distribution.EnglishDistributions.TERMINATORS_DISTRIBUTION;
+import static io.trino.tpcds.distribution.EnglishDistributions.VERBS_DISTRIBUTION;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
+
+/**
+ * Generates random text from the sentence grammar of the English distributions directly into a char or byte
+ * (ISO-8859-1) buffer, without intermediate strings. The text and the random numbers drawn are the same as
+ * picking each sentence and word from {@link EnglishDistributions}.
+ */
+public final class RandomTextGenerator
+{
+    private static final Words SENTENCES = new Words(SENTENCES_DISTRIBUTION);
+    private static final Words NOUNS = new Words(NOUNS_DISTRIBUTION);
+    private static final Words VERBS = new Words(VERBS_DISTRIBUTION);
+    private static final Words ADJECTIVES = new Words(ADJECTIVES_DISTRIBUTION);
+    private static final Words ADVERBS = new Words(ADVERBS_DISTRIBUTION);
+    private static final Words AUXILIARIES = new Words(AUXILIARIES_DISTRIBUTION);
+    private static final Words PREPOSITIONS = new Words(PREPOSITIONS_DISTRIBUTION);
+    private static final Words ARTICLES = new Words(ARTICLES_DISTRIBUTION);
+    private static final Words TERMINATORS = new Words(TERMINATORS_DISTRIBUTION);
+
+    private RandomTextGenerator() {}
+
+    public static String generateRandomText(int minLength, int maxLength, RandomNumberStream stream)
+    {
+        char[] text = new char[Math.max(maxLength, 0)];
+        int length = generateRandomText(minLength, maxLength, stream, text, null, 0);
+        return new String(text, 0, length);
+    }
+
+    // writes at most maxLength characters to buffer starting at offset and returns the number written
+    public static int generateRandomText(int minLength, int maxLength, RandomNumberStream stream, char[] buffer, int offset)
+    {
+        checkArgument(offset >= 0 && buffer.length - offset >= maxLength, "buffer does not have room for %s characters at offset %s", maxLength, offset);
+        return generateRandomText(minLength, maxLength, stream, buffer, null, offset);
+    }
+
+    // writes at most maxLength ISO-8859-1 bytes to buffer starting at offset and returns the number written
+    public static int generateRandomText(int minLength, int maxLength, RandomNumberStream stream, byte[] buffer, int offset)
+    {
+        checkArgument(offset >= 0 && buffer.length - offset >= maxLength, "buffer does not have room for %s bytes at offset %s", maxLength, offset);
+        return generateRandomText(minLength, maxLength, stream, null, buffer, offset);
+    }
+
+    // Exactly one of chars and bytes is not null. Sentences are always expanded completely so that they use
+    // the same random numbers, but only the part that fits in the remaining target length is written.
+    private static int generateRandomText(int minLength, int maxLength, RandomNumberStream stream, char[] chars, byte[] bytes, int offset)
+    {
+        boolean isSentenceBeginning = true;
+        int position = offset;
+        int targetLength = generateUniformRandomInt(minLength, maxLength, stream);
+
+        while (targetLength > 0) {
+            int sentenceStart = position;
+            int sentenceLength = 0;
+            char lastChar = 0;
+
+            char[] syntax = SENTENCES.chars[SENTENCES.pickRandomIndex(stream)];
+            for (char token : syntax) {
+                Words words = getWords(token);
+                int index = 0;
+                int length = 1;
+                if (words != null) {
+                    index = words.pickRandomIndex(stream);
+                    length = words.chars[index].length;
+                }
+
+                int written = Math.max(0, Math.min(length, targetLength - sentenceLength));
+                if (written > 0) {
+                    if (words == null) {
+                        // this is for adding punctuation and white space
+                        if (chars != null) {
+                            chars[position] = token;
+                        }
+                        else {
+                            bytes[position] = (byte) token;
+                        }
+                    }
+                    else if (chars != null) {
+                        System.arraycopy(words.chars[index], 0, chars, position, written);
+                    }
+                    else {
+                        System.arraycopy(words.bytes[index], 0, bytes, position, written);
+                    }
+                    position += written;
+                }
+
+                if (length > 0) {
+                    lastChar = words == null ? token : words.chars[index][length - 1];
+                }
+                sentenceLength += length;
+            }
+
+            if (isSentenceBeginning && position > sentenceStart) {
+                if (chars != null) {
+                    chars[sentenceStart] = Character.toUpperCase(chars[sentenceStart]);
+                }
+                else {
+                    char upperCase = Character.toUpperCase((char) (bytes[sentenceStart] & 0xFF));
+                    bytes[sentenceStart] = (byte) (upperCase <= 0xFF ? upperCase : '?');
+                }
+            }
+            isSentenceBeginning = (lastChar == '.');
+
+            targetLength -= sentenceLength;
+            if (targetLength > 0) {
+                if (chars != null) {
+                    chars[position] = ' ';
+                }
+                else {
+                    bytes[position] = ' ';
+                }
+                position++;
+                targetLength -= 1;
+            }
+        }
+
+        return position - offset;
+    }
+
+    private static Words getWords(char token)
+    {
+        switch (token) {
+            case 'N':
+                return NOUNS;
+            case 'V':
+                return VERBS;
+            case 'J':
+                return ADJECTIVES;
+            case 'D':
+                return ADVERBS;
+            case 'X':
+                return AUXILIARIES;
+            case 'P':
+                return PREPOSITIONS;
+            case 'A':
+                return ARTICLES;
+            case 'T':
+                return TERMINATORS;
+            default:
+                return null;
+        }
+    }
+
+    private static final class Words
+    {
+        private final StringValuesDistribution distribution;
+        private final char[][] chars;
+        private final byte[][] bytes;
+
+        private Words(StringValuesDistribution distribution)
+        {
+            this.distribution = distribution;
+            chars = new char[distribution.getSize()][];
+            bytes = new byte[distribution.getSize()][];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = distribution.getValueAtIndex(0, i).toCharArray();
+                bytes[i] = new byte[chars[i].length];
+                for (int j = 0; j < chars[i].length; j++) {
+                    // the distribution files are read as ISO-8859-1, so every character fits in a byte
+                    bytes[i][j] = (byte) chars[i][j];
+                }
+            }
+        }
+
+        private int pickRandomIndex(RandomNumberStream stream)
+        {
+            return distribution.pickRandomIndex(0, stream);
+        }
+    }
+}
@@ -15,24 +15,24 @@
 package io.trino.tpcds.distribution;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
 import io.trino.tpcds.distribution.DistributionUtils.WeightsBuilder;
 import io.trino.tpcds.random.RandomNumberStream;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
-import static io.trino.tpcds.distribution.DistributionUtils.getDistributionIterator;
-import static io.trino.tpcds.distribution.DistributionUtils.getListFromCommaSeparatedValues;
+import static io.trino.tpcds.distribution.CompiledDistributions.loadDistributionFile;
 
 public class StringValuesDistribution
 {
-    private final ImmutableList<ImmutableList<String>> valuesLists;
-    private final ImmutableList<ImmutableList<Integer>> weightsLists;
+    private final String[][] valuesLists;
+    private final int[][] weightsLists;
 
-    public StringValuesDistribution(ImmutableList<ImmutableList<String>> valuesLists, ImmutableList<ImmutableList<Integer>> weightsLists)
+    public StringValuesDistribution(String[][] valuesLists, int[][] weightsLists)
     {
         this.valuesLists = valuesLists;
         this.weightsLists = weightsLists;
@@ -40,7 +40,7 @@ public class StringValuesDistribution
 
     public static StringValuesDistribution buildStringValuesDistribution(String valuesAndWeightsFilename, int numValueFields, int numWeightFields)
     {
-        Iterator<List<String>> iterator = getDistributionIterator(valuesAndWeightsFilename);
+        DistributionFile distributionFile = loadDistributionFile(valuesAndWeightsFilename);
 
         List<ImmutableList.Builder<String>> valuesBuilders = new ArrayList<>(numValueFields);
         for (int i = 0; i < numValueFields; i++) {
@@ -52,69 +52,64 @@ public class StringValuesDistribution
             weightsBuilders.add(new WeightsBuilder());
         }
 
-        while (iterator.hasNext()) {
-            List<String> fields = iterator.next();
-            checkState(fields.size() == 2, "Expected line to contain 2 parts but it contains %s: %s", fields.size(), fields);
-
-            List<String> values = getListFromCommaSeparatedValues(fields.get(0));
+        for (int line = 0; line < distributionFile.getLineCount(); line++) {
+            List<String> values = Arrays.asList(distributionFile.getValues(line));
             checkState(values.size() == numValueFields, "Expected line to contain %s values, but it contained %s, %s", numValueFields, values.size(), values);
             for (int i = 0; i < values.size(); i++) {
                 valuesBuilders.get(i).add(values.get(i));
             }
 
-            List<String> weights = getListFromCommaSeparatedValues(fields.get(1));
-            checkState(weights.size() == numWeightFields, "Expected line to contain %s weights, but it contained %s, %s", numWeightFields, weights.size(), weights);
-            for (int i = 0; i < weights.size(); i++) {
-                weightsBuilders.get(i).computeAndAddNextWeight(Integer.parseInt(weights.get(i)));
+            int[] weights = distributionFile.getWeights(line);
+            checkState(weights.length == numWeightFields, "Expected line to contain %s weights, but it contained %s, %s", numWeightFields, weights.length, Ints.asList(weights));
+            for (int i = 0; i < weights.length; i++) {
+                weightsBuilders.get(i).computeAndAddNextWeight(weights[i]);
             }
         }
 
-        ImmutableList.Builder<ImmutableList<String>> valuesListsBuilder = ImmutableList.<ImmutableList<String>>builder();
-        for (ImmutableList.Builder<String> valuesBuilder : valuesBuilders) {
-            valuesListsBuilder.add(valuesBuilder.build());
+        String[][] valuesLists = new String[numValueFields][];
+        for (int i = 0; i < numValueFields; i++) {
+            valuesLists[i] = valuesBuilders.get(i).build().toArray(new String[0]);
         }
-        ImmutableList<ImmutableList<String>> valuesLists = valuesListsBuilder.build();
 
-        ImmutableList.Builder<ImmutableList<Integer>> weightsListBuilder = ImmutableList.<ImmutableList<Integer>>builder();
-        for (WeightsBuilder weightsBuilder : weightsBuilders) {
-            weightsListBuilder.add(weightsBuilder.build());
+        int[][] weightsLists = new int[numWeightFields][];
+        for (int i = 0; i < numWeightFields; i++) {
+            weightsLists[i] = weightsBuilders.get(i).build();
         }
-        ImmutableList<ImmutableList<Integer>> weightsLists = weightsListBuilder.build();
         return new StringValuesDistribution(valuesLists, weightsLists);
     }
 
     public String pickRandomValue(int valueListIndex, int weightListIndex, RandomNumberStream stream)
     {
-        checkArgument(valueListIndex < valuesLists.size(), "index out of range, max value index is " + (valuesLists.size() - 1));
-        checkArgument(weightListIndex < weightsLists.size(), "index out of range, max weight index is " + (weightsLists.size() - 1));
-        return DistributionUtils.pickRandomValue(valuesLists.get(valueListIndex), weightsLists.get(weightListIndex), stream);
+        checkArgument(valueListIndex < valuesLists.length, "index out of range, max value index is " + (valuesLists.length - 1));
+        checkArgument(weightListIndex < weightsLists.length, "index out of range, max weight index is " + (weightsLists.length - 1));
+        return DistributionUtils.pickRandomValue(valuesLists[valueListIndex], weightsLists[weightListIndex], stream);
     }
 
     public String getValueForIndexModSize(long index, int valueListIndex)
     {
-        checkArgument(valueListIndex < valuesLists.size(), "index out of range, max value index is " + (valuesLists.size() - 1));
-        return DistributionUtils.getValueForIndexModSize(index, valuesLists.get(valueListIndex));
+        checkArgument(valueListIndex < valuesLists.length, "index out of range, max value index is " + (valuesLists.length - 1));
+        return DistributionUtils.getValueForIndexModSize(index, valuesLists[valueListIndex]);
     }
 
     public int pickRandomIndex(int weightListIndex, RandomNumberStream stream)
     {
-        checkArgument(weightListIndex < weightsLists.size(), "index out of range, max weight index is " + (weightsLists.size() - 1));
-        return DistributionUtils.pickRandomIndex(weightsLists.get(weightListIndex), stream);
+        checkArgument(weightListIndex < weightsLists.length, "index out of range, max weight index is " + (weightsLists.length - 1));
+        return DistributionUtils.pickRandomIndex(weightsLists[weightListIndex], stream);
     }
 
     public int getWeightForIndex(int index, int weightListIndex)
     {
-        checkArgument(weightListIndex < weightsLists.size(), "index out of range, max weight index is " + (weightsLists.size() - 1));
-        return DistributionUtils.getWeightForIndex(index, weightsLists.get(weightListIndex));
+        checkArgument(weightListIndex < weightsLists.length, "index out of range, max weight index is " + (weightsLists.length - 1));
+        return DistributionUtils.getWeightForIndex(index, weightsLists[weightListIndex]);
     }
 
     public int getSize()
     {
-        return valuesLists.get(0).size();
+        return valuesLists[0].length;
     }
 
     public String getValueAtIndex(int valueListIndex, int valueIndex)
     {
-        return valuesLists.get(valueListIndex).get(valueIndex);
+        return valuesLists[valueListIndex][valueIndex];
     }
 }
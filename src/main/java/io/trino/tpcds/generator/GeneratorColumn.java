@@ -29,4 +29,7 @@ public interface GeneratorColumn
     int getGlobalColumnNumber();
 
     int getSeedsPerRow();
+
+    // position of the column within Table.getGeneratorColumns(), implemented by the enums
+    int ordinal();
 }
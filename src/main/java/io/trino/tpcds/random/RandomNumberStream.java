@@ -18,10 +18,28 @@ public interface RandomNumberStream
 {
     long nextRandom();
 
+    // fills the first count entries of result with the next values of the stream
+    default void nextRandoms(long[] result, int count)
+    {
+        for (int i = 0; i < count; i++) {
+            result[i] = nextRandom();
+        }
+    }
+
     double nextRandomDouble();
 
     void skipRows(long numberOfRows);
 
+    // Moves the stream to the state it is in after drawIndex draws from its initial seed, with no seeds used
+    default void seekToDraw(long drawIndex)
+    {
+        resetSeed();
+        for (long i = 0; i < drawIndex; i++) {
+            nextRandom();
+        }
+        resetSeedsUsed();
+    }
+
     void resetSeed();
 
     int getSeedsUsed();
@@ -20,9 +20,17 @@ public class RandomNumberStreamImpl
         implements RandomNumberStream
 {
     private static final int DEFAULT_SEED_BASE = 19620718;
-    private static final int MULTIPLIER = 16807;
-    private static final int QUOTIENT = 127773;   // the quotient MAX_INT / MULTIPLIER
-    private static final int REMAINDER = 2836;    // the remainder MAX_INT % MULTIPLIER
+    static final int MULTIPLIER = 16807;
+
+    // MULTIPLIER_POWERS[k] is MULTIPLIER^(2^k) mod 2^31 - 1, which advances a seed by 2^k draws
+    private static final long[] MULTIPLIER_POWERS = new long[Long.SIZE - 1];
+
+    static {
+        MULTIPLIER_POWERS[0] = MULTIPLIER;
+        for (int k = 1; k < MULTIPLIER_POWERS.length; k++) {
+            MULTIPLIER_POWERS[k] = (MULTIPLIER_POWERS[k - 1] * MULTIPLIER_POWERS[k - 1]) % Integer.MAX_VALUE;
+        }
+    }
 
     private long seed;
     private final long initialSeed;
@@ -45,7 +53,7 @@ public class RandomNumberStreamImpl
     public RandomNumberStreamImpl(int globalColumnNumber, int seedBase, int seedsPerRow)
     {
         checkArgument(seedsPerRow >= 0, "seedsPerRow must be >=0");
-        this.initialSeed = seedBase + globalColumnNumber * (Integer.MAX_VALUE / 799);
+        this.initialSeed = getInitialSeed(globalColumnNumber, seedBase);
         this.seed = initialSeed;
         this.seedsPerRow = seedsPerRow;
     }
@@ -54,17 +62,22 @@ public class RandomNumberStreamImpl
     // https://en.wikipedia.org/wiki/Lehmer_random_number_generator
     public long nextRandom()
     {
+        seed = getNextSeed(seed);
+        seedsUsed += 1;
+        return seed;
+    }
+
+    @Override
+    public void nextRandoms(long[] result, int count)
+    {
+        checkArgument(count <= result.length, "count is greater than the size of result: %s", count);
         long nextSeed = seed;
-        long divisionResult = nextSeed / QUOTIENT;
-        long modResult = nextSeed % QUOTIENT;
-        nextSeed = MULTIPLIER * modResult - divisionResult * REMAINDER;
-        if (nextSeed < 0) {
-            nextSeed += Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            nextSeed = getNextSeed(nextSeed);
+            result[i] = nextSeed;
         }
-
         seed = nextSeed;
-        seedsUsed += 1;
-        return seed;
+        seedsUsed += count;
     }
 
     @Override
@@ -76,17 +89,13 @@ public class RandomNumberStreamImpl
     @Override
     public void skipRows(long numberOfRows)
     {
-        long numberOfValuesToSkip = numberOfRows * seedsPerRow;
-        long nextSeed = initialSeed;
-        long multiplier = MULTIPLIER;
-        while (numberOfValuesToSkip > 0) {
-            if (numberOfValuesToSkip % 2 != 0) { // n is odd
-                nextSeed = (multiplier * nextSeed) % Integer.MAX_VALUE;
-            }
-            numberOfValuesToSkip = numberOfValuesToSkip / 2;
-            multiplier = (multiplier * multiplier) % Integer.MAX_VALUE;
-        }
-        seed = nextSeed;
+        seekToDraw(numberOfRows * seedsPerRow);
+    }
+
+    @Override
+    public void seekToDraw(long drawIndex)
+    {
+        seed = getSeedAfterSkipping(initialSeed, drawIndex);
         seedsUsed = 0;
     }
 
@@ -114,4 +123,35 @@ public class RandomNumberStreamImpl
     {
         return seedsPerRow;
     }
+
+    static long getInitialSeed(int globalColumnNumber)
+    {
+        return getInitialSeed(globalColumnNumber, DEFAULT_SEED_BASE);
+    }
+
+    private static long getInitialSeed(int globalColumnNumber, int seedBase)
+    {
+        return seedBase + globalColumnNumber * (Integer.MAX_VALUE / 799);
+    }
+
+    // seed * MULTIPLIER mod 2^31 - 1. Since 2^31 = 1 (mod 2^31 - 1), the bits of the product above bit 31 are folded back into the low bits.
+    static long getNextSeed(long seed)
+    {
+        long product = seed * MULTIPLIER;
+        long nextSeed = (product & Integer.MAX_VALUE) + (product >>> 31);
+        if (nextSeed >= Integer.MAX_VALUE) {
+            nextSeed -= Integer.MAX_VALUE;
+        }
+        return nextSeed;
+    }
+
+    static long getSeedAfterSkipping(long initialSeed, long numberOfValuesToSkip)
+    {
+        long nextSeed = initialSeed;
+        // one multiplication for each bit set in the number of values to skip
+        for (long remaining = numberOfValuesToSkip; remaining > 0; remaining &= remaining - 1) {
+            nextSeed = (MULTIPLIER_POWERS[Long.numberOfTrailingZeros(remaining)] * nextSeed) % Integer.MAX_VALUE;
+        }
+        return nextSeed;
+    }
 }
@@ -0,0 +1,221 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.random;
+
+import io.trino.tpcds.generator.GeneratorColumn;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.random.RandomNumberStreamImpl.MULTIPLIER;
+import static io.trino.tpcds.random.RandomNumberStreamImpl.getInitialSeed;
+import static io.trino.tpcds.random.RandomNumberStreamImpl.getNextSeed;
+import static io.trino.tpcds.random.RandomNumberStreamImpl.getSeedAfterSkipping;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The random number streams of all the generator columns of a table, kept in parallel
+ * arrays indexed by the ordinal of the column. The streams produce the same values as
+ * a {@link RandomNumberStreamImpl} per column. The seeds of a table that do not change
+ * are computed once in a {@link Layout}, so each split only allocates its current seeds.
+ */
+public final class RandomNumberStreams
+{
+    private final Layout layout;
+    private final long[] seeds;
+    private final int[] seedsUsed;
+    private final RandomNumberStream[] streams;
+
+    public RandomNumberStreams(GeneratorColumn[] columns)
+    {
+        this(new Layout(columns));
+    }
+
+    public RandomNumberStreams(Layout layout)
+    {
+        this.layout = requireNonNull(layout, "layout is null");
+        int count = layout.columns.length;
+        seeds = layout.initialSeeds.clone();
+        seedsUsed = new int[count];
+        streams = new RandomNumberStream[count];
+        for (int i = 0; i < count; i++) {
+            streams[i] = new ColumnStream(i);
+        }
+    }
+
+    public RandomNumberStream getStream(GeneratorColumn column)
+    {
+        int index = column.ordinal();
+        checkArgument(index < layout.columns.length && layout.columns[index] == column, "column %s does not belong to this table", column);
+        return streams[index];
+    }
+
+    // Advances every stream that has not used all its seeds for the row to the start of the next row
+    public void consumeRemainingSeedsForRow()
+    {
+        for (int i = 0; i < seeds.length; i++) {
+            int remaining = layout.seedsPerRow[i] - seedsUsed[i];
+            if (remaining > 0) {
+                seeds[i] = (seeds[i] * layout.multiplierPowers[remaining]) % Integer.MAX_VALUE;
+            }
+            seedsUsed[i] = 0;
+        }
+    }
+
+    // All streams share the multiplier, so the jump for each distinct number of seeds per row is
+    // computed once, and every stream is then moved with a single multiplication.
+    public void skipRows(long numberOfRows)
+    {
+        long[] jumps = new long[layout.distinctSeedsPerRow.length];
+        for (int j = 0; j < jumps.length; j++) {
+            long numberOfValuesToSkip = numberOfRows * layout.distinctSeedsPerRow[j];
+            // a power of the multiplier is never 0, so 0 marks the streams that skip no values and keep their initial seed as is
+            jumps[j] = numberOfValuesToSkip > 0 ? getSeedAfterSkipping(1, numberOfValuesToSkip) : 0;
+        }
+        for (int i = 0; i < seeds.length; i++) {
+            long jump = jumps[layout.distinctSeedsPerRowIndex[i]];
+            seeds[i] = jump == 0 ? layout.initialSeeds[i] : (layout.initialSeeds[i] * jump) % Integer.MAX_VALUE;
+            seedsUsed[i] = 0;
+        }
+    }
+
+    private final class ColumnStream
+            implements RandomNumberStream
+    {
+        private final int index;
+
+        private ColumnStream(int index)
+        {
+            this.index = index;
+        }
+
+        @Override
+        public long nextRandom()
+        {
+            long seed = getNextSeed(seeds[index]);
+            seeds[index] = seed;
+            seedsUsed[index]++;
+            return seed;
+        }
+
+        @Override
+        public void nextRandoms(long[] result, int count)
+        {
+            checkArgument(count <= result.length, "count is greater than the size of result: %s", count);
+            long seed = seeds[index];
+            for (int i = 0; i < count; i++) {
+                seed = getNextSeed(seed);
+                result[i] = seed;
+            }
+            seeds[index] = seed;
+            seedsUsed[index] += count;
+        }
+
+        @Override
+        public double nextRandomDouble()
+        {
+            return (double) nextRandom() / (double) Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void skipRows(long numberOfRows)
+        {
+            seekToDraw(numberOfRows * layout.seedsPerRow[index]);
+        }
+
+        @Override
+        public void seekToDraw(long drawIndex)
+        {
+            seeds[index] = getSeedAfterSkipping(layout.initialSeeds[index], drawIndex);
+            seedsUsed[index] = 0;
+        }
+
+        @Override
+        public void resetSeed()
+        {
+            seeds[index] = layout.initialSeeds[index];
+            seedsUsed[index] = 0;
+        }
+
+        @Override
+        public int getSeedsUsed()
+        {
+            return seedsUsed[index];
+        }
+
+        @Override
+        public void resetSeedsUsed()
+        {
+            seedsUsed[index] = 0;
+        }
+
+        @Override
+        public int getSeedsPerRow()
+        {
+            return layout.seedsPerRow[index];
+        }
+    }
+
+    /**
+     * The columns of a table with their initial seeds and seeds per row. It does not change
+     * once created, so it is shared by the streams of every split of the table.
+     */
+    public static final class Layout
+    {
+        private final GeneratorColumn[] columns;
+        private final long[] initialSeeds;
+        private final int[] seedsPerRow;
+
+        // multiplierPowers[n] advances a seed by n draws
+        private final long[] multiplierPowers;
+
+        // the distinct values of seedsPerRow, and the position of the value of each stream among them
+        private final int[] distinctSeedsPerRow;
+        private final int[] distinctSeedsPerRowIndex;
+
+        public Layout(GeneratorColumn[] columns)
+        {
+            this.columns = columns.clone();
+            int count = columns.length;
+            initialSeeds = new long[count];
+            seedsPerRow = new int[count];
+
+            int maxSeedsPerRow = 0;
+            for (int i = 0; i < count; i++) {
+                GeneratorColumn column = columns[i];
+                checkArgument(column.ordinal() == i, "column %s is not at its ordinal position", column);
+                initialSeeds[i] = getInitialSeed(column.getGlobalColumnNumber());
+                seedsPerRow[i] = column.getSeedsPerRow();
+                maxSeedsPerRow = Math.max(maxSeedsPerRow, seedsPerRow[i]);
+            }
+
+            distinctSeedsPerRow = Arrays.stream(seedsPerRow).distinct().toArray();
+            distinctSeedsPerRowIndex = new int[count];
+            for (int i = 0; i < count; i++) {
+                for (int j = 0; j < distinctSeedsPerRow.length; j++) {
+                    if (distinctSeedsPerRow[j] == seedsPerRow[i]) {
+                        distinctSeedsPerRowIndex[i] = j;
+                    }
+                }
+            }
+
+            multiplierPowers = new long[maxSeedsPerRow + 1];
+            multiplierPowers[0] = 1;
+            for (int i = 1; i <= maxSeedsPerRow; i++) {
+                multiplierPowers[i] = (multiplierPowers[i - 1] * MULTIPLIER) % Integer.MAX_VALUE;
+            }
+        }
+    }
+}
@@ -15,20 +15,14 @@
 package io.trino.tpcds.random;
 
 import io.trino.tpcds.distribution.CalendarDistribution;
+import io.trino.tpcds.distribution.RandomTextGenerator;
 import io.trino.tpcds.distribution.StringValuesDistribution;
 import io.trino.tpcds.type.Date;
 import io.trino.tpcds.type.Decimal;
 
-import static io.trino.tpcds.distribution.CalendarDistribution.getWeightForDayNumber;
-import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomAdjective;
-import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomAdverb;
-import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomArticle;
-import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomAuxiliary;
-import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomNoun;
-import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomPreposition;
-import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomSentence;
-import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomTerminator;
-import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomVerb;
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.distribution.CalendarDistribution.getDayNumberForWeightSum;
+import static io.trino.tpcds.distribution.CalendarDistribution.getWeightSumForDayNumbers;
 import static io.trino.tpcds.distribution.TopDomainsDistribution.pickRandomTopDomain;
 import static io.trino.tpcds.type.Date.fromJulianDays;
 import static io.trino.tpcds.type.Date.getDaysInYear;
@@ -39,6 +33,7 @@ public final class RandomValueGenerator
 {
     public static final String ALPHA_NUMERIC = "abcdefghijklmnopqrstuvxyzABCDEFGHIJKLMNOPQRSTUVXYZ0123456789";
     public static final String DIGITS = "0123456789";
+    private static final int BULK_DRAW_SIZE = 1024;
 
     private RandomValueGenerator() {}
 
@@ -50,6 +45,22 @@ public final class RandomValueGenerator
         return result;
     }
 
+    // the same values as count calls to generateUniformRandomInt
+    public static void generateUniformRandomInts(int min, int max, RandomNumberStream randomNumberStream, int[] result, int count)
+    {
+        checkArgument(count <= result.length, "count is greater than the size of result: %s", count);
+        long[] draws = new long[Math.min(count, BULK_DRAW_SIZE)];
+        for (int offset = 0; offset < count; offset += draws.length) {
+            int drawCount = Math.min(draws.length, count - offset);
+            randomNumberStream.nextRandoms(draws, drawCount);
+            for (int i = 0; i < drawCount; i++) {
+                int value = (int) draws[i];
+                value %= max - min + 1;
+                result[offset + i] = value + min;
+            }
+        }
+    }
+
     public static long generateUniformRandomKey(long min, long max, RandomNumberStream randomNumberStream)
     {
         int result = (int) randomNumberStream.nextRandom(); // truncating long to int copies behavior of c code
@@ -58,16 +69,33 @@ public final class RandomValueGenerator
         return result;
     }
 
+    // the same values as count calls to generateUniformRandomKey
+    public static void generateUniformRandomKeys(long min, long max, RandomNumberStream randomNumberStream, long[] result, int count)
+    {
+        checkArgument(count <= result.length, "count is greater than the size of result: %s", count);
+        randomNumberStream.nextRandoms(result, count);
+        int range = (int) (max - min + 1);
+        for (int i = 0; i < count; i++) {
+            int value = (int) result[i];
+            value %= range;
+            value += (int) min;
+            result[i] = value;
+        }
+    }
+
     public static Decimal generateUniformRandomDecimal(Decimal min, Decimal max, RandomNumberStream randomNumberStream)
     {
         int precision = min.getPrecision() < max.getPrecision() ? min.getPrecision() : max.getPrecision();
+        return new Decimal(generateUniformRandomUnscaledDecimal(min.getNumber(), max.getNumber(), randomNumberStream), precision);
+    }
 
-        // compute number
+    // the unscaled value of generateUniformRandomDecimal, for callers that keep decimals in longs
+    public static long generateUniformRandomUnscaledDecimal(long min, long max, RandomNumberStream randomNumberStream)
+    {
         long number = randomNumberStream.nextRandom();
-        number %= max.getNumber() - min.getNumber() + 1;
-        number += min.getNumber();
-
-        return new Decimal(number, precision);
+        number %= max - min + 1;
+        number += min;
+        return number;
     }
 
     public static Date generateUniformRandomDate(Date min, Date max, RandomNumberStream randomNumberStream)
@@ -84,40 +112,40 @@ public final class RandomValueGenerator
         // Date.day represents the day of the month, but for some reason
         // it is interpreted in genrand_date as the day of the year.
         // That means we always start somewhere in January, I guess.
+        // The day numbers therefore run from there to the end of each year, so the
+        // weights are summed a year at a time from the cumulative calendar weights.
+        int range = toJulianDays(max) - toJulianDays(min);
+        int totalWeight = 0;
         int dayCount = min.getDay();
         int year = min.getYear();
-        int totalWeight = 0;
-        int range = toJulianDays(max) - toJulianDays(min);
-
-        for (int i = 0; i < range; i++) {
-            totalWeight += getWeightForDayNumber(dayCount, weights);
-            if (dayCount == getDaysInYear(year)) {
-                year += 1;
-                dayCount = 1;
-            }
-            else {
-                dayCount += 1;
-            }
+        for (int remainingDays = range; remainingDays > 0; ) {
+            int lastDayCount = Math.min(getDaysInYear(year), dayCount + remainingDays - 1);
+            totalWeight += getWeightSumForDayNumbers(dayCount, lastDayCount, weights);
+            remainingDays -= lastDayCount - dayCount + 1;
+            dayCount = 1;
+            year += 1;
         }
 
         // Choose a random int up to totalWeight.
-        // Then work backwards to get the first date where the chosen number is
-        // greater than or equal to the sum of all weights from min to date.
+        // Then work forwards to get the first date where the sum of all weights
+        // from min to date is greater than or equal to the chosen number.
         int tempWeightSum = generateUniformRandomInt(1, totalWeight, randomNumberStream);
         dayCount = min.getDay();
         int julianDays = Date.toJulianDays(min);
         year = min.getYear();
-        while (tempWeightSum > 0) {
-            tempWeightSum -= getWeightForDayNumber(dayCount, weights);
-            dayCount += 1;
-            julianDays += 1;
-            if (dayCount > getDaysInYear(year)) {
-                dayCount = 1;
-                year += 1;
+        for (int remainingDays = range; ; ) {
+            int lastDayCount = Math.min(getDaysInYear(year), dayCount + remainingDays - 1);
+            int yearWeight = getWeightSumForDayNumbers(dayCount, lastDayCount, weights);
+            if (tempWeightSum <= yearWeight) {
+                julianDays += getDayNumberForWeightSum(dayCount, tempWeightSum, weights) - dayCount + 1;
+                return fromJulianDays(julianDays);
             }
+            tempWeightSum -= yearWeight;
+            julianDays += lastDayCount - dayCount + 1;
+            remainingDays -= lastDayCount - dayCount + 1;
+            dayCount = 1;
+            year += 1;
         }
-
-        return fromJulianDays(julianDays);
     }
 
     public static String generateRandomCharset(String set, int min, int max, RandomNumberStream randomNumberStream)
@@ -210,72 +238,7 @@ public final class RandomValueGenerator
 
     public static String generateRandomText(int minLength, int maxLength, RandomNumberStream stream)
     {
-        boolean isSentenceBeginning = true;
-        StringBuilder text = new StringBuilder();
-        int targetLength = generateUniformRandomInt(minLength, maxLength, stream);
-
-        while (targetLength > 0) {
-            String generated = generateRandomSentence(stream);
-            if (isSentenceBeginning) {
-                generated = generated.substring(0, 1).toUpperCase() + generated.substring(1);
-            }
-
-            int generatedLength = generated.length();
-            isSentenceBeginning = (generated.charAt(generatedLength - 1) == '.');
-
-            // truncate so as not to exceed target length
-            if (targetLength < generatedLength) {
-                generated = generated.substring(0, targetLength);
-            }
-
-            targetLength -= generatedLength;
-
-            text.append(generated);
-            if (targetLength > 0) {
-                text.append(" ");
-                targetLength -= 1;
-            }
-        }
-
-        return text.toString();
-    }
-
-    private static String generateRandomSentence(RandomNumberStream stream)
-    {
-        StringBuilder verbiage = new StringBuilder();
-        String syntax = pickRandomSentence(stream);
-        for (int i = 0; i < syntax.length(); i++) {
-            switch (syntax.charAt(i)) {
-                case 'N':
-                    verbiage.append(pickRandomNoun(stream));
-                    break;
-                case 'V':
-                    verbiage.append(pickRandomVerb(stream));
-                    break;
-                case 'J':
-                    verbiage.append(pickRandomAdjective(stream));
-                    break;
-                case 'D':
-                    verbiage.append(pickRandomAdverb(stream));
-                    break;
-                case 'X':
-                    verbiage.append(pickRandomAuxiliary(stream));
-                    break;
-                case 'P':
-                    verbiage.append(pickRandomPreposition(stream));
-                    break;
-                case 'A':
-                    verbiage.append(pickRandomArticle(stream));
-                    break;
-                case 'T':
-                    verbiage.append(pickRandomTerminator(stream));
-                    break;
-                default:
-                    verbiage.append(syntax.charAt(i));  // this is for adding punctuation and white space.
-                    break;
-            }
-        }
-        return verbiage.toString();
+        return RandomTextGenerator.generateRandomText(minLength, maxLength, stream);
     }
 
     public static String generateWord(long seed, int maxChars, StringValuesDistribution distribution)
@@ -46,6 +46,7 @@ import static io.trino.tpcds.generator.CatalogReturnsGeneratorColumn.CR_RETURNIN
 import static io.trino.tpcds.generator.CatalogReturnsGeneratorColumn.CR_RETURNING_HDEMO_SK;
 import static io.trino.tpcds.generator.CatalogReturnsGeneratorColumn.CR_SHIP_MODE_SK;
 import static io.trino.tpcds.generator.CatalogReturnsGeneratorColumn.CR_WAREHOUSE_SK;
+import static io.trino.tpcds.type.Pricing.PRECISION;
 
 public class CatalogReturnsRow
         extends TableRowWithNulls
@@ -131,14 +132,14 @@ public class CatalogReturnsRow
                 getStringOrNullForKey(crReasonSk, CR_REASON_SK),
                 getStringOrNull(crOrderNumber, CR_ORDER_NUMBER),
                 getStringOrNull(crPricing.getQuantity(), CR_PRICING_QUANTITY),
-                getStringOrNull(crPricing.getNetPaid(), CR_PRICING_NET_PAID),
-                getStringOrNull(crPricing.getExtTax(), CR_PRICING_EXT_TAX),
-                getStringOrNull(crPricing.getNetPaidIncludingTax(), CR_PRICING_NET_PAID_INC_TAX),
-                getStringOrNull(crPricing.getFee(), CR_PRICING_FEE),
-                getStringOrNull(crPricing.getExtShipCost(), CR_PRICING_EXT_SHIP_COST),
-                getStringOrNull(crPricing.getRefundedCash(), CR_PRICING_REFUNDED_CASH),
-                getStringOrNull(crPricing.getReversedCharge(), CR_PRICING_REVERSED_CHARGE),
-                getStringOrNull(crPricing.getStoreCredit(), CR_PRICING_STORE_CREDIT),
-                getStringOrNull(crPricing.getNetLoss(), CR_PRICING_NET_LOSS));
+                getStringOrNullForDecimal(crPricing.getNetPaid(), PRECISION, CR_PRICING_NET_PAID),
+                getStringOrNullForDecimal(crPricing.getExtTax(), PRECISION, CR_PRICING_EXT_TAX),
+                getStringOrNullForDecimal(crPricing.getNetPaidIncludingTax(), PRECISION, CR_PRICING_NET_PAID_INC_TAX),
+                getStringOrNullForDecimal(crPricing.getFee(), PRECISION, CR_PRICING_FEE),
+                getStringOrNullForDecimal(crPricing.getExtShipCost(), PRECISION, CR_PRICING_EXT_SHIP_COST),
+                getStringOrNullForDecimal(crPricing.getRefundedCash(), PRECISION, CR_PRICING_REFUNDED_CASH),
+                getStringOrNullForDecimal(crPricing.getReversedCharge(), PRECISION, CR_PRICING_REVERSED_CHARGE),
+                getStringOrNullForDecimal(crPricing.getStoreCredit(), PRECISION, CR_PRICING_STORE_CREDIT),
+                getStringOrNullForDecimal(crPricing.getNetLoss(), PRECISION, CR_PRICING_NET_LOSS));
     }
 }
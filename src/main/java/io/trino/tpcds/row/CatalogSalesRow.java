@@ -53,6 +53,7 @@ import static io.trino.tpcds.generator.CatalogSalesGeneratorColumn.CS_SOLD_DATE_
 import static io.trino.tpcds.generator.CatalogSalesGeneratorColumn.CS_SOLD_ITEM_SK;
 import static io.trino.tpcds.generator.CatalogSalesGeneratorColumn.CS_SOLD_TIME_SK;
 import static io.trino.tpcds.generator.CatalogSalesGeneratorColumn.CS_WAREHOUSE_SK;
+import static io.trino.tpcds.type.Pricing.PRECISION;
 
 public class CatalogSalesRow
         extends TableRowWithNulls
@@ -142,21 +143,21 @@ public class CatalogSalesRow
                 getStringOrNullForKey(csPromoSk, CS_PROMO_SK),
                 getStringOrNull(csOrderNumber, CS_ORDER_NUMBER),
                 getStringOrNull(csPricing.getQuantity(), CS_PRICING_QUANTITY),
-                getStringOrNull(csPricing.getWholesaleCost(), CS_PRICING_WHOLESALE_COST),
-                getStringOrNull(csPricing.getListPrice(), CS_PRICING_LIST_PRICE),
-                getStringOrNull(csPricing.getSalesPrice(), CS_PRICING_SALES_PRICE),
-                getStringOrNull(csPricing.getExtDiscountAmount(), CS_PRICING_EXT_DISCOUNT_AMOUNT),
-                getStringOrNull(csPricing.getExtSalesPrice(), CS_PRICING_EXT_SALES_PRICE),
-                getStringOrNull(csPricing.getExtWholesaleCost(), CS_PRICING_EXT_WHOLESALE_COST),
-                getStringOrNull(csPricing.getExtListPrice(), CS_PRICING_EXT_LIST_PRICE),
-                getStringOrNull(csPricing.getExtTax(), CS_PRICING_EXT_TAX),
-                getStringOrNull(csPricing.getCouponAmount(), CS_PRICING_COUPON_AMT),
-                getStringOrNull(csPricing.getExtShipCost(), CS_PRICING_EXT_SHIP_COST),
-                getStringOrNull(csPricing.getNetPaid(), CS_PRICING_NET_PAID),
-                getStringOrNull(csPricing.getNetPaidIncludingTax(), CS_PRICING_NET_PAID_INC_TAX),
-                getStringOrNull(csPricing.getNetPaidIncludingShipping(), CS_PRICING_NET_PAID_INC_SHIP),
-                getStringOrNull(csPricing.getNetPaidIncludingShippingAndTax(), CS_PRICING_NET_PAID_INC_SHIP_TAX),
-                getStringOrNull(csPricing.getNetProfit(), CS_PRICING_NET_PROFIT));
+                getStringOrNullForDecimal(csPricing.getWholesaleCost(), PRECISION, CS_PRICING_WHOLESALE_COST),
+                getStringOrNullForDecimal(csPricing.getListPrice(), PRECISION, CS_PRICING_LIST_PRICE),
+                getStringOrNullForDecimal(csPricing.getSalesPrice(), PRECISION, CS_PRICING_SALES_PRICE),
+                getStringOrNullForDecimal(csPricing.getExtDiscountAmount(), PRECISION, CS_PRICING_EXT_DISCOUNT_AMOUNT),
+                getStringOrNullForDecimal(csPricing.getExtSalesPrice(), PRECISION, CS_PRICING_EXT_SALES_PRICE),
+                getStringOrNullForDecimal(csPricing.getExtWholesaleCost(), PRECISION, CS_PRICING_EXT_WHOLESALE_COST),
+                getStringOrNullForDecimal(csPricing.getExtListPrice(), PRECISION, CS_PRICING_EXT_LIST_PRICE),
+                getStringOrNullForDecimal(csPricing.getExtTax(), PRECISION, CS_PRICING_EXT_TAX),
+                getStringOrNullForDecimal(csPricing.getCouponAmount(), PRECISION, CS_PRICING_COUPON_AMT),
+                getStringOrNullForDecimal(csPricing.getExtShipCost(), PRECISION, CS_PRICING_EXT_SHIP_COST),
+                getStringOrNullForDecimal(csPricing.getNetPaid(), PRECISION, CS_PRICING_NET_PAID),
+                getStringOrNullForDecimal(csPricing.getNetPaidIncludingTax(), PRECISION, CS_PRICING_NET_PAID_INC_TAX),
+                getStringOrNullForDecimal(csPricing.getNetPaidIncludingShipping(), PRECISION, CS_PRICING_NET_PAID_INC_SHIP),
+                getStringOrNullForDecimal(csPricing.getNetPaidIncludingShippingAndTax(), PRECISION, CS_PRICING_NET_PAID_INC_SHIP_TAX),
+                getStringOrNullForDecimal(csPricing.getNetProfit(), PRECISION, CS_PRICING_NET_PROFIT));
     }
 
     public Pricing getCsPricing()
@@ -14,7 +14,7 @@
 
 package io.trino.tpcds.row;
 
-import io.trino.tpcds.type.Address;
+import io.trino.tpcds.type.MutableAddress;
 
 import java.util.List;
 
@@ -39,10 +39,10 @@ public class CustomerAddressRow
 {
     private final long caAddrSk;
     private final String caAddrId;
-    private final Address caAddress;
+    private final MutableAddress caAddress;
     private final String caLocationType;
 
-    public CustomerAddressRow(long nullBitMap, long caAddrSk, String caAddrId, Address caAddress, String caLocationType)
+    public CustomerAddressRow(long nullBitMap, long caAddrSk, String caAddrId, MutableAddress caAddress, String caLocationType)
     {
         super(nullBitMap, CA_ADDRESS_SK);
         this.caAddrSk = caAddrSk;
@@ -39,6 +39,7 @@ import static io.trino.tpcds.generator.StoreReturnsGeneratorColumn.SR_RETURNED_D
 import static io.trino.tpcds.generator.StoreReturnsGeneratorColumn.SR_RETURNED_TIME_SK;
 import static io.trino.tpcds.generator.StoreReturnsGeneratorColumn.SR_STORE_SK;
 import static io.trino.tpcds.generator.StoreReturnsGeneratorColumn.SR_TICKET_NUMBER;
+import static io.trino.tpcds.type.Pricing.PRECISION;
 
 public class StoreReturnsRow
         extends TableRowWithNulls
@@ -96,14 +97,14 @@ public class StoreReturnsRow
                 getStringOrNullForKey(srReasonSk, SR_REASON_SK),
                 getStringOrNullForKey(srTicketNumber, SR_TICKET_NUMBER),
                 getStringOrNull(srPricing.getQuantity(), SR_PRICING_QUANTITY),
-                getStringOrNull(srPricing.getNetPaid(), SR_PRICING_NET_PAID),
-                getStringOrNull(srPricing.getExtTax(), SR_PRICING_EXT_TAX),
-                getStringOrNull(srPricing.getNetPaidIncludingTax(), SR_PRICING_NET_PAID_INC_TAX),
-                getStringOrNull(srPricing.getFee(), SR_PRICING_FEE),
-                getStringOrNull(srPricing.getExtShipCost(), SR_PRICING_EXT_SHIP_COST),
-                getStringOrNull(srPricing.getRefundedCash(), SR_PRICING_REFUNDED_CASH),
-                getStringOrNull(srPricing.getReversedCharge(), SR_PRICING_REVERSED_CHARGE),
-                getStringOrNull(srPricing.getStoreCredit(), SR_PRICING_STORE_CREDIT),
-                getStringOrNull(srPricing.getNetLoss(), SR_PRICING_NET_LOSS));
+                getStringOrNullForDecimal(srPricing.getNetPaid(), PRECISION, SR_PRICING_NET_PAID),
+                getStringOrNullForDecimal(srPricing.getExtTax(), PRECISION, SR_PRICING_EXT_TAX),
+                getStringOrNullForDecimal(srPricing.getNetPaidIncludingTax(), PRECISION, SR_PRICING_NET_PAID_INC_TAX),
+                getStringOrNullForDecimal(srPricing.getFee(), PRECISION, SR_PRICING_FEE),
+                getStringOrNullForDecimal(srPricing.getExtShipCost(), PRECISION, SR_PRICING_EXT_SHIP_COST),
+                getStringOrNullForDecimal(srPricing.getRefundedCash(), PRECISION, SR_PRICING_REFUNDED_CASH),
+                getStringOrNullForDecimal(srPricing.getReversedCharge(), PRECISION, SR_PRICING_REVERSED_CHARGE),
+                getStringOrNullForDecimal(srPricing.getStoreCredit(), PRECISION, SR_PRICING_STORE_CREDIT),
+                getStringOrNullForDecimal(srPricing.getNetLoss(), PRECISION, SR_PRICING_NET_LOSS));
     }
 }
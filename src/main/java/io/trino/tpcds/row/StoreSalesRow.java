@@ -41,6 +41,7 @@ import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_SOLD_PROMO_S
 import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_SOLD_STORE_SK;
 import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_SOLD_TIME_SK;
 import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_TICKET_NUMBER;
+import static io.trino.tpcds.type.Pricing.PRECISION;
 
 public class StoreSalesRow
         extends TableRowWithNulls
@@ -98,18 +99,18 @@ public class StoreSalesRow
                 getStringOrNullForKey(ssSoldPromoSk, SS_SOLD_PROMO_SK),
                 getStringOrNullForKey(ssTicketNumber, SS_TICKET_NUMBER),
                 getStringOrNull(ssPricing.getQuantity(), SS_PRICING_QUANTITY),
-                getStringOrNull(ssPricing.getWholesaleCost(), SS_PRICING_WHOLESALE_COST),
-                getStringOrNull(ssPricing.getListPrice(), SS_PRICING_LIST_PRICE),
-                getStringOrNull(ssPricing.getSalesPrice(), SS_PRICING_SALES_PRICE),
-                getStringOrNull(ssPricing.getCouponAmount(), SS_PRICING_COUPON_AMT),
-                getStringOrNull(ssPricing.getExtSalesPrice(), SS_PRICING_EXT_SALES_PRICE),
-                getStringOrNull(ssPricing.getExtWholesaleCost(), SS_PRICING_EXT_WHOLESALE_COST),
-                getStringOrNull(ssPricing.getExtListPrice(), SS_PRICING_EXT_LIST_PRICE),
-                getStringOrNull(ssPricing.getExtTax(), SS_PRICING_EXT_TAX),
-                getStringOrNull(ssPricing.getCouponAmount(), SS_PRICING_COUPON_AMT),
-                getStringOrNull(ssPricing.getNetPaid(), SS_PRICING_NET_PAID),
-                getStringOrNull(ssPricing.getNetPaidIncludingTax(), SS_PRICING_NET_PAID_INC_TAX),
-                getStringOrNull(ssPricing.getNetProfit(), SS_PRICING_NET_PROFIT));
+                getStringOrNullForDecimal(ssPricing.getWholesaleCost(), PRECISION, SS_PRICING_WHOLESALE_COST),
+                getStringOrNullForDecimal(ssPricing.getListPrice(), PRECISION, SS_PRICING_LIST_PRICE),
+                getStringOrNullForDecimal(ssPricing.getSalesPrice(), PRECISION, SS_PRICING_SALES_PRICE),
+                getStringOrNullForDecimal(ssPricing.getCouponAmount(), PRECISION, SS_PRICING_COUPON_AMT),
+                getStringOrNullForDecimal(ssPricing.getExtSalesPrice(), PRECISION, SS_PRICING_EXT_SALES_PRICE),
+                getStringOrNullForDecimal(ssPricing.getExtWholesaleCost(), PRECISION, SS_PRICING_EXT_WHOLESALE_COST),
+                getStringOrNullForDecimal(ssPricing.getExtListPrice(), PRECISION, SS_PRICING_EXT_LIST_PRICE),
+                getStringOrNullForDecimal(ssPricing.getExtTax(), PRECISION, SS_PRICING_EXT_TAX),
+                getStringOrNullForDecimal(ssPricing.getCouponAmount(), PRECISION, SS_PRICING_COUPON_AMT),
+                getStringOrNullForDecimal(ssPricing.getNetPaid(), PRECISION, SS_PRICING_NET_PAID),
+                getStringOrNullForDecimal(ssPricing.getNetPaidIncludingTax(), PRECISION, SS_PRICING_NET_PAID_INC_TAX),
+                getStringOrNullForDecimal(ssPricing.getNetProfit(), PRECISION, SS_PRICING_NET_PROFIT));
     }
 
     public long getSsTicketNumber()
@@ -15,8 +15,9 @@
 package io.trino.tpcds.row;
 
 import io.trino.tpcds.generator.GeneratorColumn;
+import io.trino.tpcds.type.Decimals;
 
-import static io.trino.tpcds.type.Date.fromJulianDays;
+import static io.trino.tpcds.type.CalendarCache.formatJulianDays;
 
 public abstract class TableRowWithNulls
         implements TableRow
@@ -41,6 +42,11 @@ public abstract class TableRowWithNulls
         return isNull(column) ? null : value.toString();
     }
 
+    protected String getStringOrNullForDecimal(long unscaledValue, int precision, GeneratorColumn column)
+    {
+        return isNull(column) ? null : Decimals.format(unscaledValue, precision);
+    }
+
     protected <T> String getStringOrNullForKey(long value, GeneratorColumn column)
     {
         return (isNull(column) || value == -1) ? null : Long.toString(value);
@@ -57,6 +63,6 @@ public abstract class TableRowWithNulls
 
     protected <T> String getDateStringOrNullFromJulianDays(long value, GeneratorColumn column)
     {
-        return (isNull(column) || value < 0) ? null : fromJulianDays((int) value).toString();
+        return (isNull(column) || value < 0) ? null : formatJulianDays((int) value);
     }
 }
@@ -43,6 +43,7 @@ import static io.trino.tpcds.generator.WebReturnsGeneratorColumn.WR_RETURNING_CD
 import static io.trino.tpcds.generator.WebReturnsGeneratorColumn.WR_RETURNING_CUSTOMER_SK;
 import static io.trino.tpcds.generator.WebReturnsGeneratorColumn.WR_RETURNING_HDEMO_SK;
 import static io.trino.tpcds.generator.WebReturnsGeneratorColumn.WR_WEB_PAGE_SK;
+import static io.trino.tpcds.type.Pricing.PRECISION;
 
 public class WebReturnsRow
         extends TableRowWithNulls
@@ -116,14 +117,14 @@ public class WebReturnsRow
                 getStringOrNullForKey(wrReasonSk, WR_REASON_SK),
                 getStringOrNullForKey(wrOrderNumber, WR_ORDER_NUMBER),
                 getStringOrNull(wrPricing.getQuantity(), WR_PRICING_QUANTITY),
-                getStringOrNull(wrPricing.getNetPaid(), WR_PRICING_NET_PAID),
-                getStringOrNull(wrPricing.getExtTax(), WR_PRICING_EXT_TAX),
-                getStringOrNull(wrPricing.getNetPaidIncludingTax(), WR_PRICING_NET_PAID_INC_TAX),
-                getStringOrNull(wrPricing.getFee(), WR_PRICING_FEE),
-                getStringOrNull(wrPricing.getExtShipCost(), WR_PRICING_EXT_SHIP_COST),
-                getStringOrNull(wrPricing.getRefundedCash(), WR_PRICING_REFUNDED_CASH),
-                getStringOrNull(wrPricing.getReversedCharge(), WR_PRICING_REVERSED_CHARGE),
-                getStringOrNull(wrPricing.getStoreCredit(), WR_PRICING_STORE_CREDIT),
-                getStringOrNull(wrPricing.getNetLoss(), WR_PRICING_NET_LOSS));
+                getStringOrNullForDecimal(wrPricing.getNetPaid(), PRECISION, WR_PRICING_NET_PAID),
+                getStringOrNullForDecimal(wrPricing.getExtTax(), PRECISION, WR_PRICING_EXT_TAX),
+                getStringOrNullForDecimal(wrPricing.getNetPaidIncludingTax(), PRECISION, WR_PRICING_NET_PAID_INC_TAX),
+                getStringOrNullForDecimal(wrPricing.getFee(), PRECISION, WR_PRICING_FEE),
+                getStringOrNullForDecimal(wrPricing.getExtShipCost(), PRECISION, WR_PRICING_EXT_SHIP_COST),
+                getStringOrNullForDecimal(wrPricing.getRefundedCash(), PRECISION, WR_PRICING_REFUNDED_CASH),
+                getStringOrNullForDecimal(wrPricing.getReversedCharge(), PRECISION, WR_PRICING_REVERSED_CHARGE),
+                getStringOrNullForDecimal(wrPricing.getStoreCredit(), PRECISION, WR_PRICING_STORE_CREDIT),
+                getStringOrNullForDecimal(wrPricing.getNetLoss(), PRECISION, WR_PRICING_NET_LOSS));
     }
 }
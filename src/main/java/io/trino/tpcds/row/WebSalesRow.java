@@ -53,6 +53,7 @@ import static io.trino.tpcds.generator.WebSalesGeneratorColumn.WS_SOLD_TIME_SK;
 import static io.trino.tpcds.generator.WebSalesGeneratorColumn.WS_WAREHOUSE_SK;
 import static io.trino.tpcds.generator.WebSalesGeneratorColumn.WS_WEB_PAGE_SK;
 import static io.trino.tpcds.generator.WebSalesGeneratorColumn.WS_WEB_SITE_SK;
+import static io.trino.tpcds.type.Pricing.PRECISION;
 
 public class WebSalesRow
         extends TableRowWithNulls
@@ -187,20 +188,20 @@ public class WebSalesRow
                 getStringOrNullForKey(wsPromoSk, WS_PROMO_SK),
                 getStringOrNullForKey(wsOrderNumber, WS_ORDER_NUMBER),
                 getStringOrNull(wsPricing.getQuantity(), WS_PRICING_QUANTITY),
-                getStringOrNull(wsPricing.getWholesaleCost(), WS_PRICING_WHOLESALE_COST),
-                getStringOrNull(wsPricing.getListPrice(), WS_PRICING_LIST_PRICE),
-                getStringOrNull(wsPricing.getSalesPrice(), WS_PRICING_SALES_PRICE),
-                getStringOrNull(wsPricing.getExtDiscountAmount(), WS_PRICING_EXT_DISCOUNT_AMT),
-                getStringOrNull(wsPricing.getExtSalesPrice(), WS_PRICING_EXT_SALES_PRICE),
-                getStringOrNull(wsPricing.getExtWholesaleCost(), WS_PRICING_EXT_WHOLESALE_COST),
-                getStringOrNull(wsPricing.getExtListPrice(), WS_PRICING_EXT_LIST_PRICE),
-                getStringOrNull(wsPricing.getExtTax(), WS_PRICING_EXT_TAX),
-                getStringOrNull(wsPricing.getCouponAmount(), WS_PRICING_COUPON_AMT),
-                getStringOrNull(wsPricing.getExtShipCost(), WS_PRICING_EXT_SHIP_COST),
-                getStringOrNull(wsPricing.getNetPaid(), WS_PRICING_NET_PAID),
-                getStringOrNull(wsPricing.getNetPaidIncludingTax(), WS_PRICING_NET_PAID_INC_TAX),
-                getStringOrNull(wsPricing.getNetPaidIncludingShipping(), WS_PRICING_NET_PAID_INC_SHIP),
-                getStringOrNull(wsPricing.getNetPaidIncludingShippingAndTax(), WS_PRICING_NET_PAID_INC_SHIP_TAX),
-                getStringOrNull(wsPricing.getNetProfit(), WS_PRICING_NET_PROFIT));
+                getStringOrNullForDecimal(wsPricing.getWholesaleCost(), PRECISION, WS_PRICING_WHOLESALE_COST),
+                getStringOrNullForDecimal(wsPricing.getListPrice(), PRECISION, WS_PRICING_LIST_PRICE),
+                getStringOrNullForDecimal(wsPricing.getSalesPrice(), PRECISION, WS_PRICING_SALES_PRICE),
+                getStringOrNullForDecimal(wsPricing.getExtDiscountAmount(), PRECISION, WS_PRICING_EXT_DISCOUNT_AMT),
+                getStringOrNullForDecimal(wsPricing.getExtSalesPrice(), PRECISION, WS_PRICING_EXT_SALES_PRICE),
+                getStringOrNullForDecimal(wsPricing.getExtWholesaleCost(), PRECISION, WS_PRICING_EXT_WHOLESALE_COST),
+                getStringOrNullForDecimal(wsPricing.getExtListPrice(), PRECISION, WS_PRICING_EXT_LIST_PRICE),
+                getStringOrNullForDecimal(wsPricing.getExtTax(), PRECISION, WS_PRICING_EXT_TAX),
+                getStringOrNullForDecimal(wsPricing.getCouponAmount(), PRECISION, WS_PRICING_COUPON_AMT),
+                getStringOrNullForDecimal(wsPricing.getExtShipCost(), PRECISION, WS_PRICING_EXT_SHIP_COST),
+                getStringOrNullForDecimal(wsPricing.getNetPaid(), PRECISION, WS_PRICING_NET_PAID),
+                getStringOrNullForDecimal(wsPricing.getNetPaidIncludingTax(), PRECISION, WS_PRICING_NET_PAID_INC_TAX),
+                getStringOrNullForDecimal(wsPricing.getNetPaidIncludingShipping(), PRECISION, WS_PRICING_NET_PAID_INC_SHIP),
+                getStringOrNullForDecimal(wsPricing.getNetPaidIncludingShippingAndTax(), PRECISION, WS_PRICING_NET_PAID_INC_SHIP_TAX),
+                getStringOrNullForDecimal(wsPricing.getNetProfit(), PRECISION, WS_PRICING_NET_PROFIT));
     }
 }
@@ -14,48 +14,103 @@
 
 package io.trino.tpcds.row.generator;
 
-import com.google.common.collect.ImmutableMap;
+import io.trino.tpcds.GenerationContext;
+import io.trino.tpcds.JoinKeyGenerator;
+import io.trino.tpcds.Session;
 import io.trino.tpcds.Table;
 import io.trino.tpcds.generator.GeneratorColumn;
 import io.trino.tpcds.random.RandomNumberStream;
-import io.trino.tpcds.random.RandomNumberStreamImpl;
+import io.trino.tpcds.random.RandomNumberStreams;
 
-import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.trino.tpcds.GenerationContext.getRandomNumberStreamLayout;
 
 public abstract class AbstractRowGenerator
         implements RowGenerator
 {
-    private final ImmutableMap<GeneratorColumn, RandomNumberStream> randomNumberStreamMap;
+    private final RandomNumberStreams randomNumberStreams;
+
+    // the join key generator and shared permutation of each generator column, indexed by ordinal and looked up
+    // on first use in the generation context of the session
+    private final JoinKeyGenerator[] joinKeyGenerators;
+    private final Table[] joinKeyTables;
+    private final int[][] permutations;
+    private GenerationContext generationContext;
 
     public AbstractRowGenerator(Table table)
     {
-        ImmutableMap.Builder<GeneratorColumn, RandomNumberStream> mapBuilder = ImmutableMap.builder();
-        for (GeneratorColumn column : table.getGeneratorColumns()) {
-            mapBuilder.put(column, new RandomNumberStreamImpl(column.getGlobalColumnNumber(), column.getSeedsPerRow()));
-        }
-        randomNumberStreamMap = mapBuilder.build();
+        randomNumberStreams = new RandomNumberStreams(getRandomNumberStreamLayout(table));
+        joinKeyGenerators = new JoinKeyGenerator[table.getGeneratorColumns().length];
+        joinKeyTables = new Table[table.getGeneratorColumns().length];
+        permutations = new int[table.getGeneratorColumns().length][];
     }
 
     @Override
     public void consumeRemainingSeedsForRow()
     {
-        for (RandomNumberStream randomNumberStream : randomNumberStreamMap.values()) {
-            while (randomNumberStream.getSeedsUsed() < randomNumberStream.getSeedsPerRow()) {
-                generateUniformRandomInt(1, 100, randomNumberStream);
-            }
-            randomNumberStream.resetSeedsUsed();
-        }
+        randomNumberStreams.consumeRemainingSeedsForRow();
     }
 
     public void skipRowsUntilStartingRowNumber(long startingRowNumber)
     {
-        for (RandomNumberStream randomNumberStream : randomNumberStreamMap.values()) {
-            randomNumberStream.skipRows((int) startingRowNumber - 1);  // casting long to int copies C code
-        }
+        randomNumberStreams.skipRows((int) startingRowNumber - 1);  // casting long to int copies C code
     }
 
+    /**
+     * Repositions the generator so that the next row it generates is {@code rowNumber}, in the
+     * same state as a new generator whose rows start at {@code rowNumber}. Generators can be moved
+     * forward or backward any number of times.
+     */
+    public void seekToRow(long rowNumber)
+    {
+        checkArgument(rowNumber >= 1, "rowNumber must be at least 1: %s", rowNumber);
+        // unlike skipRowsUntilStartingRowNumber, the row number is not truncated to an int
+        randomNumberStreams.skipRows(rowNumber - 1);
+        resetRowState();
+    }
+
+    // Generators that carry state from one row to the next reset it here, to what a new generator has
+    protected void resetRowState() {}
+
     public RandomNumberStream getRandomNumberStream(GeneratorColumn column)
     {
-        return randomNumberStreamMap.get(column);
+        return randomNumberStreams.getStream(column);
+    }
+
+    // The join key generator of a column is looked up again only when the column draws keys into another table
+    protected long generateJoinKey(GeneratorColumn fromColumn, Table toTable, long joinCount, Session session)
+    {
+        useGenerationContext(session.getGenerationContext());
+        int ordinal = fromColumn.ordinal();
+        JoinKeyGenerator joinKeyGenerator = joinKeyGenerators[ordinal];
+        if (joinKeyGenerator == null || joinKeyTables[ordinal] != toTable) {
+            joinKeyGenerator = generationContext.getJoinKeyGenerator(fromColumn, toTable);
+            joinKeyGenerators[ordinal] = joinKeyGenerator;
+            joinKeyTables[ordinal] = toTable;
+        }
+        return joinKeyGenerator.generateJoinKey(getRandomNumberStream(fromColumn), joinCount);
+    }
+
+    // The returned array is shared by all the generators of the generation context, and must not be modified
+    protected int[] getSharedPermutation(GeneratorColumn column, int size, Session session)
+    {
+        useGenerationContext(session.getGenerationContext());
+        int[] permutation = permutations[column.ordinal()];
+        if (permutation == null) {
+            permutation = generationContext.getSharedPermutation(column, size);
+            permutations[column.ordinal()] = permutation;
+        }
+        return permutation;
+    }
+
+    private void useGenerationContext(GenerationContext context)
+    {
+        if (context != generationContext) {
+            Arrays.fill(joinKeyGenerators, null);
+            Arrays.fill(permutations, null);
+            generationContext = context;
+        }
     }
 }
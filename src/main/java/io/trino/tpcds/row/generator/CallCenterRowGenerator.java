@@ -80,6 +80,12 @@ public class CallCenterRowGenerator
         super(CALL_CENTER);
     }
 
+    @Override
+    protected void resetRowState()
+    {
+        previousRow = Optional.empty();
+    }
+
     @Override
     public RowGeneratorResult generateRowAndChildRows(long rowNumber, Session session, RowGenerator parentRowGenerator, RowGenerator childRowGenerator)
     {
@@ -15,14 +15,12 @@
 package io.trino.tpcds.row.generator;
 
 import com.google.common.collect.ImmutableList;
-import io.trino.tpcds.Scaling;
 import io.trino.tpcds.Session;
 import io.trino.tpcds.row.CatalogReturnsRow;
 import io.trino.tpcds.row.CatalogSalesRow;
 import io.trino.tpcds.row.TableRow;
 import io.trino.tpcds.type.Pricing;
 
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.Table.CATALOG_RETURNS;
 import static io.trino.tpcds.Table.CUSTOMER;
@@ -46,7 +44,6 @@ import static io.trino.tpcds.generator.CatalogReturnsGeneratorColumn.CR_RETURNIN
 import static io.trino.tpcds.generator.CatalogReturnsGeneratorColumn.CR_SHIP_MODE_SK;
 import static io.trino.tpcds.generator.CatalogReturnsGeneratorColumn.CR_WAREHOUSE_SK;
 import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
-import static io.trino.tpcds.type.Pricing.generatePricingForReturnsTable;
 import static java.util.Collections.emptyList;
 
 public class CatalogReturnsRowGenerator
@@ -54,6 +51,8 @@ public class CatalogReturnsRowGenerator
 {
     public static final int RETURN_PERCENT = 10;
 
+    private final Pricing crPricing = new Pricing();
+
     public CatalogReturnsRowGenerator()
     {
         super(CATALOG_RETURNS);
@@ -79,11 +78,10 @@ public class CatalogReturnsRowGenerator
         long nullBitMap = createNullBitMap(CATALOG_RETURNS, getRandomNumberStream(CR_NULLS));
 
         // some of the fields are conditionally taken from the sale
-        Scaling scaling = session.getScaling();
-        long crReturningCustomerSk = generateJoinKey(CR_RETURNING_CUSTOMER_SK, getRandomNumberStream(CR_RETURNING_CUSTOMER_SK), CUSTOMER, 2, scaling);
-        long crReturningCdemoSk = generateJoinKey(CR_RETURNING_CDEMO_SK, getRandomNumberStream(CR_RETURNING_CDEMO_SK), CUSTOMER_DEMOGRAPHICS, 2, scaling);
-        long crReturningHdemoSk = generateJoinKey(CR_RETURNING_HDEMO_SK, getRandomNumberStream(CR_RETURNING_HDEMO_SK), HOUSEHOLD_DEMOGRAPHICS, 2, scaling);
-        long crReturningAddrSk = generateJoinKey(CR_RETURNING_ADDR_SK, getRandomNumberStream(CR_RETURNING_ADDR_SK), CUSTOMER_ADDRESS, 2, scaling);
+        long crReturningCustomerSk = generateJoinKey(CR_RETURNING_CUSTOMER_SK, CUSTOMER, 2, session);
+        long crReturningCdemoSk = generateJoinKey(CR_RETURNING_CDEMO_SK, CUSTOMER_DEMOGRAPHICS, 2, session);
+        long crReturningHdemoSk = generateJoinKey(CR_RETURNING_HDEMO_SK, HOUSEHOLD_DEMOGRAPHICS, 2, session);
+        long crReturningAddrSk = generateJoinKey(CR_RETURNING_ADDR_SK, CUSTOMER_ADDRESS, 2, session);
         if (generateUniformRandomInt(0, 99, getRandomNumberStream(CR_RETURNING_CUSTOMER_SK)) < CatalogSalesRowGenerator.GIFT_PERCENTAGE) {
             crReturningCustomerSk = salesRow.getCsShipCustomerSk();
             crReturningCdemoSk = salesRow.getCsShipCdemoSk();
@@ -96,10 +94,10 @@ public class CatalogReturnsRowGenerator
         if (salesRow.getCsPricing().getQuantity() != -1) {
             quantity = generateUniformRandomInt(1, quantity, getRandomNumberStream(CR_PRICING));
         }
-        Pricing crPricing = generatePricingForReturnsTable(CR_PRICING, getRandomNumberStream(CR_PRICING), quantity, salesPricing);
+        crPricing.computeForReturnsTable(CR_PRICING, getRandomNumberStream(CR_PRICING), quantity, salesPricing);
 
-        return new CatalogReturnsRow(generateJoinKey(CR_RETURNED_DATE_SK, getRandomNumberStream(CR_RETURNED_DATE_SK), DATE_DIM, salesRow.getCsShipDateSk(), scaling), // items cannot be returned until  they are shipped
-                generateJoinKey(CR_RETURNED_TIME_SK, getRandomNumberStream(CR_RETURNED_TIME_SK), TIME_DIM, 1, scaling),
+        return new CatalogReturnsRow(generateJoinKey(CR_RETURNED_DATE_SK, DATE_DIM, salesRow.getCsShipDateSk(), session), // items cannot be returned until  they are shipped
+                generateJoinKey(CR_RETURNED_TIME_SK, TIME_DIM, 1, session),
                 salesRow.getCsSoldItemSk(),
                 salesRow.getCsBillCustomerSk(),
                 salesRow.getCsBillCdemoSk(),
@@ -111,9 +109,9 @@ public class CatalogReturnsRowGenerator
                 crReturningAddrSk,
                 salesRow.getCsCallCenterSk(),
                 salesRow.getCsCatalogPageSk(),
-                generateJoinKey(CR_SHIP_MODE_SK, getRandomNumberStream(CR_SHIP_MODE_SK), SHIP_MODE, 1, scaling),
-                generateJoinKey(CR_WAREHOUSE_SK, getRandomNumberStream(CR_WAREHOUSE_SK), WAREHOUSE, 1, scaling),
-                generateJoinKey(CR_REASON_SK, getRandomNumberStream(CR_REASON_SK), REASON, 1, scaling),
+                generateJoinKey(CR_SHIP_MODE_SK, SHIP_MODE, 1, session),
+                generateJoinKey(CR_WAREHOUSE_SK, WAREHOUSE, 1, session),
+                generateJoinKey(CR_REASON_SK, REASON, 1, session),
                 salesRow.getCsOrderNumber(),
                 crPricing,
                 nullBitMap);
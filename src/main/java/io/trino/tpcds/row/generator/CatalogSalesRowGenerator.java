@@ -27,11 +27,9 @@ import javax.annotation.concurrent.NotThreadSafe;
 import java.util.ArrayList;
 import java.util.List;
 
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.Parallel.skipDaysUntilFirstRowOfChunk;
 import static io.trino.tpcds.Permutations.getPermutationEntry;
-import static io.trino.tpcds.Permutations.makePermutation;
 import static io.trino.tpcds.SlowlyChangingDimensionUtils.matchSurrogateKey;
 import static io.trino.tpcds.Table.CALL_CENTER;
 import static io.trino.tpcds.Table.CATALOG_PAGE;
@@ -67,7 +65,6 @@ import static io.trino.tpcds.generator.CatalogSalesGeneratorColumn.CS_SOLD_ITEM_
 import static io.trino.tpcds.generator.CatalogSalesGeneratorColumn.CS_SOLD_TIME_SK;
 import static io.trino.tpcds.generator.CatalogSalesGeneratorColumn.CS_WAREHOUSE_SK;
 import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
-import static io.trino.tpcds.type.Pricing.generatePricingForSalesTable;
 
 @NotThreadSafe
 public class CatalogSalesRowGenerator
@@ -83,25 +80,35 @@ public class CatalogSalesRowGenerator
 
     // These do not get set in the constructor because it needs session information,
     // which isn't available at construction time.
-    private int[] itemPermutation; // would be final if initialized in constructor
-    private long julianDate;
+    private long julianDate; // 0 until the date of the first row of the chunk has been found
     private long nextDateIndex;
 
     private int remainingLineItems;
     private OrderInfo orderInfo = new OrderInfo(); // initialize with all zeros because one of the fields is used in generation of new orderInfos.
     private int ticketItemBase;
 
+    private final Pricing csPricing = new Pricing();
+
     public CatalogSalesRowGenerator()
     {
         super(CATALOG_SALES);
     }
 
+    @Override
+    protected void resetRowState()
+    {
+        remainingLineItems = 0;
+        orderInfo = new OrderInfo();
+        ticketItemBase = 0;
+        julianDate = 0;
+    }
+
     @Override
     public RowGeneratorResult generateRowAndChildRows(long rowNumber, Session session, RowGenerator parentRowGenerator, RowGenerator childRowGenerator)
     {
         int itemCount = (int) session.getScaling().getIdCount(ITEM);
-        if (itemPermutation == null) {
-            itemPermutation = makePermutation(itemCount, getRandomNumberStream(CS_PERMUTE));
+        int[] itemPermutation = getSharedPermutation(CS_PERMUTE, itemCount, session);
+        if (julianDate == 0) {
             DateNextIndexPair pair = skipDaysUntilFirstRowOfChunk(CATALOG_SALES, session);
             julianDate = pair.getJulianDate();
             nextDateIndex = pair.getNextDateIndex();
@@ -131,12 +138,12 @@ public class CatalogSalesRowGenerator
         long csSoldItemSk = matchSurrogateKey(item, orderInfo.getCsSoldDateSk(), ITEM, scaling);
 
         // catalog page needs to be from a catalog active at the time of the sale
-        long csCatalogPageSk = (orderInfo.getCsSoldDateSk() == -1) ? -1 : generateJoinKey(CS_CATALOG_PAGE_SK, getRandomNumberStream(CS_CATALOG_PAGE_SK), CATALOG_PAGE, orderInfo.getCsSoldDateSk(), scaling);
+        long csCatalogPageSk = (orderInfo.getCsSoldDateSk() == -1) ? -1 : generateJoinKey(CS_CATALOG_PAGE_SK, CATALOG_PAGE, orderInfo.getCsSoldDateSk(), session);
 
-        long csShipModeSk = generateJoinKey(CS_SHIP_MODE_SK, getRandomNumberStream(CS_SHIP_MODE_SK), SHIP_MODE, 1, scaling);
-        long csWarehouseSk = generateJoinKey(CS_WAREHOUSE_SK, getRandomNumberStream(CS_WAREHOUSE_SK), WAREHOUSE, 1, scaling);
-        long csPromoSk = generateJoinKey(CS_PROMO_SK, getRandomNumberStream(CS_PROMO_SK), PROMOTION, 1, scaling);
-        Pricing csPricing = generatePricingForSalesTable(CS_PRICING, getRandomNumberStream(CS_PRICING));
+        long csShipModeSk = generateJoinKey(CS_SHIP_MODE_SK, SHIP_MODE, 1, session);
+        long csWarehouseSk = generateJoinKey(CS_WAREHOUSE_SK, WAREHOUSE, 1, session);
+        long csPromoSk = generateJoinKey(CS_PROMO_SK, PROMOTION, 1, session);
+        csPricing.computeForSalesTable(CS_PRICING, getRandomNumberStream(CS_PRICING));
 
         CatalogSalesRow catalogSalesRow = new CatalogSalesRow(orderInfo.getCsSoldDateSk(),
                 orderInfo.getCsSoldTimeSk(),
@@ -185,7 +192,7 @@ public class CatalogSalesRowGenerator
         // move to a new date if the row number is ahead of the nextDateIndex
         while (rowNumber > nextDateIndex) {
             julianDate += 1;
-            nextDateIndex += scaling.getRowCountForDate(CATALOG_SALES, julianDate);
+            nextDateIndex += scaling.getDailyRowIndex(CATALOG_SALES).getRowCountForDate(julianDate);
         }
 
         // Some attributes remain the same for each lineitem in an order; others are different
@@ -196,12 +203,12 @@ public class CatalogSalesRowGenerator
         // recent values that were used to set the values of the orderline-invariant columns
 
         long csSoldDateSk = julianDate;
-        long csSoldTimeSk = generateJoinKey(CS_SOLD_TIME_SK, getRandomNumberStream(CS_SOLD_TIME_SK), TIME_DIM, orderInfo.getCsCallCenterSk(), scaling);
-        long csCallCenterSk = (csSoldDateSk == -1) ? -1 : generateJoinKey(CS_CALL_CENTER_SK, getRandomNumberStream(CS_CALL_CENTER_SK), CALL_CENTER, csSoldDateSk, scaling);
-        long csBillCustomerSk = generateJoinKey(CS_BILL_CUSTOMER_SK, getRandomNumberStream(CS_BILL_CUSTOMER_SK), CUSTOMER, 1, scaling);
-        long csBillCdemoSk = generateJoinKey(CS_BILL_CDEMO_SK, getRandomNumberStream(CS_BILL_CDEMO_SK), CUSTOMER_DEMOGRAPHICS, 1, scaling);
-        long csBillHdemoSk = generateJoinKey(CS_BILL_HDEMO_SK, getRandomNumberStream(CS_BILL_HDEMO_SK), HOUSEHOLD_DEMOGRAPHICS, 1, scaling);
-        long csBillAddrSk = generateJoinKey(CS_BILL_ADDR_SK, getRandomNumberStream(CS_BILL_ADDR_SK), CUSTOMER_ADDRESS, 1, scaling);
+        long csSoldTimeSk = generateJoinKey(CS_SOLD_TIME_SK, TIME_DIM, orderInfo.getCsCallCenterSk(), session);
+        long csCallCenterSk = (csSoldDateSk == -1) ? -1 : generateJoinKey(CS_CALL_CENTER_SK, CALL_CENTER, csSoldDateSk, session);
+        long csBillCustomerSk = generateJoinKey(CS_BILL_CUSTOMER_SK, CUSTOMER, 1, session);
+        long csBillCdemoSk = generateJoinKey(CS_BILL_CDEMO_SK, CUSTOMER_DEMOGRAPHICS, 1, session);
+        long csBillHdemoSk = generateJoinKey(CS_BILL_HDEMO_SK, HOUSEHOLD_DEMOGRAPHICS, 1, session);
+        long csBillAddrSk = generateJoinKey(CS_BILL_ADDR_SK, CUSTOMER_ADDRESS, 1, session);
 
         // most orders are for the ordering customers, some are not
         int giftPercentage = generateUniformRandomInt(0, 99, getRandomNumberStream(CS_SHIP_CUSTOMER_SK));
@@ -210,10 +217,10 @@ public class CatalogSalesRowGenerator
         long csShipHdemoSk = csBillHdemoSk;
         long csShipAddrSk = csBillAddrSk;
         if (giftPercentage <= GIFT_PERCENTAGE) {
-            csShipCustomerSk = generateJoinKey(CS_SHIP_CUSTOMER_SK, getRandomNumberStream(CS_SHIP_CUSTOMER_SK), CUSTOMER, 2, scaling);
-            csShipCdemoSk = generateJoinKey(CS_SHIP_CDEMO_SK, getRandomNumberStream(CS_SHIP_CDEMO_SK), CUSTOMER_DEMOGRAPHICS, 2, scaling);
-            csShipHdemoSk = generateJoinKey(CS_SHIP_HDEMO_SK, getRandomNumberStream(CS_SHIP_HDEMO_SK), HOUSEHOLD_DEMOGRAPHICS, 2, scaling);
-            csShipAddrSk = generateJoinKey(CS_SHIP_ADDR_SK, getRandomNumberStream(CS_SHIP_ADDR_SK), CUSTOMER_ADDRESS, 2, scaling);
+            csShipCustomerSk = generateJoinKey(CS_SHIP_CUSTOMER_SK, CUSTOMER, 2, session);
+            csShipCdemoSk = generateJoinKey(CS_SHIP_CDEMO_SK, CUSTOMER_DEMOGRAPHICS, 2, session);
+            csShipHdemoSk = generateJoinKey(CS_SHIP_HDEMO_SK, HOUSEHOLD_DEMOGRAPHICS, 2, session);
+            csShipAddrSk = generateJoinKey(CS_SHIP_ADDR_SK, CUSTOMER_ADDRESS, 2, session);
         }
 
         long csOrderNumber = rowNumber;
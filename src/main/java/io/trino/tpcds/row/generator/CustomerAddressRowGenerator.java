@@ -16,7 +16,7 @@ package io.trino.tpcds.row.generator;
 
 import io.trino.tpcds.Session;
 import io.trino.tpcds.row.CustomerAddressRow;
-import io.trino.tpcds.type.Address;
+import io.trino.tpcds.type.MutableAddress;
 
 import static io.trino.tpcds.BusinessKeyGenerator.makeBusinessKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
@@ -31,6 +31,9 @@ import static io.trino.tpcds.type.Address.makeAddressForColumn;
 public class CustomerAddressRowGenerator
         extends AbstractRowGenerator
 {
+    // reused for every row, so the address of a row is only valid until the next row is generated
+    private final MutableAddress caAddr = new MutableAddress();
+
     public CustomerAddressRowGenerator()
     {
         super(CUSTOMER_ADDRESS);
@@ -42,7 +45,7 @@ public class CustomerAddressRowGenerator
         long nullBitMap = createNullBitMap(CUSTOMER_ADDRESS, getRandomNumberStream(CA_NULLS));
         long caAddrSk = rowNumber;
         String caAddrId = makeBusinessKey(rowNumber);
-        Address caAddr = makeAddressForColumn(CUSTOMER_ADDRESS, getRandomNumberStream(CA_ADDRESS), session.getScaling());
+        makeAddressForColumn(CUSTOMER_ADDRESS, getRandomNumberStream(CA_ADDRESS), session.getScaling(), caAddr);
         String caLocationType = pickRandomLocationType(getRandomNumberStream(CA_LOCATION_TYPE), UNIFORM);
         return new RowGeneratorResult(new CustomerAddressRow(nullBitMap, caAddrSk, caAddrId, caAddr, caLocationType));
     }
@@ -34,9 +34,9 @@ import static io.trino.tpcds.generator.CustomerDemographicsGeneratorColumn.CD_NU
 public class CustomerDemographicsRowGenerator
         extends AbstractRowGenerator
 {
-    private static final int MAX_CHILDREN = 7;
-    private static final int MAX_EMPLOYED = 7;
-    private static final int MAX_COLLEGE = 7;
+    public static final int MAX_CHILDREN = 7;
+    public static final int MAX_EMPLOYED = 7;
+    public static final int MAX_COLLEGE = 7;
 
     public CustomerDemographicsRowGenerator()
     {
@@ -14,13 +14,11 @@
 
 package io.trino.tpcds.row.generator;
 
-import io.trino.tpcds.Scaling;
 import io.trino.tpcds.Session;
 import io.trino.tpcds.row.CustomerRow;
 import io.trino.tpcds.type.Date;
 
 import static io.trino.tpcds.BusinessKeyGenerator.makeBusinessKey;
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.Table.CUSTOMER;
 import static io.trino.tpcds.Table.CUSTOMER_ADDRESS;
@@ -73,10 +71,9 @@ public class CustomerRowGenerator
         int cPreferredPercent = 50;
         boolean cPreferredCustFlag = randomInt < cPreferredPercent;
 
-        Scaling scaling = session.getScaling();
-        long cCurrentHdemoSk = generateJoinKey(C_CURRENT_HDEMO_SK, getRandomNumberStream(C_CURRENT_HDEMO_SK), HOUSEHOLD_DEMOGRAPHICS, 1, scaling);
-        long cCurrentCdemoSk = generateJoinKey(C_CURRENT_CDEMO_SK, getRandomNumberStream(C_CURRENT_CDEMO_SK), CUSTOMER_DEMOGRAPHICS, 1, scaling);
-        long cCurrentAddrSk = generateJoinKey(C_CURRENT_ADDR_SK, getRandomNumberStream(C_CURRENT_ADDR_SK), CUSTOMER_ADDRESS, cCustomerSk, scaling);
+        long cCurrentHdemoSk = generateJoinKey(C_CURRENT_HDEMO_SK, HOUSEHOLD_DEMOGRAPHICS, 1, session);
+        long cCurrentCdemoSk = generateJoinKey(C_CURRENT_CDEMO_SK, CUSTOMER_DEMOGRAPHICS, 1, session);
+        long cCurrentAddrSk = generateJoinKey(C_CURRENT_ADDR_SK, CUSTOMER_ADDRESS, cCustomerSk, session);
 
         int nameIndex = pickRandomIndex(GENERAL_FREQUENCY, getRandomNumberStream(C_FIRST_NAME));
         String cFirstName = getFirstNameFromIndex(nameIndex);
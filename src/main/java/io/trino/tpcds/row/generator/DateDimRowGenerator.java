@@ -51,8 +51,7 @@ public class DateDimRowGenerator
     {
         long nullBitMap = createNullBitMap(DATE_DIM, getRandomNumberStream(D_NULLS));
 
-        Date baseDate = new Date(1900, 1, 1);
-        long dDateSk = rowNumber + toJulianDays(baseDate);
+        long dDateSk = rowNumber + toJulianDays(1900, 1, 1);
         String dDateId = makeBusinessKey(dDateSk);
         Date date = fromJulianDays((int) dDateSk);
         int dYear = date.getYear();
@@ -27,7 +27,6 @@ import javax.annotation.concurrent.NotThreadSafe;
 import java.util.List;
 import java.util.Optional;
 
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.SlowlyChangingDimensionUtils.computeScdKey;
 import static io.trino.tpcds.SlowlyChangingDimensionUtils.getValueForSlowlyChangingDimension;
@@ -90,6 +89,12 @@ public class ItemRowGenerator
         super(ITEM);
     }
 
+    @Override
+    protected void resetRowState()
+    {
+        previousRow = Optional.empty();
+    }
+
     @Override
     public RowGeneratorResult generateRowAndChildRows(long rowNumber, Session session, RowGenerator parentRowGenerator, RowGenerator childRowGenerator)
     {
@@ -186,7 +191,7 @@ public class ItemRowGenerator
         String iContainer = "Unknown";
         String iProductName = generateWord(rowNumber, ROW_SIZE_I_PRODUCT_NAME, SYLLABLES_DISTRIBUTION);
 
-        long iPromoSk = generateJoinKey(I_PROMO_SK, getRandomNumberStream(I_PROMO_SK), PROMOTION, 1, session.getScaling());
+        long iPromoSk = generateJoinKey(I_PROMO_SK, PROMOTION, 1, session);
         int temp = generateUniformRandomInt(1, 100, getRandomNumberStream(I_PROMO_SK));
         if (temp > I_PROMO_PERCENTAGE) {
             iPromoSk = -1;
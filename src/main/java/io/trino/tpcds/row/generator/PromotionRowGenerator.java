@@ -20,7 +20,6 @@ import io.trino.tpcds.row.PromotionRow;
 import io.trino.tpcds.type.Decimal;
 
 import static io.trino.tpcds.BusinessKeyGenerator.makeBusinessKey;
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.Table.PROMOTION;
 import static io.trino.tpcds.distribution.EnglishDistributions.SYLLABLES_DISTRIBUTION;
@@ -60,7 +59,7 @@ public class PromotionRowGenerator
         long pStartDateId = JULIAN_DATE_MINIMUM + generateUniformRandomInt(PROMO_START_MIN, PROMO_START_MAX, getRandomNumberStream(P_START_DATE_ID));
         long pEndDateId = pStartDateId + generateUniformRandomInt(PROMO_LENGTH_MIN, PROMO_LENGTH_MAX, getRandomNumberStream(P_END_DATE_ID));
 
-        long pItemSk = generateJoinKey(P_ITEM_SK, getRandomNumberStream(P_ITEM_SK), Table.ITEM, 1, session.getScaling());
+        long pItemSk = generateJoinKey(P_ITEM_SK, Table.ITEM, 1, session);
 
         Decimal pCost = new Decimal(100000, 2);
         int pResponseTarget = 1;
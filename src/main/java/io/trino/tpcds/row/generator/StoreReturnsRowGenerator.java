@@ -15,14 +15,12 @@
 package io.trino.tpcds.row.generator;
 
 import com.google.common.collect.ImmutableList;
-import io.trino.tpcds.Scaling;
 import io.trino.tpcds.Session;
 import io.trino.tpcds.row.StoreReturnsRow;
 import io.trino.tpcds.row.StoreSalesRow;
 import io.trino.tpcds.row.TableRow;
 import io.trino.tpcds.type.Pricing;
 
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.Table.CUSTOMER;
 import static io.trino.tpcds.Table.CUSTOMER_ADDRESS;
@@ -44,7 +42,6 @@ import static io.trino.tpcds.generator.StoreReturnsGeneratorColumn.SR_RETURNED_T
 import static io.trino.tpcds.generator.StoreReturnsGeneratorColumn.SR_STORE_SK;
 import static io.trino.tpcds.generator.StoreReturnsGeneratorColumn.SR_TICKET_NUMBER;
 import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
-import static io.trino.tpcds.type.Pricing.generatePricingForReturnsTable;
 import static java.util.Collections.emptyList;
 
 public class StoreReturnsRowGenerator
@@ -52,6 +49,8 @@ public class StoreReturnsRowGenerator
 {
     private static final int SR_SAME_CUSTOMER = 80;
 
+    private final Pricing srPricing = new Pricing();
+
     public StoreReturnsRowGenerator()
     {
         super(STORE_RETURNS);
@@ -81,25 +80,24 @@ public class StoreReturnsRowGenerator
         long srItemSk = salesRow.getSsSoldItemSk();
 
         // some of the fields are conditionally taken from the sale
-        Scaling scaling = session.getScaling();
-        long srCustomerSk = generateJoinKey(SR_CUSTOMER_SK, getRandomNumberStream(SR_CUSTOMER_SK), CUSTOMER, 1, scaling);
+        long srCustomerSk = generateJoinKey(SR_CUSTOMER_SK, CUSTOMER, 1, session);
         int randomInt = generateUniformRandomInt(1, 100, getRandomNumberStream(SR_TICKET_NUMBER));
         if (randomInt < SR_SAME_CUSTOMER) {
             srCustomerSk = salesRow.getSsSoldCustomerSk();
         }
 
         // the rest of the columns are generated for this specific return
-        long srReturnedDateSk = generateJoinKey(SR_RETURNED_DATE_SK, getRandomNumberStream(SR_RETURNED_DATE_SK), DATE_DIM, salesRow.getSsSoldDateSk(), scaling);
+        long srReturnedDateSk = generateJoinKey(SR_RETURNED_DATE_SK, DATE_DIM, salesRow.getSsSoldDateSk(), session);
         long srReturnedTimeSk = generateUniformRandomInt(8 * 3600 - 1, 17 * 3600 - 1, getRandomNumberStream(SR_RETURNED_TIME_SK));
-        long srCdemoSk = generateJoinKey(SR_CDEMO_SK, getRandomNumberStream(SR_CDEMO_SK), CUSTOMER_DEMOGRAPHICS, 1, scaling);
-        long srHdemoSk = generateJoinKey(SR_HDEMO_SK, getRandomNumberStream(SR_HDEMO_SK), HOUSEHOLD_DEMOGRAPHICS, 1, scaling);
-        long srAddrSk = generateJoinKey(SR_ADDR_SK, getRandomNumberStream(SR_ADDR_SK), CUSTOMER_ADDRESS, 1, scaling);
-        long srStoreSk = generateJoinKey(SR_STORE_SK, getRandomNumberStream(SR_STORE_SK), STORE, 1, scaling);
-        long srReasonSk = generateJoinKey(SR_REASON_SK, getRandomNumberStream(SR_REASON_SK), REASON, 1, scaling);
+        long srCdemoSk = generateJoinKey(SR_CDEMO_SK, CUSTOMER_DEMOGRAPHICS, 1, session);
+        long srHdemoSk = generateJoinKey(SR_HDEMO_SK, HOUSEHOLD_DEMOGRAPHICS, 1, session);
+        long srAddrSk = generateJoinKey(SR_ADDR_SK, CUSTOMER_ADDRESS, 1, session);
+        long srStoreSk = generateJoinKey(SR_STORE_SK, STORE, 1, session);
+        long srReasonSk = generateJoinKey(SR_REASON_SK, REASON, 1, session);
 
         Pricing salesPricing = salesRow.getSsPricing();
         int quantity = generateUniformRandomInt(1, salesPricing.getQuantity(), getRandomNumberStream(SR_PRICING));
-        Pricing srPricing = generatePricingForReturnsTable(SR_PRICING, getRandomNumberStream(SR_PRICING), quantity, salesPricing);
+        srPricing.computeForReturnsTable(SR_PRICING, getRandomNumberStream(SR_PRICING), quantity, salesPricing);
 
         return new StoreReturnsRow(nullBitMap,
                 srReturnedDateSk,
@@ -71,6 +71,12 @@ public class StoreRowGenerator
         super(STORE);
     }
 
+    @Override
+    protected void resetRowState()
+    {
+        previousRow = Optional.empty();
+    }
+
     @Override
     public RowGeneratorResult generateRowAndChildRows(long rowNumber, Session session, RowGenerator parentRowGenerator, RowGenerator childRowGenerator)
     {
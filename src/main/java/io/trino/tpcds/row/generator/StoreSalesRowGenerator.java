@@ -23,10 +23,8 @@ import io.trino.tpcds.type.Pricing;
 import java.util.ArrayList;
 import java.util.List;
 
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.Permutations.getPermutationEntry;
-import static io.trino.tpcds.Permutations.makePermutation;
 import static io.trino.tpcds.SlowlyChangingDimensionUtils.matchSurrogateKey;
 import static io.trino.tpcds.Table.CUSTOMER;
 import static io.trino.tpcds.Table.CUSTOMER_ADDRESS;
@@ -53,15 +51,12 @@ import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_SOLD_STORE_S
 import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_SOLD_TIME_SK;
 import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_TICKET_NUMBER;
 import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
-import static io.trino.tpcds.type.Pricing.generatePricingForSalesTable;
 
 public class StoreSalesRowGenerator
         extends AbstractRowGenerator
 {
     private static final int SR_RETURN_PCT = 10;
 
-    private int[] itemPermutation;
-
     // Note: the following two variables are present in the C generator but unused in
     // a meaningful way. We include them for completeness not to confuse
     // future readers.
@@ -71,18 +66,26 @@ public class StoreSalesRowGenerator
     private OrderInfo orderInfo = new OrderInfo();
     private int itemIndex;
 
+    private final Pricing ssPricing = new Pricing();
+
     public StoreSalesRowGenerator()
     {
         super(STORE_SALES);
     }
 
+    @Override
+    protected void resetRowState()
+    {
+        remainingLineItems = 0;
+        orderInfo = new OrderInfo();
+        itemIndex = 0;
+    }
+
     @Override
     public RowGeneratorResult generateRowAndChildRows(long rowNumber, Session session, RowGenerator parentRowGenerator, RowGenerator childRowGenerator)
     {
         int itemCount = (int) session.getScaling().getIdCount(ITEM);
-        if (itemPermutation == null) {
-            itemPermutation = makePermutation(itemCount, getRandomNumberStream(SS_PERMUTATION));
-        }
+        int[] itemPermutation = getSharedPermutation(SS_PERMUTATION, itemCount, session);
 
         Scaling scaling = session.getScaling();
         if (remainingLineItems == 0) {
@@ -100,8 +103,8 @@ public class StoreSalesRowGenerator
         }
 
         long ssSoldItemSk = matchSurrogateKey(getPermutationEntry(itemPermutation, itemIndex), orderInfo.getSsSoldDateSk(), ITEM, scaling);
-        long ssSoldPromoSk = generateJoinKey(SS_SOLD_PROMO_SK, getRandomNumberStream(SS_SOLD_PROMO_SK), PROMOTION, 1, scaling);
-        Pricing ssPricing = generatePricingForSalesTable(SS_PRICING, getRandomNumberStream(SS_PRICING));
+        long ssSoldPromoSk = generateJoinKey(SS_SOLD_PROMO_SK, PROMOTION, 1, session);
+        ssPricing.computeForSalesTable(SS_PRICING, getRandomNumberStream(SS_PRICING));
 
         StoreSalesRow storeSalesRow = new StoreSalesRow(nullBitMap,
                 orderInfo.getSsSoldDateSk(),
@@ -131,15 +134,13 @@ public class StoreSalesRowGenerator
     public OrderInfo generateOrderInfo(long rowNumber, Session session)
     {
         // move to a new date if the row number is ahead of the nextDateIndex
-        Scaling scaling = session.getScaling();
-
-        long ssSoldStoreSk = generateJoinKey(SS_SOLD_STORE_SK, getRandomNumberStream(SS_SOLD_STORE_SK), STORE, 1, scaling);
-        long ssSoldTimeSk = generateJoinKey(SS_SOLD_TIME_SK, getRandomNumberStream(SS_SOLD_TIME_SK), TIME_DIM, 1, scaling);
-        long ssSoldDateSk = generateJoinKey(SS_SOLD_DATE_SK, getRandomNumberStream(SS_SOLD_DATE_SK), DATE_DIM, 1, scaling);
-        long ssSoldCustomerSk = generateJoinKey(SS_SOLD_CUSTOMER_SK, getRandomNumberStream(SS_SOLD_CUSTOMER_SK), CUSTOMER, 1, scaling);
-        long ssSoldCdemoSk = generateJoinKey(SS_SOLD_CDEMO_SK, getRandomNumberStream(SS_SOLD_CDEMO_SK), CUSTOMER_DEMOGRAPHICS, 1, scaling);
-        long ssSoldHdemoSk = generateJoinKey(SS_SOLD_HDEMO_SK, getRandomNumberStream(SS_SOLD_HDEMO_SK), HOUSEHOLD_DEMOGRAPHICS, 1, scaling);
-        long ssSoldAddrSk = generateJoinKey(SS_SOLD_ADDR_SK, getRandomNumberStream(SS_SOLD_ADDR_SK), CUSTOMER_ADDRESS, 1, scaling);
+        long ssSoldStoreSk = generateJoinKey(SS_SOLD_STORE_SK, STORE, 1, session);
+        long ssSoldTimeSk = generateJoinKey(SS_SOLD_TIME_SK, TIME_DIM, 1, session);
+        long ssSoldDateSk = generateJoinKey(SS_SOLD_DATE_SK, DATE_DIM, 1, session);
+        long ssSoldCustomerSk = generateJoinKey(SS_SOLD_CUSTOMER_SK, CUSTOMER, 1, session);
+        long ssSoldCdemoSk = generateJoinKey(SS_SOLD_CDEMO_SK, CUSTOMER_DEMOGRAPHICS, 1, session);
+        long ssSoldHdemoSk = generateJoinKey(SS_SOLD_HDEMO_SK, HOUSEHOLD_DEMOGRAPHICS, 1, session);
+        long ssSoldAddrSk = generateJoinKey(SS_SOLD_ADDR_SK, CUSTOMER_ADDRESS, 1, session);
         long ssTicketNumber = rowNumber;
 
         return new OrderInfo(ssSoldStoreSk,
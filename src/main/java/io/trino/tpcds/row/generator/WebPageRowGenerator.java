@@ -14,14 +14,12 @@
 
 package io.trino.tpcds.row.generator;
 
-import io.trino.tpcds.Scaling;
 import io.trino.tpcds.Session;
 import io.trino.tpcds.SlowlyChangingDimensionUtils.SlowlyChangingDimensionKey;
 import io.trino.tpcds.row.WebPageRow;
 
 import java.util.Optional;
 
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.SlowlyChangingDimensionUtils.computeScdKey;
 import static io.trino.tpcds.SlowlyChangingDimensionUtils.getValueForSlowlyChangingDimension;
@@ -57,10 +55,14 @@ public class WebPageRowGenerator
     }
 
     @Override
-    public RowGeneratorResult generateRowAndChildRows(long rowNumber, Session session, RowGenerator parentRowGenerator, RowGenerator childRowGenerator)
+    protected void resetRowState()
     {
-        Scaling scaling = session.getScaling();
+        previousRow = Optional.empty();
+    }
 
+    @Override
+    public RowGeneratorResult generateRowAndChildRows(long rowNumber, Session session, RowGenerator parentRowGenerator, RowGenerator childRowGenerator)
+    {
         long nullBitMap = createNullBitMap(WEB_PAGE, getRandomNumberStream(WP_NULLS));
         long wpPageSk = rowNumber;
 
@@ -71,7 +73,7 @@ public class WebPageRowGenerator
         boolean isNewKey = slowlyChangingDimensionKey.isNewBusinessKey();
         int fieldChangeFlags = (int) getRandomNumberStream(WP_SCD).nextRandom();
 
-        long wpCreationDateSk = generateJoinKey(WP_CREATION_DATE_SK, getRandomNumberStream(WP_CREATION_DATE_SK), DATE_DIM, rowNumber, scaling);
+        long wpCreationDateSk = generateJoinKey(WP_CREATION_DATE_SK, DATE_DIM, rowNumber, session);
         if (previousRow.isPresent()) {
             wpCreationDateSk = getValueForSlowlyChangingDimension(fieldChangeFlags, isNewKey, previousRow.get().getWpCreationDateSk(), wpCreationDateSk);
         }
@@ -91,7 +93,7 @@ public class WebPageRowGenerator
         }
         fieldChangeFlags >>= 1;
 
-        long wpCustomersk = generateJoinKey(WP_CUSTOMER_SK, getRandomNumberStream(WP_CUSTOMER_SK), CUSTOMER, 1, scaling);
+        long wpCustomersk = generateJoinKey(WP_CUSTOMER_SK, CUSTOMER, 1, session);
         if (previousRow.isPresent()) {
             wpCustomersk = getValueForSlowlyChangingDimension(fieldChangeFlags, isNewKey, previousRow.get().getWpCustomerSk(), wpCustomersk);
         }
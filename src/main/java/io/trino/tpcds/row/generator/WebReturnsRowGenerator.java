@@ -15,13 +15,11 @@
 package io.trino.tpcds.row.generator;
 
 import com.google.common.collect.ImmutableList;
-import io.trino.tpcds.Scaling;
 import io.trino.tpcds.Session;
 import io.trino.tpcds.row.WebReturnsRow;
 import io.trino.tpcds.row.WebSalesRow;
 import io.trino.tpcds.type.Pricing;
 
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.Table.CUSTOMER;
 import static io.trino.tpcds.Table.CUSTOMER_ADDRESS;
@@ -42,12 +40,13 @@ import static io.trino.tpcds.generator.WebReturnsGeneratorColumn.WR_RETURNED_DAT
 import static io.trino.tpcds.generator.WebReturnsGeneratorColumn.WR_RETURNED_TIME_SK;
 import static io.trino.tpcds.generator.WebReturnsGeneratorColumn.WR_RETURNING_CUSTOMER_SK;
 import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
-import static io.trino.tpcds.type.Pricing.generatePricingForReturnsTable;
 import static java.util.Collections.emptyList;
 
 public class WebReturnsRowGenerator
         extends AbstractRowGenerator
 {
+    private final Pricing wrPricing = new Pricing();
+
     public WebReturnsRowGenerator()
     {
         super(WEB_RETURNS);
@@ -75,15 +74,14 @@ public class WebReturnsRowGenerator
         long wrWebPageSk = salesRow.getWsWebPageSk();
 
         // remaining fields are specific to this return
-        Scaling scaling = session.getScaling();
-        long wrReturnedDateSk = generateJoinKey(WR_RETURNED_DATE_SK, getRandomNumberStream(WR_RETURNED_DATE_SK), DATE_DIM, salesRow.getWsShipDateSk(), scaling);
-        long wrReturnedTimeSk = generateJoinKey(WR_RETURNED_TIME_SK, getRandomNumberStream(WR_RETURNED_TIME_SK), TIME_DIM, 1, scaling);
+        long wrReturnedDateSk = generateJoinKey(WR_RETURNED_DATE_SK, DATE_DIM, salesRow.getWsShipDateSk(), session);
+        long wrReturnedTimeSk = generateJoinKey(WR_RETURNED_TIME_SK, TIME_DIM, 1, session);
 
         // items are usually returned to the people they were shipped to, but sometimes not
-        long wrRefundedCustomerSk = generateJoinKey(WR_REFUNDED_CUSTOMER_SK, getRandomNumberStream(WR_REFUNDED_CUSTOMER_SK), CUSTOMER, 1, scaling);
-        long wrRefundedCdemoSk = generateJoinKey(WR_REFUNDED_CDEMO_SK, getRandomNumberStream(WR_REFUNDED_CDEMO_SK), CUSTOMER_DEMOGRAPHICS, 1, scaling);
-        long wrRefundedHdemoSk = generateJoinKey(WR_REFUNDED_HDEMO_SK, getRandomNumberStream(WR_REFUNDED_HDEMO_SK), HOUSEHOLD_DEMOGRAPHICS, 1, scaling);
-        long wrRefundedAddrSk = generateJoinKey(WR_REFUNDED_ADDR_SK, getRandomNumberStream(WR_REFUNDED_ADDR_SK), CUSTOMER_ADDRESS, 1, scaling);
+        long wrRefundedCustomerSk = generateJoinKey(WR_REFUNDED_CUSTOMER_SK, CUSTOMER, 1, session);
+        long wrRefundedCdemoSk = generateJoinKey(WR_REFUNDED_CDEMO_SK, CUSTOMER_DEMOGRAPHICS, 1, session);
+        long wrRefundedHdemoSk = generateJoinKey(WR_REFUNDED_HDEMO_SK, HOUSEHOLD_DEMOGRAPHICS, 1, session);
+        long wrRefundedAddrSk = generateJoinKey(WR_REFUNDED_ADDR_SK, CUSTOMER_ADDRESS, 1, session);
         if (generateUniformRandomInt(0, 99, getRandomNumberStream(WR_RETURNING_CUSTOMER_SK)) < WebSalesRowGenerator.GIFT_PERCENTAGE) {
             wrRefundedCustomerSk = salesRow.getWsShipCustomerSk();
             wrRefundedCdemoSk = salesRow.getWsShipCdemoSk();
@@ -96,9 +94,9 @@ public class WebReturnsRowGenerator
         long wrReturningHdemoSk = wrRefundedHdemoSk;
         long wrReturningAddrSk = wrRefundedAddrSk;
 
-        long wrReasonSk = generateJoinKey(WR_REASON_SK, getRandomNumberStream(WR_REASON_SK), REASON, 1, scaling);
+        long wrReasonSk = generateJoinKey(WR_REASON_SK, REASON, 1, session);
         int quantity = generateUniformRandomInt(1, salesRow.getWsPricing().getQuantity(), getRandomNumberStream(WR_PRICING));
-        Pricing wrPricing = generatePricingForReturnsTable(WR_PRICING, getRandomNumberStream(WR_PRICING), quantity, salesRow.getWsPricing());
+        wrPricing.computeForReturnsTable(WR_PRICING, getRandomNumberStream(WR_PRICING), quantity, salesRow.getWsPricing());
 
         return new WebReturnsRow(nullBitMap,
                 wrReturnedDateSk,
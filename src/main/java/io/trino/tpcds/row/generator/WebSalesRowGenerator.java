@@ -25,10 +25,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 import java.util.ArrayList;
 import java.util.List;
 
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.Permutations.getPermutationEntry;
-import static io.trino.tpcds.Permutations.makePermutation;
 import static io.trino.tpcds.SlowlyChangingDimensionUtils.matchSurrogateKey;
 import static io.trino.tpcds.Table.CUSTOMER;
 import static io.trino.tpcds.Table.CUSTOMER_ADDRESS;
@@ -66,7 +64,6 @@ import static io.trino.tpcds.generator.WebSalesGeneratorColumn.WS_WAREHOUSE_SK;
 import static io.trino.tpcds.generator.WebSalesGeneratorColumn.WS_WEB_PAGE_SK;
 import static io.trino.tpcds.generator.WebSalesGeneratorColumn.WS_WEB_SITE_SK;
 import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
-import static io.trino.tpcds.type.Pricing.generatePricingForSalesTable;
 
 @NotThreadSafe
 public class WebSalesRowGenerator
@@ -80,24 +77,31 @@ public class WebSalesRowGenerator
     // future readers.
     // private long nextDateIndex;
     // private long julianDate;
-    private int[] itemPermutation;
     private int remainingLineItems;
     private OrderInfo orderInfo;
     private int itemIndex;
 
+    private final Pricing wsPricing = new Pricing();
+
     public WebSalesRowGenerator()
     {
         super(WEB_SALES);
     }
 
+    @Override
+    protected void resetRowState()
+    {
+        remainingLineItems = 0;
+        orderInfo = null;
+        itemIndex = 0;
+    }
+
     @Override
     public RowGeneratorResult generateRowAndChildRows(long rowNumber, Session session, RowGenerator parentRowGenerator, RowGenerator childRowGenerator)
     {
         Scaling scaling = session.getScaling();
         int itemCount = (int) scaling.getIdCount(ITEM);
-        if (itemPermutation == null) {
-            itemPermutation = makePermutation(itemCount, getRandomNumberStream(WS_PERMUTATION));
-        }
+        int[] itemPermutation = getSharedPermutation(WS_PERMUTATION, itemCount, session);
 
         if (remainingLineItems == 0) {
             orderInfo = generateOrderInfo(rowNumber, session);
@@ -117,13 +121,13 @@ public class WebSalesRowGenerator
         long wsItemSk = matchSurrogateKey(getPermutationEntry(itemPermutation, itemIndex), orderInfo.wsSoldDateSk, ITEM, scaling);
 
         // the web page needs to be valid for the sale date
-        long wsWebPageSk = generateJoinKey(WS_WEB_PAGE_SK, getRandomNumberStream(WS_WEB_PAGE_SK), WEB_PAGE, orderInfo.wsSoldDateSk, scaling);
-        long wsWebSiteSk = generateJoinKey(WS_WEB_SITE_SK, getRandomNumberStream(WS_WEB_SITE_SK), WEB_SITE, orderInfo.wsSoldDateSk, scaling);
+        long wsWebPageSk = generateJoinKey(WS_WEB_PAGE_SK, WEB_PAGE, orderInfo.wsSoldDateSk, session);
+        long wsWebSiteSk = generateJoinKey(WS_WEB_SITE_SK, WEB_SITE, orderInfo.wsSoldDateSk, session);
 
-        long wsShipModeSk = generateJoinKey(WS_SHIP_MODE_SK, getRandomNumberStream(WS_SHIP_MODE_SK), SHIP_MODE, 1, scaling);
-        long wsWarehouseSk = generateJoinKey(WS_WAREHOUSE_SK, getRandomNumberStream(WS_WAREHOUSE_SK), WAREHOUSE, 1, scaling);
-        long wsPromoSk = generateJoinKey(WS_PROMO_SK, getRandomNumberStream(WS_PROMO_SK), PROMOTION, 1, scaling);
-        Pricing wsPricing = generatePricingForSalesTable(WS_PRICING, getRandomNumberStream(WS_PRICING));
+        long wsShipModeSk = generateJoinKey(WS_SHIP_MODE_SK, SHIP_MODE, 1, session);
+        long wsWarehouseSk = generateJoinKey(WS_WAREHOUSE_SK, WAREHOUSE, 1, session);
+        long wsPromoSk = generateJoinKey(WS_PROMO_SK, PROMOTION, 1, session);
+        wsPricing.computeForSalesTable(WS_PRICING, getRandomNumberStream(WS_PRICING));
 
         WebSalesRow salesRow = new WebSalesRow(nullBitMap,
                 orderInfo.wsSoldDateSk,
@@ -162,14 +166,12 @@ public class WebSalesRowGenerator
 
     private OrderInfo generateOrderInfo(long rowNumber, Session session)
     {
-        Scaling scaling = session.getScaling();
-
-        long wsSoldDateSk = generateJoinKey(WS_SOLD_DATE_SK, getRandomNumberStream(WS_SOLD_DATE_SK), DATE_DIM, 1, scaling);
-        long wsSoldTimeSk = generateJoinKey(WS_SOLD_TIME_SK, getRandomNumberStream(WS_SOLD_TIME_SK), TIME_DIM, 1, scaling);
-        long wsBillCustomerSk = generateJoinKey(WS_BILL_CUSTOMER_SK, getRandomNumberStream(WS_BILL_CUSTOMER_SK), CUSTOMER, 1, scaling);
-        long wsBillCdemoSk = generateJoinKey(WS_BILL_CDEMO_SK, getRandomNumberStream(WS_BILL_CDEMO_SK), CUSTOMER_DEMOGRAPHICS, 1, scaling);
-        long wsBillHdemoSk = generateJoinKey(WS_BILL_HDEMO_SK, getRandomNumberStream(WS_BILL_HDEMO_SK), HOUSEHOLD_DEMOGRAPHICS, 1, scaling);
-        long wsBillAddrSk = generateJoinKey(WS_BILL_ADDR_SK, getRandomNumberStream(WS_BILL_ADDR_SK), CUSTOMER_ADDRESS, 1, scaling);
+        long wsSoldDateSk = generateJoinKey(WS_SOLD_DATE_SK, DATE_DIM, 1, session);
+        long wsSoldTimeSk = generateJoinKey(WS_SOLD_TIME_SK, TIME_DIM, 1, session);
+        long wsBillCustomerSk = generateJoinKey(WS_BILL_CUSTOMER_SK, CUSTOMER, 1, session);
+        long wsBillCdemoSk = generateJoinKey(WS_BILL_CDEMO_SK, CUSTOMER_DEMOGRAPHICS, 1, session);
+        long wsBillHdemoSk = generateJoinKey(WS_BILL_HDEMO_SK, HOUSEHOLD_DEMOGRAPHICS, 1, session);
+        long wsBillAddrSk = generateJoinKey(WS_BILL_ADDR_SK, CUSTOMER_ADDRESS, 1, session);
 
         // Usually the billing info and shipping info are the same.  If it's a gift, they'll be different.
         long wsShipCustomerSk = wsBillCustomerSk;
@@ -178,10 +180,10 @@ public class WebSalesRowGenerator
         long wsShipAddrSk = wsBillAddrSk;
         int randomInt = generateUniformRandomInt(0, 99, getRandomNumberStream(WS_SHIP_CUSTOMER_SK));
         if (randomInt > GIFT_PERCENTAGE) {
-            wsShipCustomerSk = generateJoinKey(WS_SHIP_CUSTOMER_SK, getRandomNumberStream(WS_SHIP_CUSTOMER_SK), CUSTOMER, 2, scaling);
-            wsShipCdemoSk = generateJoinKey(WS_SHIP_CDEMO_SK, getRandomNumberStream(WS_SHIP_CDEMO_SK), CUSTOMER_DEMOGRAPHICS, 2, scaling);
-            wsShipHdemoSK = generateJoinKey(WS_SHIP_HDEMO_SK, getRandomNumberStream(WS_SHIP_HDEMO_SK), HOUSEHOLD_DEMOGRAPHICS, 2, scaling);
-            wsShipAddrSk = generateJoinKey(WS_SHIP_ADDR_SK, getRandomNumberStream(WS_SHIP_ADDR_SK), CUSTOMER_ADDRESS, 2, scaling);
+            wsShipCustomerSk = generateJoinKey(WS_SHIP_CUSTOMER_SK, CUSTOMER, 2, session);
+            wsShipCdemoSk = generateJoinKey(WS_SHIP_CDEMO_SK, CUSTOMER_DEMOGRAPHICS, 2, session);
+            wsShipHdemoSK = generateJoinKey(WS_SHIP_HDEMO_SK, HOUSEHOLD_DEMOGRAPHICS, 2, session);
+            wsShipAddrSk = generateJoinKey(WS_SHIP_ADDR_SK, CUSTOMER_ADDRESS, 2, session);
         }
 
         long wsOrderNumber = rowNumber;
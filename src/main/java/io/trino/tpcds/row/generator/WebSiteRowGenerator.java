@@ -26,7 +26,6 @@ import javax.annotation.concurrent.NotThreadSafe;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkState;
-import static io.trino.tpcds.JoinKeyUtils.generateJoinKey;
 import static io.trino.tpcds.Nulls.createNullBitMap;
 import static io.trino.tpcds.SlowlyChangingDimensionUtils.computeScdKey;
 import static io.trino.tpcds.SlowlyChangingDimensionUtils.getValueForSlowlyChangingDimension;
@@ -68,6 +67,12 @@ public class WebSiteRowGenerator
         super(WEB_SITE);
     }
 
+    @Override
+    protected void resetRowState()
+    {
+        previousRow = Optional.empty();
+    }
+
     @Override
     public RowGeneratorResult generateRowAndChildRows(long rowNumber, Session session, RowGenerator parentRowGenerator, RowGenerator childRowGenerator)
     {
@@ -86,8 +91,8 @@ public class WebSiteRowGenerator
         long webCloseDate;
         String webName;
         if (isNewBusinessKey) {
-            webOpenDate = generateJoinKey(WEB_OPEN_DATE, getRandomNumberStream(WEB_OPEN_DATE), DATE_DIM, rowNumber, scaling);
-            webCloseDate = generateJoinKey(WEB_CLOSE_DATE, getRandomNumberStream(WEB_CLOSE_DATE), DATE_DIM, rowNumber, scaling);
+            webOpenDate = generateJoinKey(WEB_OPEN_DATE, DATE_DIM, rowNumber, session);
+            webCloseDate = generateJoinKey(WEB_CLOSE_DATE, DATE_DIM, rowNumber, session);
             if (webCloseDate > webRecEndDateId) {
                 webCloseDate = -1;
             }
@@ -17,6 +17,7 @@ package io.trino.tpcds.type;
 import io.trino.tpcds.Scaling;
 import io.trino.tpcds.Table;
 import io.trino.tpcds.distribution.FipsCountyDistribution;
+import io.trino.tpcds.distribution.FipsCountyDistribution.Region;
 import io.trino.tpcds.random.RandomNumberStream;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -26,20 +27,32 @@ import static io.trino.tpcds.distribution.AddressDistributions.CitiesWeights.UNI
 import static io.trino.tpcds.distribution.AddressDistributions.StreetNamesWeights.DEFAULT;
 import static io.trino.tpcds.distribution.AddressDistributions.StreetNamesWeights.HALF_EMPTY;
 import static io.trino.tpcds.distribution.AddressDistributions.getCityAtIndex;
-import static io.trino.tpcds.distribution.AddressDistributions.pickRandomCity;
+import static io.trino.tpcds.distribution.AddressDistributions.getCityCount;
+import static io.trino.tpcds.distribution.AddressDistributions.pickRandomCityIndex;
 import static io.trino.tpcds.distribution.AddressDistributions.pickRandomStreetName;
 import static io.trino.tpcds.distribution.AddressDistributions.pickRandomStreetType;
 import static io.trino.tpcds.distribution.FipsCountyDistribution.FipsWeights.UNIFORM;
-import static io.trino.tpcds.distribution.FipsCountyDistribution.getCountyAtIndex;
-import static io.trino.tpcds.distribution.FipsCountyDistribution.getGmtOffsetAtIndex;
-import static io.trino.tpcds.distribution.FipsCountyDistribution.getStateAbbreviationAtIndex;
-import static io.trino.tpcds.distribution.FipsCountyDistribution.getZipPrefixAtIndex;
+import static io.trino.tpcds.distribution.FipsCountyDistribution.getRegionAtIndex;
 import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 
 public class Address
 {
+    // the suite number for each of the draws from 1 to 100
+    private static final String[] SUITE_NUMBERS = new String[101];
+    // the hash of each city, by its index in the cities distribution
+    private static final int[] CITY_HASHES = new int[getCityCount()];
+
+    static {
+        for (int i = 1; i < SUITE_NUMBERS.length; i++) {
+            SUITE_NUMBERS[i] = makeSuiteNumber(i);
+        }
+        for (int i = 0; i < CITY_HASHES.length; i++) {
+            CITY_HASHES[i] = computeCityHash(getCityAtIndex(i));
+        }
+    }
+
     private final String suiteNumber;
     private final int streetNumber;
     private final String streetName1;
@@ -87,62 +100,62 @@ public class Address
 
     public static Address makeAddressForColumn(Table table, RandomNumberStream randomNumberStream, Scaling scaling)
     {
-        AddressBuilder builder = new AddressBuilder();
-        builder.setStreetNumber(generateUniformRandomInt(1, 1000, randomNumberStream));
-        builder.setStreetName1(pickRandomStreetName(DEFAULT, randomNumberStream));
-        builder.setStreetName2(pickRandomStreetName(HALF_EMPTY, randomNumberStream));
-        builder.setStreetType(pickRandomStreetType(randomNumberStream));
+        MutableAddress address = new MutableAddress();
+        makeAddressForColumn(table, randomNumberStream, scaling, address);
+        return address.toAddress();
+    }
 
-        int randomInt = generateUniformRandomInt(1, 100, randomNumberStream);
-        if (randomInt % 2 == 1) {  // if i is odd, suiteNumber is a number
-            builder.setSuiteNumber(format("Suite %d", (randomInt / 2) * 10));
-        }
-        else { // if i is even, suiteNumber is a letter
-            builder.setSuiteNumber(format("Suite %c", ((randomInt / 2) % 25) + 'A'));
-        }
+    // fills the reusable address with the same random draws as the method above, without allocating
+    public static void makeAddressForColumn(Table table, RandomNumberStream randomNumberStream, Scaling scaling, MutableAddress address)
+    {
+        address.setStreetNumber(generateUniformRandomInt(1, 1000, randomNumberStream));
+        address.setStreetName1(pickRandomStreetName(DEFAULT, randomNumberStream));
+        address.setStreetName2(pickRandomStreetName(HALF_EMPTY, randomNumberStream));
+        address.setStreetType(pickRandomStreetType(randomNumberStream));
+        address.setSuiteNumber(SUITE_NUMBERS[generateUniformRandomInt(1, 100, randomNumberStream)]);
 
         int rowCount = (int) scaling.getRowCount(table);
-        String city;
+        int cityIndex;
         if ((table.isSmall())) {
             int maxCities = (int) ACTIVE_CITIES.getRowCountForScale(scaling.getScale());
-            randomInt = generateUniformRandomInt(0, (maxCities > rowCount) ? rowCount - 1 : maxCities - 1, randomNumberStream);
-            city = getCityAtIndex(randomInt);
+            cityIndex = generateUniformRandomInt(0, (maxCities > rowCount) ? rowCount - 1 : maxCities - 1, randomNumberStream);
         }
         else {
-            city = pickRandomCity(UNIFIED_STEP_FUNCTION, randomNumberStream);
+            cityIndex = pickRandomCityIndex(UNIFIED_STEP_FUNCTION, randomNumberStream);
         }
-        builder.setCity(city);
+        address.setCity(getCityAtIndex(cityIndex));
 
         // county is picked from a distribution, based on population and keys the rest
         int regionNumber;
         if (table.isSmall()) {
             int maxCounties = (int) ACTIVE_COUNTIES.getRowCountForScale(scaling.getScale());
             regionNumber = generateUniformRandomInt(0, (maxCounties > rowCount) ? rowCount - 1 : maxCounties - 1, randomNumberStream);
-            builder.setCounty(getCountyAtIndex(regionNumber));
         }
         else {
             regionNumber = FipsCountyDistribution.pickRandomIndex(UNIFORM, randomNumberStream);
-            String county = getCountyAtIndex(regionNumber);
-            builder.setCounty(county);
         }
 
-        // match state with the selected region/county
-        builder.setState(getStateAbbreviationAtIndex(regionNumber));
+        // match county, state, zip prefix and gmt offset with the selected region
+        Region region = getRegionAtIndex(regionNumber);
+        address.setRegion(region);
 
-        // match the zip prefix with the selected region/county
-        int zip = computeCityHash(city);
+        int zip = CITY_HASHES[cityIndex];
 
         // 00000 - 00600 are unused. Avoid them
-        int zipPrefix = getZipPrefixAtIndex(regionNumber);
+        int zipPrefix = region.getZipPrefix();
         if (zipPrefix == 0 && zip < 9400) {
             zip += 600;
         }
-        builder.setZip(zip + (zipPrefix) * 10000);
-
-        builder.setGmtOffset(getGmtOffsetAtIndex(regionNumber));
-        builder.setCountry("United States");
+        address.setZip(zip + (zipPrefix) * 10000);
+    }
 
-        return builder.build();
+    private static String makeSuiteNumber(int randomInt)
+    {
+        if (randomInt % 2 == 1) {  // if i is odd, suiteNumber is a number
+            return format("Suite %d", (randomInt / 2) * 10);
+        }
+        // if i is even, suiteNumber is a letter
+        return format("Suite %c", ((randomInt / 2) % 25) + 'A');
     }
 
     private static int computeCityHash(String name)
@@ -172,7 +185,7 @@ public class Address
 
     public String getStreetName()
     {
-        return format("%s %s", streetName1, streetName2);
+        return streetName1 + " " + streetName2;
     }
 
     public String getSuiteNumber()
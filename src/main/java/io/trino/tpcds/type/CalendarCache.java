@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.type;
+
+import static io.trino.tpcds.type.Date.computeFromJulianDays;
+import static io.trino.tpcds.type.Date.getDayIndex;
+import static io.trino.tpcds.type.Date.toJulianDays;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * The dates of every julian day from 1800 through 2199, which covers all the dates the generator
+ * produces: birthdays from the 1920s, the data set from 1998 to 2003, and the date dimension up to
+ * 2100. Each day has its {@link Date}, its index into the calendar distribution and its
+ * {@code yyyy-mm-dd} text, so converting and formatting a julian day are array lookups. Days
+ * outside the range fall back to the computations of {@link Date}.
+ */
+public final class CalendarCache
+{
+    private static final int FIRST_JULIAN_DAY = toJulianDays(1800, 1, 1);
+    private static final int LAST_JULIAN_DAY = toJulianDays(2199, 12, 31);
+    private static final int FORMATTED_LENGTH = 10;
+
+    private static final Date[] DATES;
+    private static final short[] DAY_INDEXES;
+    private static final byte[] FORMATTED_DATES;
+
+    static {
+        int count = LAST_JULIAN_DAY - FIRST_JULIAN_DAY + 1;
+        DATES = new Date[count];
+        DAY_INDEXES = new short[count];
+        FORMATTED_DATES = new byte[count * FORMATTED_LENGTH];
+        for (int i = 0; i < count; i++) {
+            Date date = computeFromJulianDays(FIRST_JULIAN_DAY + i);
+            DATES[i] = date;
+            DAY_INDEXES[i] = (short) getDayIndex(date);
+            writeDigits(date.getYear(), 4, FORMATTED_DATES, i * FORMATTED_LENGTH);
+            FORMATTED_DATES[i * FORMATTED_LENGTH + 4] = '-';
+            writeDigits(date.getMonth(), 2, FORMATTED_DATES, i * FORMATTED_LENGTH + 5);
+            FORMATTED_DATES[i * FORMATTED_LENGTH + 7] = '-';
+            writeDigits(date.getDay(), 2, FORMATTED_DATES, i * FORMATTED_LENGTH + 8);
+        }
+    }
+
+    private CalendarCache() {}
+
+    public static boolean contains(int julianDays)
+    {
+        return julianDays >= FIRST_JULIAN_DAY && julianDays <= LAST_JULIAN_DAY;
+    }
+
+    public static Date getDate(int julianDays)
+    {
+        if (!contains(julianDays)) {
+            return computeFromJulianDays(julianDays);
+        }
+        return DATES[julianDays - FIRST_JULIAN_DAY];
+    }
+
+    // the ordinal reference into the calendar distribution, as computed by Date.getDayIndex
+    public static int getDayIndexForJulianDays(int julianDays)
+    {
+        if (!contains(julianDays)) {
+            return getDayIndex(computeFromJulianDays(julianDays));
+        }
+        return DAY_INDEXES[julianDays - FIRST_JULIAN_DAY];
+    }
+
+    public static String formatJulianDays(int julianDays)
+    {
+        if (!contains(julianDays)) {
+            return computeFromJulianDays(julianDays).toString();
+        }
+        return new String(FORMATTED_DATES, (julianDays - FIRST_JULIAN_DAY) * FORMATTED_LENGTH, FORMATTED_LENGTH, US_ASCII);
+    }
+
+    private static void writeDigits(int value, int digits, byte[] buffer, int offset)
+    {
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[offset + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -14,16 +14,15 @@
 
 package io.trino.tpcds.type;
 
-import com.google.common.collect.ImmutableSet;
-
-import java.util.Set;
-
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static java.lang.String.format;
 
 public class Date
 {
+    // declared first, since the constructor used by the constants below validates the day with it
+    private static final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
     public static final int JULIAN_DATA_START_DATE = toJulianDays(new Date(1998, 1, 1)); // earliest date in the data set
     public static final int JULIAN_DATA_END_DATE = toJulianDays(new Date(2003, 12, 31)); // latest date in the data set
     public static final Date TODAYS_DATE = new Date(2003, 1, 8); // the generator's sense of "today"
@@ -53,8 +52,13 @@ public class Date
         this.day = day;
     }
 
-    // Algorithm: Fleigel and Van Flandern (CACM, vol 11, #10, Oct. 1968, p. 657)
     public static Date fromJulianDays(int julianDays)
+    {
+        return CalendarCache.getDate(julianDays);
+    }
+
+    // Algorithm: Fleigel and Van Flandern (CACM, vol 11, #10, Oct. 1968, p. 657)
+    static Date computeFromJulianDays(int julianDays)
     {
         checkArgument(julianDays >= 0, "Days must be a positive value");
         int l = julianDays + 68569;
@@ -75,9 +79,11 @@ public class Date
     // http://quasar.as.utexas.edu/BillInfo/JulianDatesG.html
     public static int toJulianDays(Date date)
     {
-        int month = date.month;
-        int year = date.year;
+        return toJulianDays(date.year, date.month, date.day);
+    }
 
+    public static int toJulianDays(int year, int month, int day)
+    {
         // Start years in March so you don't have to account for February.
         if (month <= 2) {
             month += 12;
@@ -91,7 +97,7 @@ public class Date
         // Subtract 3 months because we start from the third month and don't include the current month
         // (153/5 * 3 = 459/5)
         // adding another 2/5 gets you 31 days at the right times.
-        return date.day +
+        return day +
                 (153 * month - 457) / 5 +
                 365 * year + year / 4 - year / 100 + year / 400 +  // 365 days in a year + leap years
                 daysBceInJulianEpoch + 1;
@@ -121,22 +127,12 @@ public class Date
 
     private static int getDaysInMonth(int month, int year)
     {
-        Set<Integer> longMonths = ImmutableSet.of(1, 3, 5, 7, 8, 10, 12);
-        Set<Integer> thirtyDayMonths = ImmutableSet.of(4, 6, 9, 11);
-        if (longMonths.contains(month)) {
-            return 31;
-        }
-
-        if (thirtyDayMonths.contains(month)) {
-            return 30;
-        }
-
-        checkState(month == 2, "Invalid value for month " + month);
-        if (isLeapYear(year)) {
+        checkState(month > 0 && month <= 12, "Invalid value for month " + month);
+        if (month == 2 && isLeapYear(year)) {
             return 29;
         }
 
-        return 28;
+        return DAYS_IN_MONTH[month];
     }
 
     // the ordinal reference into the calendar distribution for a given date
@@ -239,6 +235,15 @@ public class Date
     @Override
     public String toString()
     {
+        // The text of the dates the generator produces is precomputed. Dates such as 1900-02-29 that only exist
+        // because of the leap year bug have the julian day of a different date, so they are formatted directly.
+        int julianDays = toJulianDays(this);
+        if (CalendarCache.contains(julianDays)) {
+            Date cached = CalendarCache.getDate(julianDays);
+            if (cached.year == year && cached.month == month && cached.day == day) {
+                return CalendarCache.formatJulianDays(julianDays);
+            }
+        }
         return format("%4d-%02d-%02d", year, month, day);
     }
 
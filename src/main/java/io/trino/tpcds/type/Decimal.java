@@ -16,7 +16,6 @@ package io.trino.tpcds.type;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.Integer.parseInt;
-import static java.util.Locale.ENGLISH;
 
 public class Decimal
 {
@@ -60,47 +59,24 @@ public class Decimal
 
     public static Decimal add(Decimal decimal1, Decimal decimal2)
     {
-        int precision = decimal1.precision > decimal2.precision ? decimal1.precision : decimal2.precision;
-        long number = decimal1.number + decimal2.number;  // This is not mathematically correct when the precisions aren't the same, but it's what the C code does
-        return new Decimal(number, precision);
+        return new Decimal(Decimals.add(decimal1.number, decimal2.number), Decimals.getPrecision(decimal1.precision, decimal2.precision));
     }
 
     public static Decimal subtract(Decimal decimal1, Decimal decimal2)
     {
-        int precision = decimal1.precision > decimal2.precision ? decimal1.precision : decimal2.precision;
-        long number = decimal1.number - decimal2.number;  // again following C code
-        return new Decimal(number, precision);
+        return new Decimal(Decimals.subtract(decimal1.number, decimal2.number), Decimals.getPrecision(decimal1.precision, decimal2.precision));
     }
 
     public static Decimal multiply(Decimal decimal1, Decimal decimal2)
     {
-        int precision = decimal1.precision > decimal2.precision ? decimal1.precision : decimal2.precision;
-        long number = decimal1.number * decimal2.number;
-        for (int i = decimal1.precision + decimal2.precision; i > precision; i--) {
-            number /= 10;  // Always round down, I guess
-        }
-        return new Decimal(number, precision);
+        long number = Decimals.multiply(decimal1.number, decimal1.precision, decimal2.number, decimal2.precision);
+        return new Decimal(number, Decimals.getPrecision(decimal1.precision, decimal2.precision));
     }
 
     public static Decimal divide(Decimal decimal1, Decimal decimal2)
     {
-        float f1 = (float) decimal1.number;
-        int precision = decimal1.precision > decimal2.precision ? decimal1.precision : decimal2.precision;
-        for (int i = decimal1.precision; i < precision; i++) {
-            f1 *= 10.0;
-        }
-
-        for (int i = 0; i < precision; i++) {
-            f1 *= 10.0;
-        }
-
-        float f2 = (float) decimal2.number;
-        for (int i = decimal2.precision; i < precision; i++) {
-            f2 *= 10.0;
-        }
-
-        int number = (int) (f1 / f2);
-        return new Decimal(number, precision);
+        long number = Decimals.divide(decimal1.number, decimal1.precision, decimal2.number, decimal2.precision);
+        return new Decimal(number, Decimals.getPrecision(decimal1.precision, decimal2.precision));
     }
 
     public static Decimal negate(Decimal decimal)
@@ -126,16 +102,7 @@ public class Decimal
     @Override
     public String toString()
     {
-        // This loses all of the benefit of having exact numeric types
-        // but it's what the C code does, so we have to follow it.
-        // In particular this copies the behavior of print_decimal in print.c.
-        // The C code has a different function called dectostr in decimal.c that
-        // does a proper string representation but it never gets called.
-        double temp = number;
-        for (int i = 0; i < precision; i++) {
-            temp /= 10.0;
-        }
-
-        return String.format(ENGLISH, "%." + precision + "f", temp);
+        // the same digits as print_decimal in print.c, which formats the value as a double
+        return Decimals.format(number, precision);
     }
 }
@@ -0,0 +1,197 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.type;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Locale.ENGLISH;
+
+/**
+ * The arithmetic and formatting of {@link Decimal} on unscaled values, so that callers can keep
+ * decimals in primitive longs without allocating. As in {@link Decimal}, precision is the number
+ * of decimal places, and the precision of a result is the larger precision of the operands.
+ */
+public final class Decimals
+{
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    // Below these bounds, the double computed by Decimal.toString is within a small fraction of the last
+    // decimal place of the exact value, so formatting it gives the digits of the unscaled value exactly.
+    private static final long MAX_EXACT_NUMBER = 100_000_000_000_000L;
+    private static final int MAX_EXACT_PRECISION = 9;
+
+    private Decimals() {}
+
+    public static int getPrecision(int precision1, int precision2)
+    {
+        return precision1 > precision2 ? precision1 : precision2;
+    }
+
+    // This is not mathematically correct when the precisions aren't the same, but it's what the C code does
+    public static long add(long number1, long number2)
+    {
+        return number1 + number2;
+    }
+
+    public static long subtract(long number1, long number2)
+    {
+        return number1 - number2;
+    }
+
+    // the product has the precision of both operands, and is truncated towards zero to the larger of them
+    public static long multiply(long number1, int precision1, long number2, int precision2)
+    {
+        int digitsToDrop = precision1 < precision2 ? precision1 : precision2;
+        long product = number1 * number2;
+        if (digitsToDrop >= POWERS_OF_TEN.length) {
+            return 0;
+        }
+        return product / POWERS_OF_TEN[digitsToDrop];
+    }
+
+    // computed in float, as the C code does
+    public static long divide(long number1, int precision1, long number2, int precision2)
+    {
+        float f1 = (float) number1;
+        int precision = getPrecision(precision1, precision2);
+        for (int i = precision1; i < precision; i++) {
+            f1 *= 10.0;
+        }
+
+        for (int i = 0; i < precision; i++) {
+            f1 *= 10.0;
+        }
+
+        float f2 = (float) number2;
+        for (int i = precision2; i < precision; i++) {
+            f2 *= 10.0;
+        }
+
+        return (int) (f1 / f2);
+    }
+
+    // a sign, up to 19 digits of the integer part, a decimal point and the decimal places
+    public static int getMaxFormattedLength(int precision)
+    {
+        return 21 + precision;
+    }
+
+    public static String format(long number, int precision)
+    {
+        if (!isExact(number, precision)) {
+            return formatAsDouble(number, precision);
+        }
+        char[] buffer = new char[getMaxFormattedLength(precision)];
+        int length = format(number, precision, buffer, 0);
+        return new String(buffer, 0, length);
+    }
+
+    // writes the decimal to buffer starting at offset, and returns the number of characters written
+    public static int format(long number, int precision, char[] buffer, int offset)
+    {
+        if (!isExact(number, precision)) {
+            String formatted = formatAsDouble(number, precision);
+            formatted.getChars(0, formatted.length(), buffer, offset);
+            return formatted.length();
+        }
+
+        int length = getFormattedLength(number, precision);
+        long remaining = Math.abs(number);
+        int position = offset + length;
+        int digits = 0;
+        do {
+            if (digits == precision && precision > 0) {
+                buffer[--position] = '.';
+            }
+            buffer[--position] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+            digits++;
+        }
+        while (remaining > 0 || digits <= precision);
+        if (number < 0) {
+            buffer[--position] = '-';
+        }
+        return length;
+    }
+
+    // writes the decimal to buffer starting at offset as ASCII, and returns the number of bytes written
+    public static int format(long number, int precision, byte[] buffer, int offset)
+    {
+        if (!isExact(number, precision)) {
+            String formatted = formatAsDouble(number, precision);
+            for (int i = 0; i < formatted.length(); i++) {
+                buffer[offset + i] = (byte) formatted.charAt(i);
+            }
+            return formatted.length();
+        }
+
+        int length = getFormattedLength(number, precision);
+        long remaining = Math.abs(number);
+        int position = offset + length;
+        int digits = 0;
+        do {
+            if (digits == precision && precision > 0) {
+                buffer[--position] = '.';
+            }
+            buffer[--position] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+            digits++;
+        }
+        while (remaining > 0 || digits <= precision);
+        if (number < 0) {
+            buffer[--position] = '-';
+        }
+        return length;
+    }
+
+    private static boolean isExact(long number, int precision)
+    {
+        checkArgument(precision >= 0, "precision must be greater than or equal to zero");
+        return number > -MAX_EXACT_NUMBER && number < MAX_EXACT_NUMBER && precision <= MAX_EXACT_PRECISION;
+    }
+
+    // the integer part has at least one digit, so the digits are those of the number padded to precision + 1
+    private static int getFormattedLength(long number, int precision)
+    {
+        long absolute = Math.abs(number);
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && absolute >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        digits = Math.max(digits, precision + 1);
+        return digits + (precision > 0 ? 1 : 0) + (number < 0 ? 1 : 0);
+    }
+
+    // This loses all of the benefit of having exact numeric types
+    // but it's what the C code does, so we have to follow it.
+    // In particular this copies the behavior of print_decimal in print.c.
+    // The C code has a different function called dectostr in decimal.c that
+    // does a proper string representation but it never gets called.
+    static String formatAsDouble(long number, int precision)
+    {
+        double temp = number;
+        for (int i = 0; i < precision; i++) {
+            temp /= 10.0;
+        }
+
+        return String.format(ENGLISH, "%." + precision + "f", temp);
+    }
+}
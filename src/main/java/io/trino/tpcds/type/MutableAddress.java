@@ -0,0 +1,130 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.type;
+
+import io.trino.tpcds.distribution.FipsCountyDistribution.Region;
+
+/**
+ * An {@link Address} that {@link Address#makeAddressForColumn} fills in place, so that a generator
+ * can reuse one instance for every row. The values are only valid until the address is filled again.
+ */
+public final class MutableAddress
+{
+    private static final String COUNTRY = "United States";
+
+    private String suiteNumber;
+    private int streetNumber;
+    private String streetName1;
+    private String streetName2;
+    private String streetType;
+    private String city;
+    private Region region;
+    private int zip;
+
+    void setSuiteNumber(String suiteNumber)
+    {
+        this.suiteNumber = suiteNumber;
+    }
+
+    void setStreetNumber(int streetNumber)
+    {
+        this.streetNumber = streetNumber;
+    }
+
+    void setStreetName1(String streetName1)
+    {
+        this.streetName1 = streetName1;
+    }
+
+    void setStreetName2(String streetName2)
+    {
+        this.streetName2 = streetName2;
+    }
+
+    void setStreetType(String streetType)
+    {
+        this.streetType = streetType;
+    }
+
+    void setCity(String city)
+    {
+        this.city = city;
+    }
+
+    void setRegion(Region region)
+    {
+        this.region = region;
+    }
+
+    void setZip(int zip)
+    {
+        this.zip = zip;
+    }
+
+    public int getStreetNumber()
+    {
+        return streetNumber;
+    }
+
+    public String getStreetName()
+    {
+        return streetName1 + " " + streetName2;
+    }
+
+    public String getSuiteNumber()
+    {
+        return suiteNumber;
+    }
+
+    public String getStreetType()
+    {
+        return streetType;
+    }
+
+    public String getCity()
+    {
+        return city;
+    }
+
+    public String getCounty()
+    {
+        return region.getCounty();
+    }
+
+    public String getState()
+    {
+        return region.getStateAbbreviation();
+    }
+
+    public int getZip()
+    {
+        return zip;
+    }
+
+    public String getCountry()
+    {
+        return COUNTRY;
+    }
+
+    public int getGmtOffset()
+    {
+        return region.getGmtOffset();
+    }
+
+    public Address toAddress()
+    {
+        return new Address(suiteNumber, streetNumber, streetName1, streetName2, streetType, city, getCounty(), getState(), COUNTRY, zip, getGmtOffset());
+    }
+}
@@ -24,349 +24,259 @@ import java.util.Map;
 import static io.trino.tpcds.generator.CatalogSalesGeneratorColumn.CS_PRICING;
 import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_PRICING;
 import static io.trino.tpcds.generator.WebSalesGeneratorColumn.WS_PRICING;
-import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomDecimal;
 import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomUnscaledDecimal;
 import static io.trino.tpcds.row.generator.CatalogSalesRowGenerator.CS_DISCOUNT_MAX;
 import static io.trino.tpcds.row.generator.CatalogSalesRowGenerator.CS_MARKUP_MAX;
 import static io.trino.tpcds.row.generator.CatalogSalesRowGenerator.CS_QUANTITY_MAX;
 import static io.trino.tpcds.row.generator.CatalogSalesRowGenerator.CS_WHOLESALE_MAX;
-import static io.trino.tpcds.type.Decimal.NINE_PERCENT;
 import static io.trino.tpcds.type.Decimal.ONE;
-import static io.trino.tpcds.type.Decimal.ONE_HALF;
 import static io.trino.tpcds.type.Decimal.ONE_HUNDRED;
-import static io.trino.tpcds.type.Decimal.ZERO;
-import static io.trino.tpcds.type.Decimal.add;
-import static io.trino.tpcds.type.Decimal.divide;
-import static io.trino.tpcds.type.Decimal.multiply;
-import static io.trino.tpcds.type.Decimal.negate;
-import static io.trino.tpcds.type.Decimal.subtract;
-
+import static io.trino.tpcds.type.Decimals.add;
+import static io.trino.tpcds.type.Decimals.divide;
+import static io.trino.tpcds.type.Decimals.multiply;
+import static io.trino.tpcds.type.Decimals.subtract;
+
+/**
+ * The prices of a line item of a sales or returns table. The money fields are unscaled values with
+ * {@link #PRECISION} decimal places, and are computed in place, so that a generator can reuse one
+ * instance for all its rows. A row that refers to the pricing of a generator is only valid until
+ * the generator computes the pricing of its next row.
+ */
 public class Pricing
 {
+    public static final int PRECISION = 2;
     public static final int QUANTITY_MIN = 1;
     public static final Decimal MARKUP_MIN = new Decimal(0, 2);
     public static final Decimal DISCOUNT_MIN = new Decimal(0, 2);
 
+    // the unscaled values of the constants used in the computations, which all have a precision of 2
+    private static final long UNSCALED_ZERO = 0;
+    private static final long UNSCALED_ONE_HALF = 50;
+    private static final long UNSCALED_NINE_PERCENT = 9;
+    private static final long UNSCALED_ONE = 100;
+    private static final long UNSCALED_ONE_HUNDRED = 10000;
+
     // TODO: add Limits for other columns as they are relevant
     private static final Map<GeneratorColumn, Limits> LIMITS_PER_COLUMN = ImmutableMap.of(
             CS_PRICING, new Limits(CS_QUANTITY_MAX, CS_MARKUP_MAX, CS_DISCOUNT_MAX, CS_WHOLESALE_MAX),
             SS_PRICING, new Limits(100, ONE, ONE, ONE_HUNDRED),
             WS_PRICING, new Limits(100, new Decimal(200, 2), ONE, ONE_HUNDRED));
 
-    private final Decimal wholesaleCost;
-    private final Decimal listPrice;
-    private final Decimal salesPrice;
-    private final int quantity;
-    private final Decimal extDiscountAmount;
-    private final Decimal extSalesPrice;
-    private final Decimal extWholesaleCost;
-    private final Decimal extListPrice;
-    private final Decimal taxPercent;
-    private final Decimal extTax;
-    private final Decimal couponAmount;
-    private final Decimal shipCost;
-    private final Decimal extShipCost;
-    private final Decimal netPaid;
-    private final Decimal netPaidIncludingTax;
-    private final Decimal netPaidIncludingShipping;
-    private final Decimal netPaidIncludingShippingAndTax;
-    private final Decimal netProfit;
-    private final Decimal refundedCash;
-    private final Decimal reversedCharge;
-    private final Decimal storeCredit;
-    private final Decimal fee;
-    private final Decimal netLoss;
-
-    private Pricing(Decimal wholesaleCost,
-            Decimal listPrice,
-            Decimal salesPrice,
-            int quantity,
-            Decimal extDiscountAmount,
-            Decimal extSalesPrice,
-            Decimal extWholesaleCost,
-            Decimal extListPrice,
-            Decimal taxPercent,
-            Decimal extTax,
-            Decimal couponAmount,
-            Decimal shipCost,
-            Decimal extShipCost,
-            Decimal netPaid,
-            Decimal netPaidIncludingTax,
-            Decimal netPaidIncludingShipping,
-            Decimal netPaidIncludingShippingAndTax,
-            Decimal netProfit,
-            Decimal refundedCash,
-            Decimal reversedCharge,
-            Decimal storeCredit,
-            Decimal fee,
-            Decimal netLoss)
-    {
-        this.wholesaleCost = wholesaleCost;
-        this.listPrice = listPrice;
-        this.salesPrice = salesPrice;
-        this.quantity = quantity;
-        this.extDiscountAmount = extDiscountAmount;
-        this.extSalesPrice = extSalesPrice;
-        this.extWholesaleCost = extWholesaleCost;
-        this.extListPrice = extListPrice;
-        this.taxPercent = taxPercent;
-        this.extTax = extTax;
-        this.couponAmount = couponAmount;
-        this.shipCost = shipCost;
-        this.extShipCost = extShipCost;
-        this.netPaid = netPaid;
-        this.netPaidIncludingTax = netPaidIncludingTax;
-        this.netPaidIncludingShipping = netPaidIncludingShipping;
-        this.netPaidIncludingShippingAndTax = netPaidIncludingShippingAndTax;
-        this.netProfit = netProfit;
-        this.refundedCash = refundedCash;
-        this.reversedCharge = reversedCharge;
-        this.storeCredit = storeCredit;
-        this.fee = fee;
-        this.netLoss = netLoss;
-    }
-
-    public static Pricing generatePricingForSalesTable(GeneratorColumn column, RandomNumberStream randomNumberStream)
+    private long wholesaleCost;
+    private long listPrice;
+    private long salesPrice;
+    private int quantity;
+    private long extDiscountAmount;
+    private long extSalesPrice;
+    private long extWholesaleCost;
+    private long extListPrice;
+    private long taxPercent;
+    private long extTax;
+    private long couponAmount;
+    private long shipCost;
+    private long extShipCost;
+    private long netPaid;
+    private long netPaidIncludingTax;
+    private long netPaidIncludingShipping;
+    private long netPaidIncludingShippingAndTax;
+    private long netProfit;
+    private long refundedCash;
+    private long reversedCharge;
+    private long storeCredit;
+    private long fee;
+    private long netLoss;
+
+    public void computeForSalesTable(GeneratorColumn column, RandomNumberStream randomNumberStream)
     {
-        if (!LIMITS_PER_COLUMN.containsKey(column)) {
+        Limits limits = LIMITS_PER_COLUMN.get(column);
+        if (limits == null) {
             throw new TpcdsException("No price limits for column: " + column);
         }
 
-        Limits limits = LIMITS_PER_COLUMN.get(column);
-
-        int quantity = generateUniformRandomInt(QUANTITY_MIN, limits.getMaxQuantitySold(), randomNumberStream);
-        Decimal decimalQuantity = Decimal.fromInteger(quantity);
-        Decimal wholesaleCost = generateUniformRandomDecimal(new Decimal(100, 2), limits.getMaxWholesaleCost(), randomNumberStream);
-        Decimal extWholesaleCost = multiply(decimalQuantity, wholesaleCost);
+        quantity = generateUniformRandomInt(QUANTITY_MIN, limits.getMaxQuantitySold(), randomNumberStream);
+        wholesaleCost = generateUniformRandomUnscaledDecimal(UNSCALED_ONE, limits.getMaxWholesaleCost(), randomNumberStream);
+        extWholesaleCost = multiply(quantity, 0, wholesaleCost, PRECISION);
 
-        Decimal markup = generateUniformRandomDecimal(MARKUP_MIN, limits.getMaxMarkup(), randomNumberStream);
-        markup = add(markup, ONE);
-        Decimal listPrice = multiply(wholesaleCost, markup);
+        long markup = generateUniformRandomUnscaledDecimal(MARKUP_MIN.getNumber(), limits.getMaxMarkup(), randomNumberStream);
+        markup = add(markup, UNSCALED_ONE);
+        listPrice = multiply(wholesaleCost, PRECISION, markup, PRECISION);
 
-        Decimal discount = negate(generateUniformRandomDecimal(DISCOUNT_MIN, limits.getMaxDiscount(), randomNumberStream));
-        discount = add(discount, ONE);
-        Decimal salesPrice = multiply(listPrice, discount);
-        Decimal extListPrice = multiply(listPrice, decimalQuantity);
-        Decimal extSalesPrice = multiply(salesPrice, decimalQuantity);
-        Decimal extDiscountAmount = subtract(extListPrice, extSalesPrice);
+        long discount = -generateUniformRandomUnscaledDecimal(DISCOUNT_MIN.getNumber(), limits.getMaxDiscount(), randomNumberStream);
+        discount = add(discount, UNSCALED_ONE);
+        salesPrice = multiply(listPrice, PRECISION, discount, PRECISION);
+        extListPrice = multiply(listPrice, PRECISION, quantity, 0);
+        extSalesPrice = multiply(salesPrice, PRECISION, quantity, 0);
+        extDiscountAmount = subtract(extListPrice, extSalesPrice);
 
-        Decimal coupon = generateUniformRandomDecimal(ZERO, ONE, randomNumberStream);
+        long coupon = generateUniformRandomUnscaledDecimal(UNSCALED_ZERO, UNSCALED_ONE, randomNumberStream);
         int couponUsage = generateUniformRandomInt(1, 100, randomNumberStream);
-        Decimal couponAmount;
         if (couponUsage <= 20) { // 20% of sales employ a coupon
-            couponAmount = multiply(extSalesPrice, coupon);
+            couponAmount = multiply(extSalesPrice, PRECISION, coupon, PRECISION);
         }
         else {
-            couponAmount = ZERO;
+            couponAmount = UNSCALED_ZERO;
         }
 
-        Decimal netPaid = subtract(extSalesPrice, couponAmount);
+        netPaid = subtract(extSalesPrice, couponAmount);
 
-        Decimal shipping = generateUniformRandomDecimal(ZERO, ONE_HALF, randomNumberStream);
-        Decimal shipCost = multiply(listPrice, shipping);
-        Decimal extShipCost = multiply(shipCost, decimalQuantity);
-        Decimal netPaidIncludingShipping = add(netPaid, extShipCost);
-        Decimal taxPercent = generateUniformRandomDecimal(ZERO, NINE_PERCENT, randomNumberStream);
-        Decimal extTax = multiply(netPaid, taxPercent);
-        Decimal netPaidIncludingTax = add(netPaid, extTax);
-        Decimal netPaidIncludingShippingAndTax = add(netPaidIncludingShipping, extTax);
-        Decimal netProfit = subtract(netPaid, extWholesaleCost);
+        long shipping = generateUniformRandomUnscaledDecimal(UNSCALED_ZERO, UNSCALED_ONE_HALF, randomNumberStream);
+        shipCost = multiply(listPrice, PRECISION, shipping, PRECISION);
+        extShipCost = multiply(shipCost, PRECISION, quantity, 0);
+        netPaidIncludingShipping = add(netPaid, extShipCost);
+        taxPercent = generateUniformRandomUnscaledDecimal(UNSCALED_ZERO, UNSCALED_NINE_PERCENT, randomNumberStream);
+        extTax = multiply(netPaid, PRECISION, taxPercent, PRECISION);
+        netPaidIncludingTax = add(netPaid, extTax);
+        netPaidIncludingShippingAndTax = add(netPaidIncludingShipping, extTax);
+        netProfit = subtract(netPaid, extWholesaleCost);
 
         // only relevant for returns
-        Decimal refundedCash = ZERO;
-        Decimal reversedCharge = ZERO;
-        Decimal storeCredit = ZERO;
-        Decimal fee = ZERO;
-        Decimal netLoss = ZERO;
-
-        return new Pricing(wholesaleCost,
-                listPrice,
-                salesPrice,
-                quantity,
-                extDiscountAmount,
-                extSalesPrice,
-                extWholesaleCost,
-                extListPrice,
-                taxPercent,
-                extTax,
-                couponAmount,
-                shipCost,
-                extShipCost,
-                netPaid,
-                netPaidIncludingTax,
-                netPaidIncludingShipping,
-                netPaidIncludingShippingAndTax,
-                netProfit,
-                refundedCash,
-                reversedCharge,
-                storeCredit,
-                fee,
-                netLoss);
+        refundedCash = UNSCALED_ZERO;
+        reversedCharge = UNSCALED_ZERO;
+        storeCredit = UNSCALED_ZERO;
+        fee = UNSCALED_ZERO;
+        netLoss = UNSCALED_ZERO;
     }
 
-    public static Pricing generatePricingForReturnsTable(GeneratorColumn column, RandomNumberStream randomNumberStream, int quantity, Pricing basePricing)
+    public void computeForReturnsTable(GeneratorColumn column, RandomNumberStream randomNumberStream, int quantity, Pricing basePricing)
     {
-        Decimal wholesaleCost = basePricing.wholesaleCost;
-        Decimal listPrice = basePricing.listPrice;
-        Decimal salesPrice = basePricing.salesPrice;
-        Decimal taxPercent = basePricing.taxPercent;
-        Decimal extDiscountAmount = basePricing.extDiscountAmount;
-        Decimal couponAmount = basePricing.couponAmount;
-
-        Decimal decimalQuantity = Decimal.fromInteger(quantity);
-        Decimal extWholesaleCost = multiply(decimalQuantity, wholesaleCost);
-        Decimal extListPrice = multiply(listPrice, decimalQuantity);
-        Decimal extSalesPrice = multiply(salesPrice, decimalQuantity);
-        Decimal netPaid = extSalesPrice;
-        Decimal shipping = generateUniformRandomDecimal(ZERO, ONE_HALF, randomNumberStream);
-        Decimal shipCost = multiply(listPrice, shipping);
-        Decimal extShipCost = multiply(shipCost, decimalQuantity);
-        Decimal netPaidIncludingShipping = add(netPaid, extShipCost);
-        Decimal extTax = multiply(netPaid, taxPercent);
-        Decimal netPaidIncludingTax = add(netPaid, extTax);
-        Decimal netPaidIncludingShippingAndTax = add(netPaidIncludingShipping, extTax);
-        Decimal netProfit = subtract(netPaid, extWholesaleCost);
+        this.quantity = quantity;
+        wholesaleCost = basePricing.wholesaleCost;
+        listPrice = basePricing.listPrice;
+        salesPrice = basePricing.salesPrice;
+        taxPercent = basePricing.taxPercent;
+        extDiscountAmount = basePricing.extDiscountAmount;
+        couponAmount = basePricing.couponAmount;
+
+        extWholesaleCost = multiply(quantity, 0, wholesaleCost, PRECISION);
+        extListPrice = multiply(listPrice, PRECISION, quantity, 0);
+        extSalesPrice = multiply(salesPrice, PRECISION, quantity, 0);
+        netPaid = extSalesPrice;
+        long shipping = generateUniformRandomUnscaledDecimal(UNSCALED_ZERO, UNSCALED_ONE_HALF, randomNumberStream);
+        shipCost = multiply(listPrice, PRECISION, shipping, PRECISION);
+        extShipCost = multiply(shipCost, PRECISION, quantity, 0);
+        netPaidIncludingShipping = add(netPaid, extShipCost);
+        extTax = multiply(netPaid, PRECISION, taxPercent, PRECISION);
+        netPaidIncludingTax = add(netPaid, extTax);
+        netPaidIncludingShippingAndTax = add(netPaidIncludingShipping, extTax);
+        netProfit = subtract(netPaid, extWholesaleCost);
 
         //see to it that the returned amounts add up to the total returned
         // allocate some of return to cash
-        Decimal cashPercentage = Decimal.fromInteger(generateUniformRandomInt(0, 100, randomNumberStream));
-        Decimal refundedCash = multiply(divide(cashPercentage, ONE_HUNDRED), netPaid);
+        int cashPercentage = generateUniformRandomInt(0, 100, randomNumberStream);
+        refundedCash = multiply(divide(cashPercentage, 0, UNSCALED_ONE_HUNDRED, PRECISION), PRECISION, netPaid, PRECISION);
 
         // allocate some to reversed charges
-        Decimal creditPercent = Decimal.fromInteger(generateUniformRandomInt(1, 100, randomNumberStream));
-        creditPercent = divide(creditPercent, ONE_HUNDRED);
-        Decimal paidMinusRefunded = subtract(netPaid, refundedCash);
-        Decimal reversedCharge = multiply(creditPercent, paidMinusRefunded);
+        int creditPercentage = generateUniformRandomInt(1, 100, randomNumberStream);
+        long creditPercent = divide(creditPercentage, 0, UNSCALED_ONE_HUNDRED, PRECISION);
+        long paidMinusRefunded = subtract(netPaid, refundedCash);
+        reversedCharge = multiply(creditPercent, PRECISION, paidMinusRefunded, PRECISION);
 
         // the rest is store credit
-        Decimal storeCredit = subtract(netPaid, reversedCharge);
+        storeCredit = subtract(netPaid, reversedCharge);
         storeCredit = subtract(storeCredit, refundedCash);
 
         // pick a fee for the return
-        Decimal fee = generateUniformRandomDecimal(ONE_HALF, ONE_HUNDRED, randomNumberStream);
+        fee = generateUniformRandomUnscaledDecimal(UNSCALED_ONE_HALF, UNSCALED_ONE_HUNDRED, randomNumberStream);
 
         // and calculate the net effect
-        Decimal netLoss = subtract(netPaidIncludingShippingAndTax, storeCredit);
+        netLoss = subtract(netPaidIncludingShippingAndTax, storeCredit);
         netLoss = subtract(netLoss, refundedCash);
         netLoss = subtract(netLoss, reversedCharge);
         netLoss = add(netLoss, fee);
-
-        return new Pricing(wholesaleCost,
-                listPrice,
-                salesPrice,
-                quantity,
-                extDiscountAmount,
-                extSalesPrice,
-                extWholesaleCost,
-                extListPrice,
-                taxPercent,
-                extTax,
-                couponAmount,
-                shipCost,
-                extShipCost,
-                netPaid,
-                netPaidIncludingTax,
-                netPaidIncludingShipping,
-                netPaidIncludingShippingAndTax,
-                netProfit,
-                refundedCash,
-                reversedCharge,
-                storeCredit,
-                fee,
-                netLoss);
     }
 
-    public Decimal getNetLoss()
+    public long getNetLoss()
     {
         return netLoss;
     }
 
-    public Decimal getExtDiscountAmount()
+    public long getExtDiscountAmount()
     {
         return extDiscountAmount;
     }
 
-    public Decimal getExtSalesPrice()
+    public long getExtSalesPrice()
     {
         return extSalesPrice;
     }
 
-    public Decimal getExtWholesaleCost()
+    public long getExtWholesaleCost()
     {
         return extWholesaleCost;
     }
 
-    public Decimal getExtListPrice()
+    public long getExtListPrice()
     {
         return extListPrice;
     }
 
-    public Decimal getTaxPercent()
+    public long getTaxPercent()
     {
         return taxPercent;
     }
 
-    public Decimal getExtTax()
+    public long getExtTax()
     {
         return extTax;
     }
 
-    public Decimal getCouponAmount()
+    public long getCouponAmount()
     {
         return couponAmount;
     }
 
-    public Decimal getShipCost()
+    public long getShipCost()
     {
         return shipCost;
     }
 
-    public Decimal getExtShipCost()
+    public long getExtShipCost()
     {
         return extShipCost;
     }
 
-    public Decimal getNetPaid()
+    public long getNetPaid()
     {
         return netPaid;
     }
 
-    public Decimal getNetPaidIncludingTax()
+    public long getNetPaidIncludingTax()
     {
         return netPaidIncludingTax;
     }
 
-    public Decimal getNetPaidIncludingShipping()
+    public long getNetPaidIncludingShipping()
     {
         return netPaidIncludingShipping;
     }
 
-    public Decimal getNetPaidIncludingShippingAndTax()
+    public long getNetPaidIncludingShippingAndTax()
     {
         return netPaidIncludingShippingAndTax;
     }
 
-    public Decimal getNetProfit()
+    public long getNetProfit()
     {
         return netProfit;
     }
 
-    public Decimal getRefundedCash()
+    public long getRefundedCash()
     {
         return refundedCash;
     }
 
-    public Decimal getReversedCharge()
+    public long getReversedCharge()
     {
         return reversedCharge;
     }
 
-    public Decimal getStoreCredit()
+    public long getStoreCredit()
     {
         return storeCredit;
     }
 
-    public Decimal getFee()
+    public long getFee()
     {
         return fee;
     }
@@ -376,17 +286,17 @@ public class Pricing
         return quantity;
     }
 
-    public Decimal getWholesaleCost()
+    public long getWholesaleCost()
     {
         return wholesaleCost;
     }
 
-    public Decimal getListPrice()
+    public long getListPrice()
     {
         return listPrice;
     }
 
-    public Decimal getSalesPrice()
+    public long getSalesPrice()
     {
         return salesPrice;
     }
@@ -394,19 +304,19 @@ public class Pricing
     private static class Limits
     {
         private final int maxQuantitySold;
-        private final Decimal maxMarkup;
-        private final Decimal maxDiscount;
-        private final Decimal maxWholesaleCost;
+        private final long maxMarkup;
+        private final long maxDiscount;
+        private final long maxWholesaleCost;
 
         Limits(int maxQuantitySold, Decimal maxMarkup, Decimal maxDiscount, Decimal maxWholesaleCost)
         {
             this.maxQuantitySold = maxQuantitySold;
-            this.maxMarkup = maxMarkup;
-            this.maxDiscount = maxDiscount;
-            this.maxWholesaleCost = maxWholesaleCost;
+            this.maxMarkup = maxMarkup.getNumber();
+            this.maxDiscount = maxDiscount.getNumber();
+            this.maxWholesaleCost = maxWholesaleCost.getNumber();
         }
 
-        Decimal getMaxDiscount()
+        long getMaxDiscount()
         {
             return maxDiscount;
         }
@@ -416,12 +326,12 @@ public class Pricing
             return maxQuantitySold;
         }
 
-        Decimal getMaxMarkup()
+        long getMaxMarkup()
         {
             return maxMarkup;
         }
 
-        Decimal getMaxWholesaleCost()
+        long getMaxWholesaleCost()
         {
             return maxWholesaleCost;
         }
@@ -17,18 +17,23 @@ package io.trino.tpcds;
 import com.google.common.base.Throwables;
 import com.google.common.io.ByteStreams;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.Optional;
 
 import static com.google.common.io.BaseEncoding.base16;
+import static io.trino.tpcds.BatchGenerator.createBatchGenerator;
 import static io.trino.tpcds.Results.constructResults;
 import static io.trino.tpcds.TableGenerator.formatRow;
 import static java.nio.charset.StandardCharsets.ISO_8859_1;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 // This class was derived from the GeneratorAssertions class in the following repo
 // https://github.com/airlift/tpch. The license for that class can be found here
@@ -62,8 +67,52 @@ public final class GeneratorAssertions
         }
     }
 
+    // also checks the batch generator that writes the files of the table, if it has one
     static void assertPartialMD5(long startingRowNumber, long endingRowNumber, Table table, Session session, String expectedMD5)
     {
         assertEntityLinesMD5(constructResults(table, startingRowNumber, endingRowNumber, session), session, expectedMD5);
+        Optional<BatchGenerator> batchGenerator = createBatchGenerator(table, session, endingRowNumber);
+        if (batchGenerator.isPresent()) {
+            try {
+                DigestOutputStream out = md5OutputStream(ByteStreams.nullOutputStream());
+                out.write(generateInBatches(batchGenerator.get(), startingRowNumber, endingRowNumber));
+                assertEquals(base16().lowerCase().encode(out.getMessageDigest().digest()), expectedMD5);
+            }
+            catch (IOException e) {
+                throw Throwables.propagate(e);
+            }
+        }
+    }
+
+    // the batch generator of the table writes the same text as formatting the rows of the row generators
+    static void assertBatchMatchesResults(Table table, Session session, long startingRowNumber, long endingRowNumber)
+    {
+        StringBuilder expected = new StringBuilder();
+        for (List<List<String>> parentAndChildRows : constructResults(table, startingRowNumber, endingRowNumber, session)) {
+            expected.append(formatRow(parentAndChildRows.get(0), session));
+        }
+        Optional<BatchGenerator> batchGenerator = createBatchGenerator(table, session, endingRowNumber);
+        assertTrue(batchGenerator.isPresent(), "no batch generator for " + table);
+        try {
+            assertEquals(new String(generateInBatches(batchGenerator.get(), startingRowNumber, endingRowNumber), ISO_8859_1), expected.toString());
+        }
+        catch (IOException e) {
+            throw Throwables.propagate(e);
+        }
+    }
+
+    static byte[] generateInBatches(BatchGenerator batchGenerator, long startingRowNumber, long endingRowNumber)
+            throws IOException
+    {
+        File file = File.createTempFile("batch", ".dat");
+        try {
+            try (TableFileWriter writer = new TableFileWriter(file, new WriteStatistics())) {
+                batchGenerator.generateRows(startingRowNumber, endingRowNumber, writer);
+            }
+            return Files.readAllBytes(file.toPath());
+        }
+        finally {
+            file.delete();
+        }
     }
 }
@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.tpcds.AdaptiveScheduler.Task;
+import io.trino.tpcds.AdaptiveScheduler.WorkerPolicy;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static io.airlift.airline.SingleCommand.singleCommand;
+import static io.trino.tpcds.Table.CALL_CENTER;
+import static io.trino.tpcds.Table.INVENTORY;
+import static io.trino.tpcds.Table.STORE_SALES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class TestAdaptiveScheduler
+{
+    private static final long INTERVAL_NANOS = SECONDS.toNanos(2);
+    private static final long BYTES = 100_000_000;
+
+    @Test
+    public void testGrowWhileNotStalled()
+    {
+        WorkerPolicy policy = new WorkerPolicy(8);
+        assertEquals(policy.nextTarget(BYTES, 0, INTERVAL_NANOS, 2, 2), 3);
+        assertEquals(policy.nextTarget(2 * BYTES, 0, INTERVAL_NANOS, 3, 3), 4);
+    }
+
+    @Test
+    public void testShrinkWhenStalled()
+    {
+        WorkerPolicy policy = new WorkerPolicy(8);
+        // each of the 4 workers was blocked on the writers for half of the interval
+        assertEquals(policy.nextTarget(BYTES, 4 * INTERVAL_NANOS / 2, INTERVAL_NANOS, 4, 4), 3);
+        // never fewer than one worker
+        assertEquals(policy.nextTarget(BYTES, INTERVAL_NANOS, INTERVAL_NANOS, 1, 1), 1);
+    }
+
+    @Test
+    public void testStallRatioUsesRunningWorkers()
+    {
+        WorkerPolicy policy = new WorkerPolicy(8);
+        // the stall is small compared to the 8 workers of the target, but only one of them ran
+        long stallNanos = INTERVAL_NANOS / 2;
+        assertEquals(policy.nextTarget(BYTES, stallNanos, INTERVAL_NANOS, 1, 8), 7);
+    }
+
+    @Test
+    public void testUndoGrowthWithoutGain()
+    {
+        WorkerPolicy policy = new WorkerPolicy(8);
+        assertEquals(policy.nextTarget(BYTES, 0, INTERVAL_NANOS, 4, 4), 5);
+        // the fifth worker did not raise the throughput, so it is removed
+        assertEquals(policy.nextTarget(BYTES, 0, INTERVAL_NANOS, 5, 5), 4);
+        // and the target holds for a while before growing again
+        for (int i = 0; i < 5; i++) {
+            assertEquals(policy.nextTarget(BYTES, 0, INTERVAL_NANOS, 4, 4), 4);
+        }
+        assertEquals(policy.nextTarget(BYTES, 0, INTERVAL_NANOS, 4, 4), 5);
+        // a gain keeps the extra worker
+        assertEquals(policy.nextTarget(2 * BYTES, 0, INTERVAL_NANOS, 5, 5), 6);
+    }
+
+    @Test
+    public void testLimit()
+    {
+        WorkerPolicy policy = new WorkerPolicy(4);
+        assertEquals(policy.nextTarget(BYTES, 0, INTERVAL_NANOS, 4, 4), 4);
+        // reaching the limit is not a growth, so it is never undone
+        assertEquals(policy.nextTarget(BYTES, 0, INTERVAL_NANOS, 4, 4), 4);
+    }
+
+    @Test
+    public void testTaskOrder()
+    {
+        Session session = Session.getDefaultSession().withScale(1).withParallelism(4);
+        List<Task> tasks = AdaptiveScheduler.createTasks(session, ImmutableList.of(CALL_CENTER, STORE_SALES, INVENTORY));
+
+        // store_sales and call_center are too small to split at scale 1, so only their first chunks are tasks
+        assertEquals(tasks.size(), 6);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(tasks.get(i).getTable(), INVENTORY);
+        }
+        assertEquals(tasks.get(4).getTable(), STORE_SALES);
+        assertEquals(tasks.get(4).getSession().getChunkNumber(), 1);
+        assertEquals(tasks.get(5).getTable(), CALL_CENTER);
+        assertEquals(tasks.get(5).getSession().getChunkNumber(), 1);
+        for (int i = 1; i < tasks.size(); i++) {
+            assertTrue(tasks.get(i - 1).getRowCount() >= tasks.get(i).getRowCount());
+        }
+    }
+
+    @Test
+    public void testFailure()
+            throws IOException
+    {
+        // a regular file can not be used as the output directory
+        File file = File.createTempFile("tpcds", ".dat");
+        try {
+            Session session = singleCommand(Driver.class).parse("--scale", "0.01", "--directory", file.getPath(), "--parallelism", "2")
+                    .options.toSession();
+            AdaptiveScheduler scheduler = new AdaptiveScheduler(session, ImmutableList.of(CALL_CENTER, STORE_SALES), 1, 2);
+            try {
+                scheduler.run();
+                fail("expected run to fail");
+            }
+            catch (TpcdsException expected) {
+            }
+        }
+        finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static io.trino.tpcds.BusinessKeyGenerator.BUSINESS_KEY_LENGTH;
+import static io.trino.tpcds.BusinessKeyGenerator.makeBusinessKey;
+import static io.trino.tpcds.BusinessKeyGenerator.parseBusinessKey;
+import static io.trino.tpcds.BusinessKeyGenerator.writeBusinessKey;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+public class TestBusinessKeyGenerator
+{
+    @Test
+    public void testMatchesOriginalKeys()
+    {
+        for (long primary = -1_000; primary < 200_000; primary++) {
+            assertKey(primary);
+        }
+        Random random = new Random(11);
+        for (int i = 0; i < 1_000_000; i++) {
+            assertKey(random.nextLong() >> random.nextInt(64));
+        }
+        assertKey(Long.MAX_VALUE);
+        assertKey(Long.MIN_VALUE);
+        assertEquals(makeBusinessKey(1), "AAAAAAAABAAAAAAA");
+    }
+
+    @Test
+    public void testCachedKeys()
+    {
+        assertSame(makeBusinessKey(42), makeBusinessKey(42));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testParseWrongLength()
+    {
+        parseBusinessKey("AAAAAAAABAAAAAA");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testParseWrongCharacter()
+    {
+        parseBusinessKey("AAAAAAAABAAAAAAQ");
+    }
+
+    private static void assertKey(long primary)
+    {
+        String expected = makeOriginalBusinessKey(primary);
+        assertEquals(makeBusinessKey(primary), expected);
+
+        byte[] buffer = new byte[BUSINESS_KEY_LENGTH + 3];
+        assertEquals(writeBusinessKey(primary, buffer, 3), BUSINESS_KEY_LENGTH);
+        assertEquals(new String(buffer, 3, BUSINESS_KEY_LENGTH, US_ASCII), expected);
+
+        assertEquals(parseBusinessKey(expected), primary);
+    }
+
+    // the original implementation, which builds each half of the key separately
+    private static String makeOriginalBusinessKey(long primary)
+    {
+        return longTo8CharString(primary >> 32) + longTo8CharString(primary);
+    }
+
+    private static String longTo8CharString(long value)
+    {
+        StringBuilder builder = new StringBuilder(8);
+        for (int i = 0; i < 8; i++) {
+            builder.append("ABCDEFGHIJKLMNOP".charAt((int) (value & 0xF)));
+            value >>= 4;
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import com.google.common.base.Splitter;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.airline.SingleCommand.singleCommand;
+import static io.trino.tpcds.Parallel.splitWork;
+import static io.trino.tpcds.Table.STORE_SALES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestCheckpoint
+{
+    // store_sales has 20000 rows at scale 0.1, so this splits it into four units
+    private static final long ROWS_PER_UNIT = 5_000;
+
+    @Test
+    public void testResumeAfterCorruption()
+            throws IOException
+    {
+        Path directory = Files.createTempDirectory("tpcds");
+        try {
+            Path cleanDirectory = Files.createDirectory(directory.resolve("clean"));
+            Path resumedDirectory = Files.createDirectory(directory.resolve("resumed"));
+            generateStoreSales(cleanDirectory, "--checkpoint");
+            generateStoreSales(resumedDirectory, "--checkpoint");
+
+            List<String[]> units = readUnits(resumedDirectory);
+            assertTrue(units.size() >= 3, "store_sales must have at least three units");
+            assertVerifiedUnits(resumedDirectory, units);
+
+            // flip a byte of the store_sales file in the second unit
+            Path parentFile = resumedDirectory.resolve("store_sales.dat");
+            long corruptedPosition = (getLength(units.get(0), 0) + getLength(units.get(1), 0)) / 2;
+            try (RandomAccessFile file = new RandomAccessFile(parentFile.toFile(), "rw")) {
+                file.seek(corruptedPosition);
+                int value = file.read();
+                file.seek(corruptedPosition);
+                file.write(value ^ 1);
+            }
+
+            // and cut the store_returns file short partway through the third unit
+            Path childFile = resumedDirectory.resolve("store_returns.dat");
+            try (RandomAccessFile file = new RandomAccessFile(childFile.toFile(), "rw")) {
+                file.setLength((getLength(units.get(1), 1) + getLength(units.get(2), 1)) / 2);
+            }
+
+            // only the first unit still verifies, so the files are cut back to its end and generation restarts after it
+            Session resumeSession = createSession(resumedDirectory, "--resume");
+            List<File> files = Arrays.asList(parentFile.toFile(), childFile.toFile());
+            long nextRow = new Checkpoint(resumeSession, ROWS_PER_UNIT).resume(STORE_SALES, splitWork(STORE_SALES, resumeSession), files);
+            assertEquals(nextRow, Long.parseLong(units.get(1)[1]));
+            assertEquals(Files.size(parentFile), getLength(units.get(0), 0));
+            assertEquals(Files.size(childFile), getLength(units.get(0), 1));
+            List<String[]> remainingUnits = readUnits(resumedDirectory);
+            assertEquals(remainingUnits.size(), 1);
+            assertEquals(remainingUnits.get(0), units.get(0));
+
+            generateStoreSales(resumedDirectory, "--resume");
+            assertEquals(Files.readAllBytes(parentFile), Files.readAllBytes(cleanDirectory.resolve("store_sales.dat")));
+            assertEquals(Files.readAllBytes(childFile), Files.readAllBytes(cleanDirectory.resolve("store_returns.dat")));
+            assertEquals(readUnits(resumedDirectory).size(), units.size());
+            assertVerifiedUnits(resumedDirectory, readUnits(resumedDirectory));
+        }
+        finally {
+            deleteRecursively(directory, ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testResumeCompleteRun()
+            throws IOException
+    {
+        Path directory = Files.createTempDirectory("tpcds");
+        try {
+            generateStoreSales(directory, "--checkpoint");
+            byte[] parent = Files.readAllBytes(directory.resolve("store_sales.dat"));
+            byte[] child = Files.readAllBytes(directory.resolve("store_returns.dat"));
+            List<String[]> units = readUnits(directory);
+
+            // every unit verifies, so nothing is generated again
+            generateStoreSales(directory, "--resume");
+            assertEquals(Files.readAllBytes(directory.resolve("store_sales.dat")), parent);
+            assertEquals(Files.readAllBytes(directory.resolve("store_returns.dat")), child);
+            assertEquals(readUnits(directory).size(), units.size());
+        }
+        finally {
+            deleteRecursively(directory, ALLOW_INSECURE);
+        }
+    }
+
+    private static void generateStoreSales(Path directory, String option)
+    {
+        new TableGenerator(createSession(directory, option), new WriteStatistics(), ROWS_PER_UNIT).generateTable(STORE_SALES);
+    }
+
+    // without a single table, the store_returns rows are generated along with the store_sales rows
+    private static Session createSession(Path directory, String option)
+    {
+        return singleCommand(Driver.class).parse("--scale", "0.1", "--directory", directory.toString(), option).options.toSession();
+    }
+
+    // the units recorded for store_sales, as the fields: table, first row, last row, then the length and checksum of each file
+    private static List<String[]> readUnits(Path directory)
+            throws IOException
+    {
+        List<String[]> units = new ArrayList<>();
+        for (String line : Files.readAllLines(directory.resolve("tpcds.checkpoint"), UTF_8)) {
+            if (line.startsWith("store_sales ")) {
+                units.add(Splitter.on(' ').splitToList(line).toArray(new String[0]));
+            }
+        }
+        return units;
+    }
+
+    private static long getLength(String[] unit, int file)
+    {
+        return Long.parseLong(unit[3 + file * 2]);
+    }
+
+    // the units are consecutive, end at the end of each file, and their checksums match the bytes of the files
+    private static void assertVerifiedUnits(Path directory, List<String[]> units)
+            throws IOException
+    {
+        List<byte[]> files = Arrays.asList(
+                Files.readAllBytes(directory.resolve("store_sales.dat")),
+                Files.readAllBytes(directory.resolve("store_returns.dat")));
+        long nextRow = 1;
+        long[] starts = new long[files.size()];
+        for (String[] unit : units) {
+            assertEquals(Long.parseLong(unit[1]), nextRow);
+            nextRow = Long.parseLong(unit[2]) + 1;
+            for (int i = 0; i < files.size(); i++) {
+                long end = getLength(unit, i);
+                CRC32 crc = new CRC32();
+                crc.update(files.get(i), (int) starts[i], (int) (end - starts[i]));
+                assertEquals(Long.toHexString(crc.getValue()), unit[4 + i * 2]);
+                starts[i] = end;
+            }
+        }
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(starts[i], files.get(i).length);
+        }
+    }
+}
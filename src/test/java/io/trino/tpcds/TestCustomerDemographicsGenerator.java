@@ -16,6 +16,9 @@ package io.trino.tpcds;
 
 import org.testng.annotations.Test;
 
+import java.util.Optional;
+
+import static io.trino.tpcds.GeneratorAssertions.assertBatchMatchesResults;
 import static io.trino.tpcds.GeneratorAssertions.assertPartialMD5;
 import static io.trino.tpcds.Session.getDefaultSession;
 import static io.trino.tpcds.Table.CUSTOMER_DEMOGRAPHICS;
@@ -100,4 +103,14 @@ public class TestCustomerDemographicsGenerator
         Session session = TEST_SESSION.withScale(15);
         assertPartialMD5(1, session.getScaling().getRowCount(CUSTOMER_DEMOGRAPHICS), CUSTOMER_DEMOGRAPHICS, TEST_SESSION, "8831872c6d56ea9d4f24701f2feaef48");
     }
+
+    @Test
+    public void testBatchGeneratorRanges()
+    {
+        Session session = new Session(1, ".", ".dat", Optional.of(CUSTOMER_DEMOGRAPHICS), "", '|', true, false, 1, false);
+        long[][] ranges = {{1, 1}, {2, 3}, {137, 4_000}, {1_920_000, 1_920_800}};
+        for (long[] range : ranges) {
+            assertBatchMatchesResults(CUSTOMER_DEMOGRAPHICS, session, range[0], range[1]);
+        }
+    }
 }
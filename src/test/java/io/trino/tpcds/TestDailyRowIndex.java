@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import io.trino.tpcds.Parallel.DateNextIndexPair;
+import org.testng.annotations.Test;
+
+import static io.trino.tpcds.Parallel.skipDaysUntilFirstRowOfChunk;
+import static io.trino.tpcds.Parallel.splitWork;
+import static io.trino.tpcds.Session.getDefaultSession;
+import static io.trino.tpcds.Table.CATALOG_SALES;
+import static io.trino.tpcds.Table.INVENTORY;
+import static io.trino.tpcds.Table.STORE_SALES;
+import static io.trino.tpcds.Table.WEB_SALES;
+import static io.trino.tpcds.type.Date.JULIAN_DATA_START_DATE;
+import static org.testng.Assert.assertEquals;
+
+public class TestDailyRowIndex
+{
+    @Test
+    public void testRowNumbersForDates()
+    {
+        Scaling scaling = new Scaling(1);
+        DailyRowIndex dailyRowIndex = scaling.getDailyRowIndex(STORE_SALES);
+        long firstRow = 1;
+        for (long julianDate = JULIAN_DATA_START_DATE; julianDate < JULIAN_DATA_START_DATE + 3000; julianDate++) {
+            long rowCount = scaling.getRowCountForDate(STORE_SALES, julianDate);
+            assertEquals(dailyRowIndex.getRowCountForDate(julianDate), rowCount);
+            assertEquals(dailyRowIndex.getFirstRowNumberForDate(julianDate), firstRow);
+            assertEquals(dailyRowIndex.getLastRowNumberForDate(julianDate), firstRow + rowCount - 1);
+            if (rowCount > 0) {
+                assertEquals(dailyRowIndex.getJulianDateForRowNumber(firstRow), julianDate);
+                assertEquals(dailyRowIndex.getJulianDateForRowNumber(firstRow + rowCount - 1), julianDate);
+            }
+            firstRow += rowCount;
+        }
+    }
+
+    @Test
+    public void testSkipDaysMatchesLinearScan()
+    {
+        for (Table table : new Table[] {STORE_SALES, CATALOG_SALES, WEB_SALES, INVENTORY}) {
+            Session session = getDefaultSession().withScale(10).withParallelism(37);
+            for (int chunk = 1; chunk <= session.getParallelism(); chunk++) {
+                Session chunkSession = session.withChunkNumber(chunk);
+                DateNextIndexPair expected = skipDaysLinearly(table, chunkSession);
+                DateNextIndexPair actual = skipDaysUntilFirstRowOfChunk(table, chunkSession);
+                assertEquals(actual.getJulianDate(), expected.getJulianDate(), table + " chunk " + chunk);
+                assertEquals(actual.getNextDateIndex(), expected.getNextDateIndex(), table + " chunk " + chunk);
+            }
+        }
+    }
+
+    // the day at a time walk of the C code
+    private static DateNextIndexPair skipDaysLinearly(Table table, Session session)
+    {
+        long julianDate = JULIAN_DATA_START_DATE;
+        Scaling scaling = session.getScaling();
+        long index = 1;
+        long newDateIndex = scaling.getRowCountForDate(table, julianDate) + index;
+
+        long firstRow = splitWork(table, session).getFirstRow();
+        while (index < firstRow) {
+            index += scaling.getRowCountForDate(table, julianDate);
+            julianDate += 1;
+            newDateIndex = index;
+        }
+        if (index > firstRow) {
+            julianDate -= 1;
+        }
+
+        return new DateNextIndexPair(julianDate, newDateIndex);
+    }
+}
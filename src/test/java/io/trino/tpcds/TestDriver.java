@@ -16,6 +16,8 @@ package io.trino.tpcds;
 
 import org.testng.annotations.Test;
 
+import java.util.Optional;
+
 import static io.airlift.airline.SingleCommand.singleCommand;
 import static io.trino.tpcds.Table.CALL_CENTER;
 import static org.testng.Assert.assertEquals;
@@ -101,6 +103,81 @@ public class TestDriver
         }
     }
 
+    @Test
+    public void testResumeWithOverwrite()
+    {
+        Driver driver = singleCommand(Driver.class).parse("--resume", "--overwrite");
+        try {
+            driver.options.toSession();
+            fail("expected exception");
+        }
+        catch (InvalidOptionException e) {
+            assertEquals(e.getMessage(), "Invalid value for resume: 'true'. Resume cannot be combined with overwrite");
+        }
+    }
+
+    @Test
+    public void testResumeImpliesCheckpoint()
+    {
+        Session session = singleCommand(Driver.class).parse("--resume").options.toSession();
+        assertTrue(session.shouldResume());
+        assertTrue(session.shouldCheckpoint());
+        assertEquals(session.getCommandLineArguments(), "--resume");
+    }
+
+    @Test
+    public void testTableCacheDirectory()
+    {
+        String directory = System.getProperty("java.io.tmpdir");
+        Session session = singleCommand(Driver.class).parse("--table-cache-directory", directory, "--scale", "2").options.toSession();
+        assertEquals(session.getTableCacheDirectory(), Optional.of(directory));
+        assertEquals(session.withChunkNumber(2).getTableCacheDirectory(), Optional.of(directory));
+        assertEquals(session.withTableCacheDirectory(Optional.empty()).getTableCacheDirectory(), Optional.empty());
+        assertEquals(session.withTableCacheDirectory(Optional.empty()).getScaling().getScale(), 2.0);
+    }
+
+    @Test
+    public void testAutoParallelism()
+    {
+        Driver driver = singleCommand(Driver.class).parse("--parallelism", "auto", "--scale", "2.5");
+        assertTrue(driver.options.isAutoParallelism());
+        assertEquals(driver.options.toSession().getParallelism(), 3);
+
+        driver = singleCommand(Driver.class).parse("--parallelism", "auto", "--scale", "0.01");
+        assertEquals(driver.options.toSession().getParallelism(), 1);
+
+        driver = singleCommand(Driver.class).parse("--parallelism", "4");
+        assertFalse(driver.options.isAutoParallelism());
+        assertEquals(driver.options.toSession().getParallelism(), 4);
+    }
+
+    @Test
+    public void testParallelismFields()
+    {
+        Options options = new Options();
+        options.parallelism = 4;
+        assertFalse(options.isAutoParallelism());
+        assertEquals(options.toSession().getParallelism(), 4);
+
+        options.scale = 2.5;
+        options.autoParallelism = true;
+        assertTrue(options.isAutoParallelism());
+        assertEquals(options.toSession().getParallelism(), 3);
+    }
+
+    @Test
+    public void testInvalidParallelism()
+    {
+        Driver driver = singleCommand(Driver.class).parse("--parallelism", "many");
+        try {
+            driver.options.toSession();
+            fail("expected exception");
+        }
+        catch (InvalidOptionException e) {
+            assertEquals(e.getMessage(), "Invalid value for parallelism: 'many'. Parallelism must be a number or 'auto'");
+        }
+    }
+
     @Test
     public void testDecimalScale()
     {
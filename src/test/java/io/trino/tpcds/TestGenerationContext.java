@@ -0,0 +1,146 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.trino.tpcds.GenerationContext.getGenerationContext;
+import static io.trino.tpcds.Results.constructResults;
+import static io.trino.tpcds.Table.ITEM;
+import static io.trino.tpcds.Table.STORE_SALES;
+import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_PERMUTATION;
+import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_SOLD_STORE_SK;
+import static java.lang.String.format;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+public class TestGenerationContext
+{
+    @Test
+    public void testSharedBySessionsOfTheSameScale()
+    {
+        Session session = Session.getDefaultSession().withScale(2);
+        assertSame(session.withChunkNumber(2).getGenerationContext(), session.getGenerationContext());
+        assertSame(session.withTable(STORE_SALES).getScaling(), session.getScaling());
+        assertSame(getGenerationContext(2), session.getGenerationContext());
+        assertNotSame(session.withScale(3).getGenerationContext(), session.getGenerationContext());
+
+        GenerationContext context = session.getGenerationContext();
+        assertSame(context.getJoinKeyGenerator(SS_SOLD_STORE_SK, Table.STORE), context.getJoinKeyGenerator(SS_SOLD_STORE_SK, Table.STORE));
+        // a generator is only shared by the lookups into the same table
+        assertNotSame(context.getJoinKeyGenerator(SS_SOLD_STORE_SK, Table.STORE), context.getJoinKeyGenerator(SS_SOLD_STORE_SK, Table.DATE_DIM));
+        assertNotSame(context.createRowGenerator(STORE_SALES), context.createRowGenerator(STORE_SALES));
+    }
+
+    @Test
+    public void testSessionKeepsItsContext()
+    {
+        Session session = Session.getDefaultSession().withScale(4);
+        GenerationContext context = session.getGenerationContext();
+        // looking up more scales than are cached does not change the context of an existing session, or of the sessions derived from it
+        for (int scale = 100; scale < 120; scale++) {
+            getGenerationContext(scale);
+        }
+        assertSame(session.getGenerationContext(), context);
+        assertSame(session.withChunkNumber(2).withTable(STORE_SALES).getGenerationContext(), context);
+    }
+
+    @Test
+    public void testSharedPermutation()
+    {
+        GenerationContext context = Session.getDefaultSession().withScale(2).getGenerationContext();
+        int itemCount = (int) context.getScaling().getIdCount(ITEM);
+        int[] permutation = context.getSharedPermutation(SS_PERMUTATION, itemCount);
+        assertEquals(permutation.length, itemCount);
+        assertSame(context.getSharedPermutation(SS_PERMUTATION, itemCount), permutation);
+        assertNotSame(Session.getDefaultSession().withScale(3).getGenerationContext().getSharedPermutation(SS_PERMUTATION, itemCount), permutation);
+
+        try {
+            context.getSharedPermutation(SS_PERMUTATION, itemCount + 1);
+            fail("expected exception");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals(e.getMessage(), format("the permutation of column SS_PERMUTATION has %s entries, not %s", itemCount, itemCount + 1));
+        }
+        try {
+            context.getSharedPermutation(SS_SOLD_STORE_SK, itemCount);
+            fail("expected exception");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals(e.getMessage(), "column SS_SOLD_STORE_SK uses seeds per row, so its permutation depends on the row");
+        }
+    }
+
+    @Test
+    public void testNoRowGenerator()
+    {
+        try {
+            getGenerationContext(1).createRowGenerator(Table.S_ZIPG);
+            fail("expected exception");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals(e.getMessage(), "table S_ZIPG has no row generator");
+        }
+    }
+
+    @Test
+    public void testConcurrentSplits()
+            throws Exception
+    {
+        // store_sales is too small to be split by the session at this scale, so the splits are explicit row ranges
+        Session session = Session.getDefaultSession().withScale(0.01).withTable(STORE_SALES);
+        long rowCount = session.getScaling().getRowCount(STORE_SALES);
+        int splits = 8;
+        long rowsPerSplit = rowCount / splits;
+        List<List<String>> expected = generateRows(session, 1, rowCount);
+
+        // the splits of a table share the context, and generate the same rows when run at the same time
+        ExecutorService executor = Executors.newFixedThreadPool(splits);
+        try {
+            List<Future<List<List<String>>>> futures = new ArrayList<>();
+            for (int split = 0; split < splits; split++) {
+                long firstRow = split * rowsPerSplit + 1;
+                long lastRow = split == splits - 1 ? rowCount : firstRow + rowsPerSplit - 1;
+                futures.add(executor.submit(() -> generateRows(session, firstRow, lastRow)));
+            }
+            List<List<String>> actual = new ArrayList<>();
+            for (Future<List<List<String>>> future : futures) {
+                actual.addAll(future.get());
+            }
+            assertEquals(actual, expected);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<List<String>> generateRows(Session session, long firstRow, long lastRow)
+    {
+        ImmutableList.Builder<List<String>> rows = ImmutableList.builder();
+        for (List<List<String>> parentAndChildRows : constructResults(STORE_SALES, firstRow, lastRow, session)) {
+            rows.add(parentAndChildRows.get(0));
+        }
+        return rows.build();
+    }
+}
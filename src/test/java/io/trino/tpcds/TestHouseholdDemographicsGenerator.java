@@ -16,6 +16,9 @@ package io.trino.tpcds;
 
 import org.testng.annotations.Test;
 
+import java.util.Optional;
+
+import static io.trino.tpcds.GeneratorAssertions.assertBatchMatchesResults;
 import static io.trino.tpcds.GeneratorAssertions.assertPartialMD5;
 import static io.trino.tpcds.Session.getDefaultSession;
 import static io.trino.tpcds.Table.HOUSEHOLD_DEMOGRAPHICS;
@@ -100,4 +103,14 @@ public class TestHouseholdDemographicsGenerator
         Session session = TEST_SESSION.withScale(15);
         assertPartialMD5(1, session.getScaling().getRowCount(HOUSEHOLD_DEMOGRAPHICS), HOUSEHOLD_DEMOGRAPHICS, session, "dccf2ff17c5e420021fbf92bf9a0a5ec");
     }
+
+    @Test
+    public void testBatchGeneratorRanges()
+    {
+        Session session = new Session(1, ".", ".dat", Optional.of(HOUSEHOLD_DEMOGRAPHICS), "", '|', true, false, 1, false);
+        long[][] ranges = {{1, 1}, {19, 22}, {1_234, 2_345}, {7_100, 7_200}};
+        for (long[] range : ranges) {
+            assertBatchMatchesResults(HOUSEHOLD_DEMOGRAPHICS, session, range[0], range[1]);
+        }
+    }
 }
@@ -17,6 +17,9 @@ package io.trino.tpcds;
 import io.trino.tpcds.Parallel.ChunkBoundaries;
 import org.testng.annotations.Test;
 
+import java.util.Optional;
+
+import static io.trino.tpcds.GeneratorAssertions.assertBatchMatchesResults;
 import static io.trino.tpcds.GeneratorAssertions.assertPartialMD5;
 import static io.trino.tpcds.Parallel.splitWork;
 import static io.trino.tpcds.Session.getDefaultSession;
@@ -184,4 +187,11 @@ public class TestInventoryGenerator
         chunkBoundaries = splitWork(INVENTORY, session);
         assertPartialMD5(chunkBoundaries.getFirstRow(), chunkBoundaries.getLastRow(), INVENTORY, session, "ef5f4fcb2379a30160fc143dbe9180d0");
     }
+
+    @Test
+    public void testBatchGeneratorFormatting()
+    {
+        Session session = new Session(1, ".", ".dat", Optional.of(INVENTORY), "NULL", '\t', true, false, 1, false);
+        assertBatchMatchesResults(INVENTORY, session, 44_000, 46_000);
+    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import com.google.common.collect.ImmutableList;
+import io.trino.tpcds.random.RandomNumberStream;
+import io.trino.tpcds.row.TableRow;
+import io.trino.tpcds.row.generator.AbstractRowGenerator;
+import io.trino.tpcds.row.generator.CustomerRowGenerator;
+import io.trino.tpcds.row.generator.RowGenerator;
+import io.trino.tpcds.row.generator.RowGeneratorResult;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.trino.tpcds.Results.constructResults;
+import static io.trino.tpcds.Session.getDefaultSession;
+import static io.trino.tpcds.Table.CATALOG_SALES;
+import static io.trino.tpcds.Table.CUSTOMER;
+import static io.trino.tpcds.Table.INVENTORY;
+import static io.trino.tpcds.Table.STORE_SALES;
+import static io.trino.tpcds.Table.WEB_SALES;
+import static io.trino.tpcds.generator.CustomerGeneratorColumn.C_CURRENT_CDEMO_SK;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+public class TestSeekToRow
+{
+    @Test
+    public void testSeekMatchesNewGenerator()
+            throws Exception
+    {
+        Session session = getDefaultSession().withScale(0.01);
+        for (Table table : ImmutableList.of(STORE_SALES, CATALOG_SALES, WEB_SALES, CUSTOMER, INVENTORY)) {
+            AbstractRowGenerator rowGenerator = (AbstractRowGenerator) table.getRowGeneratorClass().getDeclaredConstructor().newInstance();
+            AbstractRowGenerator childRowGenerator = table.hasChild() ? (AbstractRowGenerator) table.getChild().getRowGeneratorClass().getDeclaredConstructor().newInstance() : null;
+
+            generate(table, rowGenerator, childRowGenerator, 1, 50, session);
+            for (long startingRow : new long[] {600, 17, 1, 301}) {
+                rowGenerator.seekToRow(startingRow);
+                if (childRowGenerator != null) {
+                    childRowGenerator.seekToRow(startingRow);
+                }
+                assertEquals(
+                        generate(table, rowGenerator, childRowGenerator, startingRow, startingRow + 49, session),
+                        ImmutableList.copyOf(constructResults(table, startingRow, startingRow + 49, session)),
+                        table + " starting at row " + startingRow);
+            }
+        }
+    }
+
+    @Test
+    public void testSeekPastIntegerRange()
+    {
+        CustomerRowGenerator rowGenerator = new CustomerRowGenerator();
+        RandomNumberStream stream = rowGenerator.getRandomNumberStream(C_CURRENT_CDEMO_SK);
+        rowGenerator.seekToRow(5);
+        long draw = stream.nextRandom();
+
+        // the row number is not truncated to an int, which would land back on row 5
+        rowGenerator.seekToRow((1L << 32) + 5);
+        assertNotEquals(stream.nextRandom(), draw);
+
+        rowGenerator.seekToRow(5);
+        assertEquals(stream.nextRandom(), draw);
+    }
+
+    // the same rows as Results, from generators that are already positioned at startingRow
+    private static List<List<List<String>>> generate(Table table, RowGenerator rowGenerator, RowGenerator childRowGenerator, long startingRow, long endingRow, Session session)
+    {
+        List<List<List<String>>> rows = new ArrayList<>();
+        long rowNumber = startingRow;
+        while (rowNumber <= endingRow) {
+            RowGeneratorResult result = rowGenerator.generateRowAndChildRows(rowNumber, session, null, childRowGenerator);
+            if (!result.getRowAndChildRows().isEmpty()) {
+                List<List<String>> values = new ArrayList<>();
+                for (TableRow row : result.getRowAndChildRows()) {
+                    values.add(row.getValues());
+                }
+                rows.add(values);
+            }
+            if (result.shouldEndRow()) {
+                rowGenerator.consumeRemainingSeedsForRow();
+                if (childRowGenerator != null) {
+                    childRowGenerator.consumeRemainingSeedsForRow();
+                }
+                rowNumber++;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.airlift.airline.SingleCommand.singleCommand;
+import static io.trino.tpcds.Parallel.splitWork;
+import static io.trino.tpcds.Table.CALL_CENTER;
+import static io.trino.tpcds.Table.REASON;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestTableCache
+{
+    @Test
+    public void testCopiesCachedTable()
+            throws IOException
+    {
+        Path directory = Files.createTempDirectory("tpcds");
+        try {
+            Path cacheDirectory = Files.createDirectory(directory.resolve("cache"));
+            Session session = createSession(directory, cacheDirectory, "reason");
+
+            // the first run generates the table and fills the cache
+            new TableGenerator(session).generateTable(REASON);
+            byte[] generated = Files.readAllBytes(directory.resolve("reason.dat"));
+            List<Path> cached = listFiles(cacheDirectory);
+            assertEquals(cached.size(), 1);
+            assertEquals(Files.readAllBytes(cached.get(0)), generated);
+
+            // the second run copies the cached file, so changing it shows where the output came from
+            Files.write(cached.get(0), "cached\n".getBytes());
+            new TableGenerator(session).generateTable(REASON);
+            assertEquals(new String(Files.readAllBytes(directory.resolve("reason.dat"))), "cached\n");
+        }
+        finally {
+            deleteRecursively(directory, ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testSkipsScaleDependentTables()
+            throws IOException
+    {
+        Path directory = Files.createTempDirectory("tpcds");
+        try {
+            Path cacheDirectory = Files.createDirectory(directory.resolve("cache"));
+            new TableGenerator(createSession(directory, cacheDirectory, "call_center")).generateTable(CALL_CENTER);
+            assertTrue(Files.size(directory.resolve("call_center.dat")) > 0);
+            assertTrue(listFiles(cacheDirectory).isEmpty());
+            assertFalse(TableCache.isCacheable(CALL_CENTER));
+        }
+        finally {
+            deleteRecursively(directory, ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testCreatesDirectory()
+            throws IOException
+    {
+        Path directory = Files.createTempDirectory("tpcds");
+        try {
+            Path cacheDirectory = directory.resolve("missing").resolve("cache");
+            new TableGenerator(createSession(directory, cacheDirectory, "reason")).generateTable(REASON);
+            assertEquals(listFiles(cacheDirectory).size(), 1);
+        }
+        finally {
+            deleteRecursively(directory, ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testGeneratesWithoutUsableCache()
+            throws IOException
+    {
+        Path directory = Files.createTempDirectory("tpcds");
+        try {
+            // a regular file can not be the cache directory, so the table is generated without the cache
+            Path cacheFile = Files.createFile(directory.resolve("cache"));
+            new TableGenerator(createSession(directory, cacheFile, "reason")).generateTable(REASON);
+            assertTrue(Files.size(directory.resolve("reason.dat")) > 0);
+
+            // a cache whose directory went away does not fail the table that was generated
+            Session session = createSession(directory, directory, "reason");
+            TableCache cache = new TableCache(directory.resolve("removed"), session, "version");
+            cache.addToCache(REASON, splitWork(REASON, session), directory.resolve("reason.dat").toFile());
+            assertFalse(cache.copyFromCache(REASON, splitWork(REASON, session), directory.resolve("copy.dat").toFile()));
+        }
+        finally {
+            deleteRecursively(directory, ALLOW_INSECURE);
+        }
+    }
+
+    @Test
+    public void testUnsupportedCodeSource()
+            throws IOException
+    {
+        assertFalse(TableCache.hashCodeSource(new URL("jar:file:/tpcds/outer.jar!/lib/tpcds.jar")).isPresent());
+        assertFalse(TableCache.hashCodeSource(new URL("http://example.com/tpcds.jar")).isPresent());
+    }
+
+    @Test
+    public void testKeyIncludesOptions()
+    {
+        Path cacheDirectory = new File("cache").toPath();
+        Session session = Session.getDefaultSession().withTable(REASON);
+        Path path = new TableCache(cacheDirectory, session, "version").getPath(REASON, splitWork(REASON, session));
+
+        assertEquals(new TableCache(cacheDirectory, session.withScale(100), "version").getPath(REASON, splitWork(REASON, session)), path);
+        assertNotEquals(new TableCache(cacheDirectory, session, "other").getPath(REASON, splitWork(REASON, session)), path);
+        assertNotEquals(new TableCache(cacheDirectory, session.withNoSexism(true), "version").getPath(REASON, splitWork(REASON, session)), path);
+        Session withNullString = singleCommand(Driver.class).parse("--table", "reason", "--null", "NULL").options.toSession();
+        assertNotEquals(new TableCache(cacheDirectory, withNullString, "version").getPath(REASON, splitWork(REASON, session)), path);
+    }
+
+    private static Session createSession(Path directory, Path cacheDirectory, String table)
+    {
+        return singleCommand(Driver.class).parse(
+                "--table", table,
+                "--directory", directory.toString(),
+                "--table-cache-directory", cacheDirectory.toString(),
+                "--overwrite").options.toSession();
+    }
+
+    private static List<Path> listFiles(Path directory)
+            throws IOException
+    {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds;
+
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class TestTableFileWriter
+{
+    @Test
+    public void testWritesInOrder()
+            throws IOException
+    {
+        File file = File.createTempFile("tpcds", ".dat");
+        try {
+            WriteStatistics statistics = new WriteStatistics();
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            try (TableFileWriter writer = new TableFileWriter(file, statistics)) {
+                for (int i = 0; i < 100_000; i++) {
+                    String row = i + "|row " + i + "\n";
+                    writer.write(row);
+                    expected.write(row.getBytes(), 0, row.length());
+                    // rows longer than a batch are written on their own
+                    if (i % 20_000 == 0) {
+                        byte[] large = new byte[200_000];
+                        Arrays.fill(large, (byte) ('a' + i % 26));
+                        writer.write(large, 0, large.length);
+                        expected.write(large, 0, large.length);
+                    }
+                }
+            }
+            assertEquals(Files.readAllBytes(file.toPath()), expected.toByteArray());
+            assertEquals(statistics.getBytes(), expected.size());
+        }
+        finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void testSync()
+            throws IOException
+    {
+        File file = File.createTempFile("tpcds", ".dat");
+        try (TableFileWriter writer = new TableFileWriter(file, new WriteStatistics())) {
+            byte[] first = "first|unit\n".getBytes();
+            writer.write(first, 0, first.length);
+            CompletableFuture<Void> synced = writer.sync();
+            TableFileWriter.awaitSync(synced);
+            assertTrue(synced.isDone());
+            assertEquals(writer.getLength(), first.length);
+            assertEquals(writer.getAndResetChecksum(), checksum(first));
+
+            // the checksum only covers the bytes written since it was last reset
+            byte[] second = "second|unit\n".getBytes();
+            writer.write(second, 0, second.length);
+            TableFileWriter.awaitSync(writer.sync());
+            assertEquals(writer.getLength(), first.length + second.length);
+            assertEquals(writer.getAndResetChecksum(), checksum(second));
+        }
+        finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    @Test(timeOut = 60_000)
+    public void testWriteFailure()
+            throws Exception
+    {
+        // every write to /dev/full fails with no space left on the device
+        File file = new File("/dev/full");
+        if (!file.canWrite()) {
+            throw new SkipException("/dev/full is not available");
+        }
+
+        TableFileWriter writer = new TableFileWriter(file, new WriteStatistics());
+        byte[] row = "row\n".getBytes();
+        writer.write(row, 0, row.length);
+        try {
+            TableFileWriter.awaitSync(writer.sync());
+            fail("expected exception");
+        }
+        catch (IOException expected) {
+        }
+
+        // the failure surfaces from every later call, and closing still stops the writer thread
+        try {
+            writer.write(new byte[1024 * 1024], 0, 1024 * 1024);
+            fail("expected exception");
+        }
+        catch (IOException expected) {
+        }
+        try {
+            writer.close();
+            fail("expected exception");
+        }
+        catch (IOException expected) {
+        }
+        assertFalse(isWriterThreadAlive("full"));
+    }
+
+    @Test(timeOut = 60_000)
+    public void testInterruptedWriterThread()
+            throws Exception
+    {
+        File file = File.createTempFile("tpcds", ".dat");
+        try {
+            TableFileWriter writer = new TableFileWriter(file, new WriteStatistics());
+            Thread writerThread = findWriterThread(file.getName());
+            writerThread.interrupt();
+            writerThread.join();
+
+            // without the writer thread the queue fills up, and the producer must fail instead of blocking forever
+            try {
+                byte[] batch = new byte[64 * 1024];
+                for (int i = 0; i < 1000; i++) {
+                    writer.write(batch, 0, batch.length);
+                }
+                fail("expected exception");
+            }
+            catch (IOException expected) {
+            }
+            try {
+                writer.close();
+                fail("expected exception");
+            }
+            catch (IOException expected) {
+            }
+        }
+        finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    private static long checksum(byte[] bytes)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return crc.getValue();
+    }
+
+    private static Thread findWriterThread(String fileName)
+    {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("tpcds-writer-" + fileName))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no writer thread for " + fileName));
+    }
+
+    private static boolean isWriterThreadAlive(String fileName)
+    {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().equals("tpcds-writer-" + fileName) && thread.isAlive());
+    }
+}
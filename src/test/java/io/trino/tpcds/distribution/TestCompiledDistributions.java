@@ -0,0 +1,162 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.distribution;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Resources;
+import io.trino.tpcds.TpcdsException;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.trino.tpcds.distribution.CompiledDistributions.checkOverrides;
+import static io.trino.tpcds.distribution.CompiledDistributions.hashDistributionFiles;
+import static io.trino.tpcds.distribution.CompiledDistributions.loadDistributionFile;
+import static io.trino.tpcds.distribution.CompiledDistributions.readDistributionFiles;
+import static io.trino.tpcds.distribution.CompiledDistributions.writeDistributionFiles;
+import static io.trino.tpcds.distribution.DistributionFile.parseDistributionFile;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+public class TestCompiledDistributions
+{
+    @Test
+    public void testRoundTrip()
+            throws Exception
+    {
+        Map<String, DistributionFile> distributionFiles = parseAllDistributionFiles();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeDistributionFiles(distributionFiles, hashDistributionFiles(distributionFiles.keySet()), output);
+        Map<String, DistributionFile> compiled = readDistributionFiles(output.toByteArray()).get();
+
+        assertEquals(compiled.keySet(), distributionFiles.keySet());
+        for (Map.Entry<String, DistributionFile> entry : distributionFiles.entrySet()) {
+            assertDistributionFilesEqual(compiled.get(entry.getKey()), entry.getValue(), entry.getKey());
+        }
+    }
+
+    @Test
+    public void testStaleResource()
+            throws Exception
+    {
+        Map<String, DistributionFile> distributionFiles = parseAllDistributionFiles();
+        String sourceHash = hashDistributionFiles(distributionFiles.keySet());
+
+        // compiled from files with other contents than the ones on the class path
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writeDistributionFiles(distributionFiles, hashDistributionFiles(ImmutableList.of("calendar.dst")), output);
+        assertFalse(readDistributionFiles(output.toByteArray()).isPresent());
+
+        // written by another version
+        output = new ByteArrayOutputStream();
+        writeDistributionFiles(distributionFiles, sourceHash, output);
+        byte[] bytes = output.toByteArray();
+        bytes[7]++;
+        assertFalse(readDistributionFiles(bytes).isPresent());
+    }
+
+    @Test
+    public void testLoadMatchesText()
+            throws Exception
+    {
+        // uses the compiled resource when the build created it, and the text files otherwise
+        for (Map.Entry<String, DistributionFile> entry : parseAllDistributionFiles().entrySet()) {
+            assertDistributionFilesEqual(loadDistributionFile(entry.getKey()), entry.getValue(), entry.getKey());
+        }
+    }
+
+    @Test
+    public void testDistributionDirectoryOverride()
+            throws Exception
+    {
+        Path directory = Files.createTempDirectory("distributions");
+        try {
+            Path genders = directory.resolve("genders.dst");
+            Files.write(genders, ImmutableList.of("-- skewed gender", "M: 1", "F: 99"), ISO_8859_1);
+            checkOverrides(directory);
+
+            DistributionFile overridden = loadDistributionFile("genders.dst", Optional.of(directory));
+            assertEquals(overridden.getLineCount(), 2);
+            assertEquals(overridden.getValues(1), new String[] {"F"});
+            assertEquals(overridden.getWeights(1), new int[] {99});
+
+            // files that are not in the directory are the built-in ones
+            assertDistributionFilesEqual(loadDistributionFile("calendar.dst", Optional.of(directory)), parseDistributionFile("calendar.dst"), "calendar.dst");
+        }
+        finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void testDistributionDirectoryRejectsUnknownFile()
+            throws Exception
+    {
+        Path directory = Files.createTempDirectory("distributions");
+        try {
+            Files.write(directory.resolve("gender.dst"), ImmutableList.of("M: 1"), ISO_8859_1);
+            assertThrows(TpcdsException.class, () -> checkOverrides(directory));
+            assertThrows(TpcdsException.class, () -> checkOverrides(directory.resolve("missing")));
+        }
+        finally {
+            deleteDirectory(directory);
+        }
+    }
+
+    private static void deleteDirectory(Path directory)
+            throws IOException
+    {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    private static Map<String, DistributionFile> parseAllDistributionFiles()
+            throws Exception
+    {
+        File directory = new File(Resources.getResource(DistributionUtils.class, "calendar.dst").toURI()).getParentFile();
+        String[] filenames = directory.list((dir, name) -> name.endsWith(".dst"));
+        assertTrue(filenames != null && filenames.length > 0);
+
+        Map<String, DistributionFile> distributionFiles = new LinkedHashMap<>();
+        for (String filename : filenames) {
+            distributionFiles.put(filename, parseDistributionFile(filename));
+        }
+        return distributionFiles;
+    }
+
+    private static void assertDistributionFilesEqual(DistributionFile actual, DistributionFile expected, String filename)
+    {
+        assertEquals(actual.getLineCount(), expected.getLineCount(), filename);
+        for (int line = 0; line < expected.getLineCount(); line++) {
+            assertEquals(actual.getValues(line), expected.getValues(line), filename + " line " + line);
+            assertEquals(actual.getWeights(line), expected.getWeights(line), filename + " line " + line);
+        }
+    }
+}
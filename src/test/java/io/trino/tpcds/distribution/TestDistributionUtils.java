@@ -0,0 +1,77 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.distribution;
+
+import io.trino.tpcds.distribution.DistributionUtils.WeightsBuilder;
+import org.testng.annotations.Test;
+
+import static io.trino.tpcds.distribution.DistributionUtils.getWeightForIndex;
+import static io.trino.tpcds.distribution.DistributionUtils.pickRandomIndex;
+import static io.trino.tpcds.distribution.DistributionUtils.pickRandomValue;
+import static org.testng.Assert.assertEquals;
+
+public class TestDistributionUtils
+{
+    @Test
+    public void testPickRandomIndexMatchesLinearScan()
+    {
+        // zero weights produce runs of equal cumulative weights, which must never be picked
+        int[][] rawWeightsLists = {
+                {1},
+                {5, 0, 0, 3, 0, 7, 1},
+                {0, 0, 4, 4, 0, 9},
+                {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 0, 43}};
+        for (int[] rawWeights : rawWeightsLists) {
+            WeightsBuilder weightsBuilder = new WeightsBuilder();
+            for (int weight : rawWeights) {
+                weightsBuilder.computeAndAddNextWeight(weight);
+            }
+            int[] weights = weightsBuilder.build();
+
+            for (int weight = 1; weight <= weights[weights.length - 1]; weight++) {
+                // the testing stream makes generateUniformRandomInt(1, max) return its value plus one
+                TestingRandomNumberStream stream = new TestingRandomNumberStream(weight - 1);
+                assertEquals(pickRandomIndex(weights, stream), linearScan(weight, weights), "weight " + weight);
+            }
+            for (int index = 0; index < rawWeights.length; index++) {
+                assertEquals(getWeightForIndex(index, weights), rawWeights[index]);
+            }
+        }
+    }
+
+    @Test
+    public void testPickRandomValue()
+    {
+        int[] weights = new WeightsBuilder()
+                .computeAndAddNextWeight(2)
+                .computeAndAddNextWeight(0)
+                .computeAndAddNextWeight(1)
+                .build();
+        String[] values = {"a", "b", "c"};
+        assertEquals(pickRandomValue(values, weights, new TestingRandomNumberStream(0)), "a");
+        assertEquals(pickRandomValue(values, weights, new TestingRandomNumberStream(1)), "a");
+        assertEquals(pickRandomValue(values, weights, new TestingRandomNumberStream(2)), "c");
+    }
+
+    private static int linearScan(int weight, int[] weights)
+    {
+        for (int index = 0; index < weights.length; index++) {
+            if (weight <= weights[index]) {
+                return index;
+            }
+        }
+        throw new AssertionError("weight " + weight + " is greater than the max weight");
+    }
+}
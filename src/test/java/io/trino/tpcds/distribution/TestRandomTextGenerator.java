@@ -0,0 +1,136 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.distribution;
+
+import io.trino.tpcds.random.RandomNumberStream;
+import io.trino.tpcds.random.RandomNumberStreamImpl;
+import org.testng.annotations.Test;
+
+import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomAdjective;
+import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomAdverb;
+import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomArticle;
+import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomAuxiliary;
+import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomNoun;
+import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomPreposition;
+import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomSentence;
+import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomTerminator;
+import static io.trino.tpcds.distribution.EnglishDistributions.pickRandomVerb;
+import static io.trino.tpcds.distribution.RandomTextGenerator.generateRandomText;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.testng.Assert.assertEquals;
+
+public class TestRandomTextGenerator
+{
+    @Test
+    public void testMatchesWordByWord()
+    {
+        int[][] lengths = {{1, 200}, {20, 100}, {10, 20}, {1, 1}, {1, 2}, {50, 50}, {5, 9}};
+        for (int[] length : lengths) {
+            RandomNumberStream expectedStream = new RandomNumberStreamImpl(7, 1);
+            RandomNumberStream stringStream = new RandomNumberStreamImpl(7, 1);
+            RandomNumberStream charsStream = new RandomNumberStreamImpl(7, 1);
+            RandomNumberStream bytesStream = new RandomNumberStreamImpl(7, 1);
+            char[] chars = new char[length[1] + 3];
+            byte[] bytes = new byte[length[1] + 3];
+
+            for (int i = 0; i < 500; i++) {
+                String expected = generateRandomTextWordByWord(length[0], length[1], expectedStream);
+                assertEquals(generateRandomText(length[0], length[1], stringStream), expected);
+
+                int charCount = generateRandomText(length[0], length[1], charsStream, chars, 3);
+                assertEquals(new String(chars, 3, charCount), expected);
+
+                int byteCount = generateRandomText(length[0], length[1], bytesStream, bytes, 3);
+                assertEquals(new String(bytes, 3, byteCount, ISO_8859_1), expected);
+            }
+            // all the random numbers of each sentence are used, even when it is truncated
+            long next = expectedStream.nextRandom();
+            assertEquals(stringStream.nextRandom(), next);
+            assertEquals(charsStream.nextRandom(), next);
+            assertEquals(bytesStream.nextRandom(), next);
+        }
+    }
+
+    // the original implementation, which builds each sentence from the picked words
+    private static String generateRandomTextWordByWord(int minLength, int maxLength, RandomNumberStream stream)
+    {
+        boolean isSentenceBeginning = true;
+        StringBuilder text = new StringBuilder();
+        int targetLength = generateUniformRandomInt(minLength, maxLength, stream);
+
+        while (targetLength > 0) {
+            String generated = generateRandomSentence(stream);
+            if (isSentenceBeginning) {
+                generated = generated.substring(0, 1).toUpperCase() + generated.substring(1);
+            }
+
+            int generatedLength = generated.length();
+            isSentenceBeginning = (generated.charAt(generatedLength - 1) == '.');
+
+            if (targetLength < generatedLength) {
+                generated = generated.substring(0, targetLength);
+            }
+
+            targetLength -= generatedLength;
+
+            text.append(generated);
+            if (targetLength > 0) {
+                text.append(" ");
+                targetLength -= 1;
+            }
+        }
+
+        return text.toString();
+    }
+
+    private static String generateRandomSentence(RandomNumberStream stream)
+    {
+        StringBuilder verbiage = new StringBuilder();
+        String syntax = pickRandomSentence(stream);
+        for (int i = 0; i < syntax.length(); i++) {
+            switch (syntax.charAt(i)) {
+                case 'N':
+                    verbiage.append(pickRandomNoun(stream));
+                    break;
+                case 'V':
+                    verbiage.append(pickRandomVerb(stream));
+                    break;
+                case 'J':
+                    verbiage.append(pickRandomAdjective(stream));
+                    break;
+                case 'D':
+                    verbiage.append(pickRandomAdverb(stream));
+                    break;
+                case 'X':
+                    verbiage.append(pickRandomAuxiliary(stream));
+                    break;
+                case 'P':
+                    verbiage.append(pickRandomPreposition(stream));
+                    break;
+                case 'A':
+                    verbiage.append(pickRandomArticle(stream));
+                    break;
+                case 'T':
+                    verbiage.append(pickRandomTerminator(stream));
+                    break;
+                default:
+                    verbiage.append(syntax.charAt(i));
+                    break;
+            }
+        }
+        return verbiage.toString();
+    }
+}
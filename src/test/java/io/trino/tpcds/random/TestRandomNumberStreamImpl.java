@@ -0,0 +1,82 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.random;
+
+import org.testng.annotations.Test;
+
+import static io.trino.tpcds.random.RandomNumberStreamImpl.getNextSeed;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInts;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomKey;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomKeys;
+import static org.testng.Assert.assertEquals;
+
+public class TestRandomNumberStreamImpl
+{
+    @Test
+    public void testNextSeedMatchesSchrage()
+    {
+        // initial seeds can be larger than the modulus, so test a range beyond it
+        long maxSeed = Integer.MAX_VALUE + 800L * (Integer.MAX_VALUE / 799);
+        for (long seed = 0; seed < maxSeed; seed += 9973) {
+            assertEquals(getNextSeed(seed), nextSeedWithSchrage(seed), "seed " + seed);
+        }
+        for (long seed = Integer.MAX_VALUE - 1000; seed <= Integer.MAX_VALUE + 1000L; seed++) {
+            assertEquals(getNextSeed(seed), nextSeedWithSchrage(seed), "seed " + seed);
+        }
+    }
+
+    @Test
+    public void testNextRandoms()
+    {
+        RandomNumberStream expected = new RandomNumberStreamImpl(90, 1);
+        RandomNumberStream actual = new RandomNumberStreamImpl(90, 1);
+        long[] values = new long[100];
+        actual.nextRandoms(values, 37);
+        for (int i = 0; i < 37; i++) {
+            assertEquals(values[i], expected.nextRandom());
+        }
+        assertEquals(actual.getSeedsUsed(), 37);
+        assertEquals(actual.nextRandom(), expected.nextRandom());
+    }
+
+    @Test
+    public void testBulkUniformValues()
+    {
+        RandomNumberStream expected = new RandomNumberStreamImpl(17, 2);
+        RandomNumberStream actual = new RandomNumberStreamImpl(17, 2);
+
+        int[] ints = new int[3000];
+        generateUniformRandomInts(5, 1234, actual, ints, 2500);
+        for (int i = 0; i < 2500; i++) {
+            assertEquals(ints[i], generateUniformRandomInt(5, 1234, expected));
+        }
+
+        long[] keys = new long[3000];
+        generateUniformRandomKeys(1, 402000, actual, keys, 3000);
+        for (int i = 0; i < 3000; i++) {
+            assertEquals(keys[i], generateUniformRandomKey(1, 402000, expected));
+        }
+    }
+
+    private static long nextSeedWithSchrage(long seed)
+    {
+        long nextSeed = 16807 * (seed % 127773) - (seed / 127773) * 2836;
+        if (nextSeed < 0) {
+            nextSeed += Integer.MAX_VALUE;
+        }
+        return nextSeed;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.random;
+
+import io.trino.tpcds.Table;
+import io.trino.tpcds.generator.GeneratorColumn;
+import org.testng.annotations.Test;
+
+import static io.trino.tpcds.generator.CatalogSalesGeneratorColumn.CS_SOLD_DATE_SK;
+import static io.trino.tpcds.generator.StoreSalesGeneratorColumn.SS_SOLD_DATE_SK;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+public class TestRandomNumberStreams
+{
+    @Test
+    public void testMatchesIndividualStreams()
+    {
+        for (Table table : Table.values()) {
+            GeneratorColumn[] columns = table.getGeneratorColumns();
+            RandomNumberStreams streams = new RandomNumberStreams(columns);
+            RandomNumberStream[] expected = new RandomNumberStream[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                expected[i] = new RandomNumberStreamImpl(columns[i].getGlobalColumnNumber(), columns[i].getSeedsPerRow());
+            }
+
+            streams.skipRows(1234);
+            for (RandomNumberStream stream : expected) {
+                stream.skipRows(1234);
+            }
+
+            for (int row = 0; row < 20; row++) {
+                for (int i = 0; i < columns.length; i++) {
+                    // use some, all, or more than all of the seeds of the row
+                    int draws = (row + i) % (columns[i].getSeedsPerRow() + 2);
+                    for (int draw = 0; draw < draws; draw++) {
+                        assertEquals(streams.getStream(columns[i]).nextRandom(), expected[i].nextRandom(), table + " " + columns[i]);
+                    }
+                }
+
+                streams.consumeRemainingSeedsForRow();
+                for (RandomNumberStream stream : expected) {
+                    while (stream.getSeedsUsed() < stream.getSeedsPerRow()) {
+                        stream.nextRandom();
+                    }
+                    stream.resetSeedsUsed();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSkipRows()
+    {
+        for (Table table : Table.values()) {
+            GeneratorColumn[] columns = table.getGeneratorColumns();
+            RandomNumberStreams streams = new RandomNumberStreams(columns);
+            for (long rows : new long[] {0, 1, 7, 1_000_003, Integer.MAX_VALUE, -5}) {
+                streams.skipRows(rows);
+                for (GeneratorColumn column : columns) {
+                    RandomNumberStream expected = new RandomNumberStreamImpl(column.getGlobalColumnNumber(), column.getSeedsPerRow());
+                    expected.skipRows(rows);
+                    assertEquals(streams.getStream(column).nextRandom(), expected.nextRandom(), table + " " + column + " " + rows);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSharedLayout()
+    {
+        RandomNumberStreams.Layout layout = new RandomNumberStreams.Layout(Table.STORE_SALES.getGeneratorColumns());
+        RandomNumberStreams first = new RandomNumberStreams(layout);
+        RandomNumberStreams second = new RandomNumberStreams(layout);
+        first.skipRows(100);
+        long value = first.getStream(SS_SOLD_DATE_SK).nextRandom();
+
+        // the streams of the layout only share what does not change, so each keeps its own position
+        assertEquals(second.getStream(SS_SOLD_DATE_SK).nextRandom(), new RandomNumberStreamImpl(SS_SOLD_DATE_SK.getGlobalColumnNumber(), SS_SOLD_DATE_SK.getSeedsPerRow()).nextRandom());
+        second.skipRows(100);
+        assertEquals(second.getStream(SS_SOLD_DATE_SK).nextRandom(), value);
+    }
+
+    @Test
+    public void testColumnOfOtherTable()
+    {
+        RandomNumberStreams streams = new RandomNumberStreams(Table.STORE_SALES.getGeneratorColumns());
+        streams.getStream(SS_SOLD_DATE_SK);
+        try {
+            streams.getStream(CS_SOLD_DATE_SK);
+            fail("expected exception");
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals(e.getMessage(), "column CS_SOLD_DATE_SK does not belong to this table");
+        }
+    }
+}
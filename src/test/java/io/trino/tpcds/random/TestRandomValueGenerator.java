@@ -0,0 +1,103 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.random;
+
+import io.trino.tpcds.distribution.CalendarDistribution.Weights;
+import io.trino.tpcds.type.Date;
+import org.testng.annotations.Test;
+
+import java.util.function.Supplier;
+
+import static io.trino.tpcds.distribution.CalendarDistribution.getWeightForDayNumber;
+import static io.trino.tpcds.random.RandomValueGenerator.generateSalesReturnsRandomDate;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
+import static io.trino.tpcds.type.Date.JULIAN_DATA_END_DATE;
+import static io.trino.tpcds.type.Date.JULIAN_DATA_START_DATE;
+import static io.trino.tpcds.type.Date.fromJulianDays;
+import static io.trino.tpcds.type.Date.getDaysInYear;
+import static io.trino.tpcds.type.Date.toJulianDays;
+import static org.testng.Assert.assertEquals;
+
+public class TestRandomValueGenerator
+{
+    @Test
+    public void testSalesReturnsRandomDateMatchesDayByDay()
+    {
+        RandomNumberStream ranges = new RandomNumberStreamImpl(3, 1);
+        for (Weights weights : Weights.values()) {
+            for (int i = 0; i < 200; i++) {
+                Date min = fromJulianDays(generateUniformRandomInt(JULIAN_DATA_START_DATE, JULIAN_DATA_END_DATE, ranges));
+                Date max = fromJulianDays(toJulianDays(min) + generateUniformRandomInt(1, 2000, ranges));
+
+                RandomNumberStream expectedStream = new RandomNumberStreamImpl(5, 1);
+                RandomNumberStream actualStream = new RandomNumberStreamImpl(5, 1);
+                for (int draw = 0; draw < 5; draw++) {
+                    // ranges with a total weight of zero fail in both
+                    assertEquals(
+                            outcome(() -> generateSalesReturnsRandomDate(min, max, weights, actualStream)),
+                            outcome(() -> generateSalesReturnsRandomDateDayByDay(min, max, weights, expectedStream)),
+                            weights + " " + min + " " + max);
+                }
+            }
+        }
+    }
+
+    private static Object outcome(Supplier<Date> supplier)
+    {
+        try {
+            return supplier.get().toString();
+        }
+        catch (RuntimeException e) {
+            // the message of an exception thrown often by compiled code can be omitted
+            return e.getClass();
+        }
+    }
+
+    // the original implementation, which walks the range one day at a time
+    private static Date generateSalesReturnsRandomDateDayByDay(Date min, Date max, Weights weights, RandomNumberStream randomNumberStream)
+    {
+        int dayCount = min.getDay();
+        int year = min.getYear();
+        int totalWeight = 0;
+        int range = toJulianDays(max) - toJulianDays(min);
+
+        for (int i = 0; i < range; i++) {
+            totalWeight += getWeightForDayNumber(dayCount, weights);
+            if (dayCount == getDaysInYear(year)) {
+                year += 1;
+                dayCount = 1;
+            }
+            else {
+                dayCount += 1;
+            }
+        }
+
+        int tempWeightSum = generateUniformRandomInt(1, totalWeight, randomNumberStream);
+        dayCount = min.getDay();
+        int julianDays = toJulianDays(min);
+        year = min.getYear();
+        while (tempWeightSum > 0) {
+            tempWeightSum -= getWeightForDayNumber(dayCount, weights);
+            dayCount += 1;
+            julianDays += 1;
+            if (dayCount > getDaysInYear(year)) {
+                dayCount = 1;
+                year += 1;
+            }
+        }
+
+        return fromJulianDays(julianDays);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.type;
+
+import org.testng.annotations.Test;
+
+import static io.trino.tpcds.type.CalendarCache.formatJulianDays;
+import static io.trino.tpcds.type.CalendarCache.getDayIndexForJulianDays;
+import static io.trino.tpcds.type.Date.computeFromJulianDays;
+import static io.trino.tpcds.type.Date.getDayIndex;
+import static io.trino.tpcds.type.Date.toJulianDays;
+import static java.lang.String.format;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class TestCalendarCache
+{
+    @Test
+    public void testMatchesComputedDates()
+    {
+        // every cached day, and a year on either side of them
+        for (int julianDays = toJulianDays(1799, 1, 1); julianDays <= toJulianDays(2200, 12, 31); julianDays++) {
+            Date expected = computeFromJulianDays(julianDays);
+            String expectedText = format("%4d-%02d-%02d", expected.getYear(), expected.getMonth(), expected.getDay());
+
+            Date date = Date.fromJulianDays(julianDays);
+            assertEquals(date.toString(), expectedText);
+            assertEquals(toJulianDays(date), julianDays);
+            assertEquals(getDayIndexForJulianDays(julianDays), getDayIndex(expected), expectedText);
+            assertEquals(formatJulianDays(julianDays), expectedText);
+        }
+    }
+
+    @Test
+    public void testRange()
+    {
+        assertTrue(CalendarCache.contains(toJulianDays(1800, 1, 1)));
+        assertTrue(CalendarCache.contains(toJulianDays(2199, 12, 31)));
+        assertFalse(CalendarCache.contains(toJulianDays(1800, 1, 1) - 1));
+        assertFalse(CalendarCache.contains(toJulianDays(2199, 12, 31) + 1));
+        assertEquals(Date.fromJulianDays(toJulianDays(1500, 6, 1)).toString(), "1500-06-01");
+    }
+
+    @Test
+    public void testLeapYearQuirk()
+    {
+        // isLeapYear copies the C code, which makes every fourth year a leap year, so these dates are valid
+        assertEquals(new Date(1900, 2, 29).toString(), "1900-02-29");
+        assertEquals(new Date(2100, 2, 29).toString(), "2100-02-29");
+        assertEquals(new Date(1900, 3, 1).toString(), "1900-03-01");
+        assertEquals(new Date(2000, 2, 29).toString(), "2000-02-29");
+    }
+}
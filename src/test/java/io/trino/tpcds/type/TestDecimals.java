@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.type;
+
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+import static io.trino.tpcds.type.Decimals.formatAsDouble;
+import static io.trino.tpcds.type.Decimals.getMaxFormattedLength;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestDecimals
+{
+    @Test
+    public void testFormatAllSmallNumbers()
+    {
+        for (int precision = 0; precision <= 4; precision++) {
+            for (long number = -200_000; number <= 200_000; number++) {
+                assertFormat(number, precision);
+            }
+        }
+    }
+
+    @Test
+    public void testFormatAroundPowersOfTen()
+    {
+        for (int precision = 0; precision <= 20; precision++) {
+            for (long power = 1; power > 0 && power <= Long.MAX_VALUE / 10; power *= 10) {
+                for (long delta = -3; delta <= 3; delta++) {
+                    assertFormat(power + delta, precision);
+                    assertFormat(-power + delta, precision);
+                    assertFormat(power * 10 + delta, precision);
+                    assertFormat(power * 5 + delta, precision);
+                }
+            }
+            assertFormat(Long.MAX_VALUE, precision);
+            assertFormat(Long.MIN_VALUE, precision);
+        }
+    }
+
+    @Test
+    public void testFormatRandomNumbers()
+    {
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000_000; i++) {
+            // numbers of every length, mostly in the range where the digits are written directly
+            long number = random.nextLong() >> random.nextInt(64);
+            assertFormat(number, random.nextInt(12));
+        }
+    }
+
+    @Test
+    public void testArithmeticMatchesDecimal()
+    {
+        Random random = new Random(7);
+        for (int i = 0; i < 1_000_000; i++) {
+            int precision1 = random.nextInt(4);
+            int precision2 = random.nextInt(4);
+            long number1 = random.nextInt() >> random.nextInt(32);
+            long number2 = random.nextInt() >> random.nextInt(32);
+            int precision = Decimals.getPrecision(precision1, precision2);
+
+            assertEquals(Decimals.add(number1, number2), number1 + number2);
+            assertEquals(Decimals.subtract(number1, number2), number1 - number2);
+            assertEquals(Decimals.multiply(number1, precision1, number2, precision2), multiplyDigitByDigit(number1, precision1, number2, precision2));
+            if (number2 != 0) {
+                Decimal quotient = Decimal.divide(new Decimal(number1, precision1), new Decimal(number2, precision2));
+                assertEquals(Decimals.divide(number1, precision1, number2, precision2), quotient.getNumber());
+                assertEquals(quotient.getPrecision(), precision);
+            }
+        }
+    }
+
+    private static void assertFormat(long number, int precision)
+    {
+        String expected = formatAsDouble(number, precision);
+        assertTrue(expected.length() <= getMaxFormattedLength(precision), expected);
+        char[] chars = new char[getMaxFormattedLength(precision) + 5];
+        byte[] bytes = new byte[getMaxFormattedLength(precision) + 5];
+        assertEquals(Decimals.format(number, precision), expected, number + " " + precision);
+        assertEquals(new Decimal(number, precision).toString(), expected);
+
+        int charCount = Decimals.format(number, precision, chars, 5);
+        assertEquals(new String(chars, 5, charCount), expected, number + " " + precision);
+
+        int byteCount = Decimals.format(number, precision, bytes, 5);
+        assertEquals(new String(bytes, 5, byteCount, US_ASCII), expected, number + " " + precision);
+    }
+
+    // the original implementation of Decimal.multiply, which drops one digit at a time
+    private static long multiplyDigitByDigit(long number1, int precision1, long number2, int precision2)
+    {
+        int precision = precision1 > precision2 ? precision1 : precision2;
+        long number = number1 * number2;
+        for (int i = precision1 + precision2; i > precision; i--) {
+            number /= 10;
+        }
+        return number;
+    }
+}
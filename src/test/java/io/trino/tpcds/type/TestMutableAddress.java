@@ -0,0 +1,166 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.trino.tpcds.type;
+
+import io.trino.tpcds.Scaling;
+import io.trino.tpcds.Table;
+import io.trino.tpcds.random.RandomNumberStream;
+import io.trino.tpcds.random.RandomNumberStreamImpl;
+import org.testng.annotations.Test;
+
+import static io.trino.tpcds.PseudoTableScalingInfos.ACTIVE_CITIES;
+import static io.trino.tpcds.PseudoTableScalingInfos.ACTIVE_COUNTIES;
+import static io.trino.tpcds.Table.CALL_CENTER;
+import static io.trino.tpcds.Table.CUSTOMER_ADDRESS;
+import static io.trino.tpcds.Table.STORE;
+import static io.trino.tpcds.distribution.AddressDistributions.CitiesWeights.UNIFIED_STEP_FUNCTION;
+import static io.trino.tpcds.distribution.AddressDistributions.StreetNamesWeights.DEFAULT;
+import static io.trino.tpcds.distribution.AddressDistributions.StreetNamesWeights.HALF_EMPTY;
+import static io.trino.tpcds.distribution.AddressDistributions.getCityAtIndex;
+import static io.trino.tpcds.distribution.AddressDistributions.pickRandomCity;
+import static io.trino.tpcds.distribution.AddressDistributions.pickRandomStreetName;
+import static io.trino.tpcds.distribution.AddressDistributions.pickRandomStreetType;
+import static io.trino.tpcds.distribution.FipsCountyDistribution.FipsWeights.UNIFORM;
+import static io.trino.tpcds.distribution.FipsCountyDistribution.getCountyAtIndex;
+import static io.trino.tpcds.distribution.FipsCountyDistribution.getGmtOffsetAtIndex;
+import static io.trino.tpcds.distribution.FipsCountyDistribution.getStateAbbreviationAtIndex;
+import static io.trino.tpcds.distribution.FipsCountyDistribution.getZipPrefixAtIndex;
+import static io.trino.tpcds.distribution.FipsCountyDistribution.pickRandomIndex;
+import static io.trino.tpcds.random.RandomValueGenerator.generateUniformRandomInt;
+import static java.lang.String.format;
+import static org.testng.Assert.assertEquals;
+
+public class TestMutableAddress
+{
+    @Test
+    public void testMatchesOriginalAddresses()
+    {
+        for (Table table : new Table[] {CUSTOMER_ADDRESS, STORE, CALL_CENTER}) {
+            for (double scale : new double[] {1, 100}) {
+                Scaling scaling = new Scaling(scale);
+                RandomNumberStream expectedStream = new RandomNumberStreamImpl(3, 1);
+                RandomNumberStream addressStream = new RandomNumberStreamImpl(3, 1);
+                RandomNumberStream mutableStream = new RandomNumberStreamImpl(3, 1);
+                MutableAddress mutableAddress = new MutableAddress();
+
+                for (int i = 0; i < 10_000; i++) {
+                    String[] expected = makeOriginalAddress(table, expectedStream, scaling);
+                    Address address = Address.makeAddressForColumn(table, addressStream, scaling);
+                    Address.makeAddressForColumn(table, mutableStream, scaling, mutableAddress);
+
+                    assertEquals(toValues(address), expected);
+                    assertEquals(toValues(mutableAddress.toAddress()), expected);
+                    assertEquals(mutableAddress.getStreetName(), expected[1]);
+                    assertEquals(mutableAddress.getCounty(), expected[5]);
+                    assertEquals(mutableAddress.getState(), expected[6]);
+                    assertEquals(mutableAddress.getGmtOffset(), Integer.parseInt(expected[9]));
+                }
+                long next = expectedStream.nextRandom();
+                assertEquals(addressStream.nextRandom(), next);
+                assertEquals(mutableStream.nextRandom(), next);
+            }
+        }
+    }
+
+    private static String[] toValues(Address address)
+    {
+        return new String[] {
+                String.valueOf(address.getStreetNumber()),
+                address.getStreetName(),
+                address.getStreetType(),
+                address.getSuiteNumber(),
+                address.getCity(),
+                address.getCounty(),
+                address.getState(),
+                format("%05d", address.getZip()),
+                address.getCountry(),
+                String.valueOf(address.getGmtOffset())};
+    }
+
+    // the original implementation, which formats the suite number and hashes the city of every address
+    private static String[] makeOriginalAddress(Table table, RandomNumberStream stream, Scaling scaling)
+    {
+        int streetNumber = generateUniformRandomInt(1, 1000, stream);
+        String streetName1 = pickRandomStreetName(DEFAULT, stream);
+        String streetName2 = pickRandomStreetName(HALF_EMPTY, stream);
+        String streetType = pickRandomStreetType(stream);
+
+        String suiteNumber;
+        int randomInt = generateUniformRandomInt(1, 100, stream);
+        if (randomInt % 2 == 1) {
+            suiteNumber = format("Suite %d", (randomInt / 2) * 10);
+        }
+        else {
+            suiteNumber = format("Suite %c", ((randomInt / 2) % 25) + 'A');
+        }
+
+        int rowCount = (int) scaling.getRowCount(table);
+        String city;
+        if (table.isSmall()) {
+            int maxCities = (int) ACTIVE_CITIES.getRowCountForScale(scaling.getScale());
+            city = getCityAtIndex(generateUniformRandomInt(0, (maxCities > rowCount) ? rowCount - 1 : maxCities - 1, stream));
+        }
+        else {
+            city = pickRandomCity(UNIFIED_STEP_FUNCTION, stream);
+        }
+
+        int regionNumber;
+        if (table.isSmall()) {
+            int maxCounties = (int) ACTIVE_COUNTIES.getRowCountForScale(scaling.getScale());
+            regionNumber = generateUniformRandomInt(0, (maxCounties > rowCount) ? rowCount - 1 : maxCounties - 1, stream);
+        }
+        else {
+            regionNumber = pickRandomIndex(UNIFORM, stream);
+        }
+
+        int zip = computeCityHash(city);
+        int zipPrefix = getZipPrefixAtIndex(regionNumber);
+        if (zipPrefix == 0 && zip < 9400) {
+            zip += 600;
+        }
+        zip += zipPrefix * 10000;
+
+        return new String[] {
+                String.valueOf(streetNumber),
+                format("%s %s", streetName1, streetName2),
+                streetType,
+                suiteNumber,
+                city,
+                getCountyAtIndex(regionNumber),
+                getStateAbbreviationAtIndex(regionNumber),
+                format("%05d", zip),
+                "United States",
+                String.valueOf(getGmtOffsetAtIndex(regionNumber))};
+    }
+
+    private static int computeCityHash(String name)
+    {
+        int hashValue = 0;
+        int result = 0;
+        for (int i = 0; i < name.length(); i++) {
+            hashValue *= 26;
+            hashValue += name.charAt(i) - 'A';
+            if (hashValue > 1000000) {
+                hashValue %= 10000;
+                result += hashValue;
+                hashValue = 0;
+            }
+        }
+        hashValue %= 1000;
+        result += hashValue;
+        result %= 10000;
+        return result;
+    }
+}